@@ -22,23 +22,32 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.hpgrahsl.kafka.connect.transforms.kryptonite.validators.*;
 import com.github.hpgrahsl.kryptonite.CipherMode;
 import com.github.hpgrahsl.kryptonite.Kryptonite;
+import com.github.hpgrahsl.kryptonite.KryptoniteException;
+import com.github.hpgrahsl.kryptonite.PayloadMetaData;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings;
+import com.github.hpgrahsl.kryptonite.records.FieldConfig;
+import com.github.hpgrahsl.kryptonite.records.SchemalessRecordHandler;
+import com.github.hpgrahsl.kryptonite.serdes.EncryptedFieldCodec;
 import com.github.hpgrahsl.kryptonite.serdes.KryoSerdeProcessor;
-import org.apache.kafka.common.cache.Cache;
-import org.apache.kafka.common.cache.LRUCache;
-import org.apache.kafka.common.cache.SynchronizedCache;
+import com.github.hpgrahsl.kryptonite.serdes.SerdeProcessor;
+import com.github.hpgrahsl.kryptonite.serdes.TaggedSerdeProcessor;
+import com.github.hpgrahsl.kryptonite.util.StripedLruCache;
+import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.common.config.ConfigDef;
 import org.apache.kafka.common.config.ConfigDef.NonEmptyString;
 import org.apache.kafka.common.config.ConfigDef.Type;
 import org.apache.kafka.common.config.ConfigException;
 import org.apache.kafka.connect.connector.ConnectRecord;
 import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaAndValue;
 import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.DataException;
 import org.apache.kafka.connect.transforms.Transformation;
 import org.apache.kafka.connect.transforms.util.SimpleConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.LinkedHashMap;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -51,10 +60,19 @@ import static com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.*;
 
 public abstract class CipherField<R extends ConnectRecord<R>> implements Transformation<R> {
 
+  /**
+   * @deprecated use {@link KryptoniteSettings.CipherEncoding} instead
+   */
+  @Deprecated
   public enum CipherEncoding {
-    BASE64
+    BASE64,
+    RAW_BYTES
   }
 
+  /**
+   * @deprecated use {@link KryptoniteSettings.FieldMode} instead
+   */
+  @Deprecated
   public enum FieldMode {
     ELEMENT,
     OBJECT
@@ -77,15 +95,53 @@ public abstract class CipherField<R extends ConnectRecord<R>> implements Transfo
       .define(CIPHER_DATA_KEY_IDENTIFIER, Type.STRING, CIPHER_DATA_KEY_IDENTIFIER_DEFAULT,
           ConfigDef.Importance.HIGH, "secret key identifier to be used as default data encryption key for all fields which don't refer to a field-specific secret key identifier")
       .define(CIPHER_TEXT_ENCODING, Type.STRING, CIPHER_TEXT_ENCODING_DEFAULT, new CipherEncodingValidator(),
-          ConfigDef.Importance.LOW, "defines the encoding of the resulting ciphertext bytes (currently only supports 'base64')")
+          ConfigDef.Importance.LOW, "defines the encoding of the resulting ciphertext bytes, either 'BASE64' (string fields) or 'RAW_BYTES' (bytes fields)")
+      .define(CIPHER_TEXT_VERSION, Type.STRING, CIPHER_TEXT_VERSION_DEFAULT, new CipherTextVersionValidator(),
+          ConfigDef.Importance.LOW, "defines the serialization format of encrypted fields, either 'k1' (kryo-based) or 'k2' (compact binary envelope), decryption accepts both formats")
       .define(CIPHER_MODE, Type.STRING, ConfigDef.NO_DEFAULT_VALUE, new CipherModeValidator(),
           ConfigDef.Importance.HIGH, "defines whether the data should get encrypted or decrypted")
       .define(KEY_SOURCE, Type.STRING, KEY_SOURCE_DEFAULT, new KeySourceValidator(), ConfigDef.Importance.HIGH,
           "defines the origin of the Tink keysets which can be defined directly in the config or fetched from a remote/cloud KMS (see <pre>kms_type</pre> and <pre>kms_config</pre>)")
       .define(KMS_TYPE, Type.STRING, KMS_TYPE_DEFAULT, new KmsTypeValidator(),
           ConfigDef.Importance.MEDIUM, "defines from which remote/cloud KMS keysets are resolved from (currently only supports Azure Key Vault)")
+      .define(SCHEMA_CACHE_SIZE, Type.INT, SCHEMA_CACHE_SIZE_DEFAULT, ConfigDef.Range.atLeast(1),
+          ConfigDef.Importance.LOW, "max number of record schemas for which adapted schemas and processing plans are cached")
+      .define(SCHEMA_CACHE_EXPIRY_MS, Type.LONG, SCHEMA_CACHE_EXPIRY_MS_DEFAULT, ConfigDef.Range.atLeast(0),
+          ConfigDef.Importance.LOW, "time in milliseconds after which cached schemas expire (0 disables expiry)")
+      .define(FIELD_PARALLELISM, Type.INT, FIELD_PARALLELISM_DEFAULT, ConfigDef.Range.atLeast(1),
+          ConfigDef.Importance.LOW, "max number of threads used to (de)cipher independent fields of a single record or elements of a single list/map in parallel (1 disables parallel processing)")
+      .define(FIELD_PARALLELISM_THRESHOLD, Type.INT, FIELD_PARALLELISM_THRESHOLD_DEFAULT, ConfigDef.Range.atLeast(1),
+          ConfigDef.Importance.LOW, "min number of fields in a record or elements in a list/map before they get processed in parallel")
+      .define(DETERMINISTIC_CACHE_MAX_ENTRIES, Type.INT, DETERMINISTIC_CACHE_MAX_ENTRIES_DEFAULT, ConfigDef.Range.atLeast(1),
+          ConfigDef.Importance.LOW, "max number of memoized deterministic cipher results per direction for fields which opt-in via 'memoize' in their field config")
+      .define(DETERMINISTIC_CACHE_MAX_BYTES, Type.LONG, DETERMINISTIC_CACHE_MAX_BYTES_DEFAULT, ConfigDef.Range.atLeast(1),
+          ConfigDef.Importance.LOW, "max number of bytes (inputs plus results) of memoized deterministic cipher results per direction")
+      .define(BLIND_INDEX_KEY_IDENTIFIER, Type.STRING, BLIND_INDEX_KEY_IDENTIFIER_DEFAULT,
+          ConfigDef.Importance.MEDIUM, "keyset identifier of a Tink PRF keyset used as default to compute blind indexes for all fields which enable 'blindIndex' in their field config without referring to a field-specific 'blindIndexKeyId'")
+      .define(BLIND_INDEX_FIELD_SUFFIX, Type.STRING, BLIND_INDEX_FIELD_SUFFIX_DEFAULT, new NonEmptyString(),
+          ConfigDef.Importance.LOW, "suffix appended to a field's name to derive the name of its blind index companion field")
+      .define(BLIND_INDEX_LENGTH, Type.INT, BLIND_INDEX_LENGTH_DEFAULT, ConfigDef.Range.between(BLIND_INDEX_LENGTH_MIN, BLIND_INDEX_LENGTH_MAX),
+          ConfigDef.Importance.LOW, "number of bytes of computed blind indexes")
+      .define(COMPRESSION_TYPE, Type.STRING, COMPRESSION_TYPE_DEFAULT, new CompressionTypeValidator(),
+          ConfigDef.Importance.LOW, "defines whether serialized plaintexts get compressed before encryption, either 'NONE' or 'DEFLATE', only applies to the 'k2' cipher text version and decryption accepts both compressed and uncompressed fields")
+      .define(COMPRESSION_THRESHOLD, Type.INT, COMPRESSION_THRESHOLD_DEFAULT, ConfigDef.Range.atLeast(0),
+          ConfigDef.Importance.LOW, "min number of bytes of a serialized plaintext before it gets compressed, fields which wouldn't shrink are kept uncompressed")
+      .define(PAYLOAD_METADATA_MODE, Type.STRING, PAYLOAD_METADATA_MODE_DEFAULT, new PayloadMetaDataModeValidator(),
+          ConfigDef.Importance.LOW, "defines where the payload meta-data (version, algorithm, key id) of encrypted fields is kept, either 'EMBEDDED' (repeated within every encrypted field) or 'HEADER' (once per record in a header while fields only keep their ciphertext), decryption accepts both forms")
+      .define(PAYLOAD_METADATA_HEADER, Type.STRING, PAYLOAD_METADATA_HEADER_DEFAULT, new NonEmptyString(),
+          ConfigDef.Importance.LOW, "name of the record header which carries the payload meta-data if 'payload_metadata_mode' is 'HEADER'")
+      .define(METRICS_ENABLED, Type.BOOLEAN, METRICS_ENABLED_DEFAULT,
+          ConfigDef.Importance.LOW, "whether counts, bytes and latencies of cipher operations, serdes, key cache lookups and KMS fetches are recorded and exposed as JMX MBean")
+      .define(METRICS_NAME, Type.STRING, METRICS_NAME_DEFAULT, new NonEmptyString(),
+          ConfigDef.Importance.LOW, "value of the 'name' key property of the JMX MBean's object name if 'metrics_enabled' is true")
+      .define(SERDE_TYPE, Type.STRING, SERDE_TYPE_DEFAULT, new SerdeTypeValidator(),
+          ConfigDef.Importance.LOW, "defines how plaintext field values are serialized before encryption, either 'KRYO' (kryo for all values) or 'TAGGED' (one byte type tag plus raw value for primitive values with kryo as fallback for complex values), decryption accepts both formats")
+      .define(STRUCT_SCHEMA_MODE, Type.STRING, STRUCT_SCHEMA_MODE_DEFAULT, new StructSchemaModeValidator(),
+          ConfigDef.Importance.LOW, "defines how the schema of encrypted struct values in OBJECT mode is serialized, either 'EMBEDDED' (full schema per value) or 'FINGERPRINT' (compact schema fingerprint resolved via an in-process schema cache, requires a schema for every field config encrypted in OBJECT mode and can only be decrypted by this SMT or converter processing schema-aware records since unknown fingerprints fail), decryption accepts both forms")
       .define(KMS_CONFIG, Type.PASSWORD, KMS_CONFIG_DEFAULT, ConfigDef.Importance.MEDIUM,
           "JSON object specifying the KMS-specific client authentication settings (currently only supports Azure Key Vault)")
+      .define(KMS_REFRESH_INTERVAL_MS, Type.LONG, Long.valueOf(KMS_REFRESH_INTERVAL_MS_DEFAULT), ConfigDef.Range.atLeast(0),
+          ConfigDef.Importance.LOW, "interval in milliseconds to refresh keysets fetched from a remote/cloud KMS in the background (0 disables refreshing)")
       .define(KEK_TYPE, Type.STRING, KEK_TYPE_DEFAULT, new KekTypeValidator(),
           ConfigDef.Importance.LOW, "defines which remote/cloud KMS is used for data key encryption (currently only supports GCP Cloud KMS)")
       .define(KEK_CONFIG, Type.PASSWORD, KEK_CONFIG_DEFAULT, ConfigDef.Importance.LOW,
@@ -98,10 +154,17 @@ public abstract class CipherField<R extends ConnectRecord<R>> implements Transfo
   private static final Logger LOGGER = LoggerFactory.getLogger(CipherField.class);
   private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
-  private RecordHandler recordHandlerWithSchema;
-  private RecordHandler recordHandlerWithoutSchema;
+  private SchemaawareRecordHandler recordHandlerWithSchema;
+  private SchemalessRecordHandler recordHandlerWithoutSchema;
   private SchemaRewriter schemaRewriter;
-  private Cache<Schema, Schema> schemaCache;
+
+  //NOTE: name of the header carrying the detached payload meta-data of encrypted fields
+  //(null unless enabled) together with its value when encrypting and the most recently
+  //decoded value when decrypting since consecutive records typically share it
+  private CipherMode cipherMode;
+  private String payloadMetaDataHeader;
+  private String encodedPayloadMetaData;
+  private volatile Map.Entry<String, PayloadMetaData> decodedPayloadMetaData;
 
   @Override
   public R apply(R record) {
@@ -114,27 +177,102 @@ public abstract class CipherField<R extends ConnectRecord<R>> implements Transfo
   }
 
   public R processWithoutSchema(R record) {
-    LOGGER.debug("processing schemaless data");
     var valueMap = requireMap(operatingValue(record), PURPOSE);
-    var updatedValueMap = new LinkedHashMap<>(valueMap);
-    recordHandlerWithoutSchema.matchFields(null,valueMap,null,updatedValueMap,"");
-    LOGGER.debug("resulting record data {}",updatedValueMap);
-    return newRecord(record,null,updatedValueMap);
+    return withPayloadMetaDataHeader(
+        newRecord(record,null,processWithoutSchema(valueMap,false,payloadMetaDataFromHeader(record))));
+  }
+
+  public StripedLruCache<Schema, ProcessingPlan> getSchemaCache() {
+    return recordHandlerWithSchema != null ? recordHandlerWithSchema.getPlanCache() : null;
   }
 
   public R processWithSchema(R record) {
-    LOGGER.debug("processing schema-aware data");
     var valueStruct = requireStruct(operatingValue(record), PURPOSE);
-    var updatedSchema = schemaCache.get(valueStruct.schema());
-    if(updatedSchema == null) {
-      LOGGER.debug("adapting schema because record's schema not present in cache");
-      updatedSchema = schemaRewriter.adaptSchema(valueStruct.schema(),"");
-      schemaCache.put(valueStruct.schema(),updatedSchema);
+    var updatedValueStruct = processWithSchema(valueStruct, payloadMetaDataFromHeader(record));
+    return withPayloadMetaDataHeader(newRecord(record, updatedValueStruct.schema(), updatedValueStruct));
+  }
+
+  public SchemaAndValue process(Schema schema, Object value) {
+    return process(schema, value, false);
+  }
+
+  //NOTE: in-place processing replaces matched fields of schemaless data directly
+  //in the given map which is only safe for callers owning the data
+  public SchemaAndValue process(Schema schema, Object value, boolean inPlace) {
+    if (schema == null) {
+      return new SchemaAndValue(null, processWithoutSchema(requireMap(value, PURPOSE), inPlace, null));
+    }
+    var updatedValueStruct = processWithSchema(requireStruct(value, PURPOSE), null);
+    return new SchemaAndValue(updatedValueStruct.schema(), updatedValueStruct);
+  }
+
+  //NOTE: field processing failures of the shared record handlers surface as connect's DataException
+  private Map<String, Object> processWithoutSchema(Map<String, Object> valueMap, boolean inPlace,
+      PayloadMetaData detachedMetaData) {
+    LOGGER.debug("processing schemaless data");
+    try {
+      var updatedValueMap = valueMap;
+      if (inPlace) {
+        recordHandlerWithoutSchema.matchFields(valueMap,valueMap,"",detachedMetaData);
+      } else {
+        updatedValueMap = recordHandlerWithoutSchema.processFields(valueMap,"",detachedMetaData);
+      }
+      LOGGER.debug("resulting record data {}",updatedValueMap);
+      return updatedValueMap;
+    } catch (KryptoniteException e) {
+      throw new DataException(e.getMessage(), e);
+    }
+  }
+
+  private Struct processWithSchema(Struct valueStruct, PayloadMetaData detachedMetaData) {
+    LOGGER.debug("processing schema-aware data");
+    var plan = recordHandlerWithSchema.planFor(valueStruct.schema(),schema -> schemaRewriter.adaptSchema(schema,""));
+    try {
+      var updatedValueStruct = recordHandlerWithSchema.applyPlan(plan,valueStruct,new Struct(plan.getSchemaNew()),detachedMetaData);
+      LOGGER.debug("resulting record data {}",updatedValueStruct);
+      return updatedValueStruct;
+    } catch (KryptoniteException e) {
+      throw new DataException(e.getMessage(), e);
     }
-    var updatedValueStruct = new Struct(updatedSchema);
-    recordHandlerWithSchema.matchFields(valueStruct.schema(),valueStruct,updatedSchema,updatedValueStruct,"");
-    LOGGER.debug("resulting record data {}",updatedValueStruct);
-    return newRecord(record, updatedSchema, updatedValueStruct);
+  }
+
+  //NOTE: records without the header are decrypted from self-contained fields
+  //so that topics can be switched over to detached payload meta-data any time
+  private PayloadMetaData payloadMetaDataFromHeader(R record) {
+    if (payloadMetaDataHeader == null || CipherMode.DECRYPT != cipherMode) {
+      return null;
+    }
+    var header = record.headers().lastWithName(payloadMetaDataHeader);
+    if (header == null || header.value() == null) {
+      return null;
+    }
+    var encoded = header.value() instanceof byte[]
+        ? new String((byte[])header.value(), StandardCharsets.UTF_8)
+        : header.value().toString();
+    var decoded = decodedPayloadMetaData;
+    if (decoded != null && decoded.getKey().equals(encoded)) {
+      return decoded.getValue();
+    }
+    try {
+      var metaData = EncryptedFieldCodec.decodeMetaData(encoded);
+      decodedPayloadMetaData = Map.entry(encoded, metaData);
+      return metaData;
+    } catch (KryptoniteException e) {
+      throw new DataException("error: invalid payload meta-data in header '" + payloadMetaDataHeader + "'", e);
+    }
+  }
+
+  //NOTE: decrypted records no longer carry the header since their fields are plaintext
+  private R withPayloadMetaDataHeader(R record) {
+    if (payloadMetaDataHeader == null) {
+      return record;
+    }
+    if (CipherMode.ENCRYPT == cipherMode) {
+      record.headers().remove(payloadMetaDataHeader).addString(payloadMetaDataHeader, encodedPayloadMetaData);
+    } else {
+      record.headers().remove(payloadMetaDataHeader);
+    }
+    return record;
   }
 
   @Override
@@ -144,7 +282,16 @@ public abstract class CipherField<R extends ConnectRecord<R>> implements Transfo
 
   @Override
   public void close() {
-
+    if (recordHandlerWithSchema != null) {
+      LOGGER.info("schema cache statistics on close {}",recordHandlerWithSchema.getPlanCache());
+    }
+    if (recordHandlerWithoutSchema != null) {
+      recordHandlerWithoutSchema.close();
+    }
+    if (recordHandlerWithSchema != null) {
+      recordHandlerWithSchema.close();
+      recordHandlerWithSchema.getKryptonite().close();
+    }
   }
 
   @Override
@@ -156,22 +303,52 @@ public abstract class CipherField<R extends ConnectRecord<R>> implements Transfo
               .readValue(config.getString(FIELD_CONFIG), new TypeReference<Set<FieldConfig>>() {})
               .stream().collect(Collectors.toMap(FieldConfig::getName, Function.identity()));
       var kryptonite = Kryptonite.createFromConfig(adaptToNormalizedStringsMap(config));
-      var serdeProcessor = new KryoSerdeProcessor();
+      var structSchemaMode = StructSchemaMode.valueOf(config.getString(STRUCT_SCHEMA_MODE));
+      if (StructSchemaMode.FINGERPRINT == structSchemaMode) {
+        verifyDeclaredStructSchemas(fieldPathMap.values(),
+            KryptoniteSettings.FieldMode.valueOf(config.getString(FIELD_MODE)));
+      }
+      SerdeProcessor serdeProcessor = SerdeType.TAGGED == SerdeType.valueOf(config.getString(SERDE_TYPE))
+          ? new TaggedSerdeProcessor(structSchemaMode)
+          : new KryoSerdeProcessor(structSchemaMode);
       recordHandlerWithSchema = new SchemaawareRecordHandler(config, serdeProcessor, kryptonite, CipherMode
           .valueOf(
           config.getString(CIPHER_MODE)),fieldPathMap);
       recordHandlerWithoutSchema = new SchemalessRecordHandler(config, serdeProcessor, kryptonite, CipherMode.valueOf(
           config.getString(CIPHER_MODE)),fieldPathMap);
-      schemaRewriter = new SchemaRewriter(fieldPathMap, FieldMode.valueOf(config.getString(
-          FIELD_MODE)),CipherMode.valueOf(config.getString(CIPHER_MODE)), config.getString(PATH_DELIMITER));
-      schemaCache = new SynchronizedCache<>(new LRUCache<>(16));
+      schemaRewriter = new SchemaRewriter(fieldPathMap, KryptoniteSettings.FieldMode.valueOf(config.getString(
+          FIELD_MODE)),CipherMode.valueOf(config.getString(CIPHER_MODE)), config.getString(PATH_DELIMITER),
+          KryptoniteSettings.CipherEncoding.valueOf(config.getString(CIPHER_TEXT_ENCODING)), new SchemaRewriter.DefaultTypeSchemaMapper(),
+          config.getString(BLIND_INDEX_FIELD_SUFFIX));
+      cipherMode = CipherMode.valueOf(config.getString(CIPHER_MODE));
+      if (recordHandlerWithSchema.isDetachedPayloadMetaData()) {
+        payloadMetaDataHeader = config.getString(PAYLOAD_METADATA_HEADER);
+        encodedPayloadMetaData = CipherMode.ENCRYPT == cipherMode
+            ? EncryptedFieldCodec.encodeMetaData(recordHandlerWithSchema.getSharedPayloadMetaData())
+            : null;
+      }
     } catch (JsonProcessingException e) {
       throw new ConfigException(e.getMessage());
     }
 
   }
 
-  private static Map<String,String> adaptToNormalizedStringsMap(SimpleConfig config) {
+  //NOTE: fingerprinted struct schemas can only be resolved by a decrypting side which registers
+  //the expected schemas, i.e. which processes schema-aware records based on the schema of each
+  //field config, hence every field encrypted as a whole must declare its schema in FINGERPRINT mode
+  private static void verifyDeclaredStructSchemas(Iterable<FieldConfig> fieldConfigs, KryptoniteSettings.FieldMode fieldMode) {
+    for (var fc : fieldConfigs) {
+      if (KryptoniteSettings.FieldMode.OBJECT == fc.getFieldMode().orElse(fieldMode)
+          && BlindIndexMode.ONLY != fc.getBlindIndex().orElse(null)
+          && fc.getSchema().isEmpty()) {
+        throw new ConfigException(STRUCT_SCHEMA_MODE, StructSchemaMode.FINGERPRINT.name(),
+            "requires a schema in the field config of '" + fc.getName() + "' since"
+                + " the decrypting side cannot resolve struct schema fingerprints otherwise");
+      }
+    }
+  }
+
+  public static Map<String,String> adaptToNormalizedStringsMap(AbstractConfig config) {
     return Map.ofEntries(
       Map.entry(FIELD_CONFIG, config.getString(FIELD_CONFIG)),
       Map.entry(PATH_DELIMITER, Optional.ofNullable(config.getString(PATH_DELIMITER)).orElse(PATH_DELIMITER_DEFAULT)),
@@ -180,10 +357,16 @@ public abstract class CipherField<R extends ConnectRecord<R>> implements Transfo
       Map.entry(CIPHER_DATA_KEYS, Optional.ofNullable(config.getPassword(CIPHER_DATA_KEYS).value()).orElse(CIPHER_DATA_KEYS_DEFAULT)),
       Map.entry(CIPHER_DATA_KEY_IDENTIFIER, Optional.ofNullable(config.getString(CIPHER_DATA_KEY_IDENTIFIER)).orElse(CIPHER_DATA_KEY_IDENTIFIER_DEFAULT)),
       Map.entry(CIPHER_TEXT_ENCODING, Optional.ofNullable(config.getString(CIPHER_TEXT_ENCODING)).orElse(CIPHER_TEXT_ENCODING_DEFAULT)),
+      Map.entry(CIPHER_TEXT_VERSION, Optional.ofNullable(config.getString(CIPHER_TEXT_VERSION)).orElse(CIPHER_TEXT_VERSION_DEFAULT)),
       Map.entry(CIPHER_MODE, config.getString(CIPHER_MODE)),
+      Map.entry(COMPRESSION_TYPE, Optional.ofNullable(config.getString(COMPRESSION_TYPE)).orElse(COMPRESSION_TYPE_DEFAULT)),
+      Map.entry(COMPRESSION_THRESHOLD, String.valueOf(config.getInt(COMPRESSION_THRESHOLD))),
+      Map.entry(METRICS_ENABLED, String.valueOf(config.getBoolean(METRICS_ENABLED))),
+      Map.entry(METRICS_NAME, config.getString(METRICS_NAME)),
       Map.entry(KEY_SOURCE, Optional.ofNullable(config.getString(KEY_SOURCE)).orElse(KEY_SOURCE_DEFAULT)),
       Map.entry(KMS_TYPE, Optional.ofNullable(config.getString(KMS_TYPE)).orElse(KMS_TYPE_DEFAULT)),
       Map.entry(KMS_CONFIG, Optional.ofNullable(config.getPassword(KMS_CONFIG).value()).orElse(KMS_CONFIG_DEFAULT)),
+      Map.entry(KMS_REFRESH_INTERVAL_MS, String.valueOf(config.getLong(KMS_REFRESH_INTERVAL_MS))),
       Map.entry(KEK_TYPE, Optional.ofNullable(config.getString(KEK_TYPE)).orElse(KEK_TYPE_DEFAULT)),
       Map.entry(KEK_CONFIG, Optional.ofNullable(config.getPassword(KEK_CONFIG).value()).orElse(KEK_CONFIG_DEFAULT)),
       Map.entry(KEK_URI, Optional.ofNullable(config.getPassword(KEK_URI).value()).orElse(KEK_URI_DEFAULT))
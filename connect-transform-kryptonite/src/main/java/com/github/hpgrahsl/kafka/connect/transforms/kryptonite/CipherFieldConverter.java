@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kafka.connect.transforms.kryptonite;
+
+import com.github.hpgrahsl.kryptonite.CipherMode;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.PayloadMetaDataMode;
+import org.apache.kafka.common.config.AbstractConfig;
+import org.apache.kafka.common.config.ConfigDef;
+import org.apache.kafka.common.config.ConfigDef.Type;
+import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.utils.Utils;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaAndValue;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.apache.kafka.connect.storage.Converter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.Map;
+
+//NOTE: wraps another converter to encrypt matched fields right before serialization
+//and decrypt them right after deserialization instead of running a separate SMT,
+//freshly deserialized schemaless data is owned by this converter and processed in-place
+public class CipherFieldConverter implements Converter, Closeable {
+
+  public static final String INNER_CONVERTER = "inner_converter";
+
+  public static final ConfigDef CONFIG_DEF = new ConfigDef(CipherField.CONFIG_DEF)
+      .define(INNER_CONVERTER, Type.CLASS, ConfigDef.NO_DEFAULT_VALUE, ConfigDef.Importance.HIGH,
+          "converter class which (de)serializes the record data, all other converter settings are passed on to it");
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CipherFieldConverter.class);
+
+  private Map<String, ?> configs;
+  private Converter inner;
+  private CipherField<SourceRecord> encryptingCipherField;
+  private CipherField<SourceRecord> decryptingCipherField;
+
+  @Override
+  public void configure(Map<String, ?> configs, boolean isKey) {
+    var config = new AbstractConfig(CONFIG_DEF, withCipherMode(configs, CipherMode.ENCRYPT));
+    //NOTE: detached payload meta-data needs a record header for every processed
+    //record which is only supported by the SMT for now
+    if (PayloadMetaDataMode.HEADER == PayloadMetaDataMode.valueOf(config.getString(KryptoniteSettings.PAYLOAD_METADATA_MODE))) {
+      throw new ConfigException(KryptoniteSettings.PAYLOAD_METADATA_MODE, PayloadMetaDataMode.HEADER.name(),
+          "not supported by the converter");
+    }
+    this.configs = configs;
+    //NOTE: instantiated without AbstractConfig's configure(originals) since converters
+    //such as the JsonConverter require settings which only configure(configs, isKey) adds
+    this.inner = Utils.newInstance(config.getClass(INNER_CONVERTER), Converter.class);
+    this.inner.configure(configs, isKey);
+  }
+
+  @Override
+  public ConfigDef config() {
+    return CONFIG_DEF;
+  }
+
+  @Override
+  public byte[] fromConnectData(String topic, Schema schema, Object value) {
+    return fromConnectData(topic, null, schema, value);
+  }
+
+  @Override
+  public byte[] fromConnectData(String topic, Headers headers, Schema schema, Object value) {
+    if (value == null) {
+      return inner.fromConnectData(topic, headers, schema, null);
+    }
+    LOGGER.debug("converter received record data {}", value);
+    var processed = encryptingCipherField().process(schema, value);
+    return inner.fromConnectData(topic, headers, processed.schema(), processed.value());
+  }
+
+  @Override
+  public SchemaAndValue toConnectData(String topic, byte[] value) {
+    return toConnectData(topic, null, value);
+  }
+
+  @Override
+  public SchemaAndValue toConnectData(String topic, Headers headers, byte[] value) {
+    var converted = inner.toConnectData(topic, headers, value);
+    if (converted.value() == null) {
+      return converted;
+    }
+    LOGGER.debug("converter deserialized record data {}", converted.value());
+    return decryptingCipherField().process(converted.schema(), converted.value(), true);
+  }
+
+  //NOTE: the worker only closes converters which implement Closeable,
+  //the wrapped converter is closed along with it if it supports closing
+  @Override
+  public void close() {
+    if (encryptingCipherField != null) {
+      encryptingCipherField.close();
+    }
+    if (decryptingCipherField != null) {
+      decryptingCipherField.close();
+    }
+    if (inner instanceof AutoCloseable) {
+      Utils.closeQuietly((AutoCloseable) inner, "inner converter");
+    }
+  }
+
+  //NOTE: cipher fields are created on first use since a converter instance
+  //typically either only serializes (source) or only deserializes (sink) data
+  private synchronized CipherField<SourceRecord> encryptingCipherField() {
+    if (encryptingCipherField == null) {
+      encryptingCipherField = createCipherField(CipherMode.ENCRYPT);
+    }
+    return encryptingCipherField;
+  }
+
+  private synchronized CipherField<SourceRecord> decryptingCipherField() {
+    if (decryptingCipherField == null) {
+      decryptingCipherField = createCipherField(CipherMode.DECRYPT);
+    }
+    return decryptingCipherField;
+  }
+
+  private CipherField<SourceRecord> createCipherField(CipherMode cipherMode) {
+    var cipherField = new CipherField.Value<SourceRecord>();
+    cipherField.configure(withCipherMode(configs, cipherMode));
+    return cipherField;
+  }
+
+  private static Map<String, Object> withCipherMode(Map<String, ?> configs, CipherMode cipherMode) {
+    var adapted = new HashMap<String, Object>(configs);
+    adapted.put(KryptoniteSettings.CIPHER_MODE, cipherMode.name());
+    return adapted;
+  }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kafka.connect.transforms.kryptonite;
+
+import com.github.hpgrahsl.kryptonite.PayloadMetaData;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+
+//NOTE: compiled per schema to process all records sharing this schema
+//by walking pre-resolved steps instead of matching field paths per record
+public class ProcessingPlan {
+
+  public enum Action {
+    COPY,
+    PROCESS,
+    PROCESS_LIST,
+    PROCESS_MAP,
+    PROCESS_STRUCT,
+    BLIND_INDEX
+  }
+
+  public static final class Step {
+
+    final Field fieldOriginal;
+    final Field fieldNew;
+    final Action action;
+    final String path;
+    final PayloadMetaData payloadMetaData;
+    final ProcessingPlan nestedPlan;
+
+    Step(Field fieldOriginal, Field fieldNew, Action action, String path,
+        PayloadMetaData payloadMetaData, ProcessingPlan nestedPlan) {
+      this.fieldOriginal = fieldOriginal;
+      this.fieldNew = fieldNew;
+      this.action = action;
+      this.path = path;
+      this.payloadMetaData = payloadMetaData;
+      this.nestedPlan = nestedPlan;
+    }
+
+    public Action getAction() {
+      return action;
+    }
+
+    public String getPath() {
+      return path;
+    }
+
+  }
+
+  private final Schema schemaOriginal;
+  private final Schema schemaNew;
+  private final String matchedPath;
+  private final Step[] steps;
+  private final int numProcessingSteps;
+
+  public ProcessingPlan(Schema schemaOriginal, Schema schemaNew, String matchedPath, Step[] steps) {
+    this.schemaOriginal = schemaOriginal;
+    this.schemaNew = schemaNew;
+    this.matchedPath = matchedPath;
+    this.steps = steps;
+    var count = 0;
+    for (var step : steps) {
+      if (step.action != Action.COPY && step.action != Action.PROCESS_STRUCT) {
+        count++;
+      }
+    }
+    this.numProcessingSteps = count;
+  }
+
+  public Schema getSchemaOriginal() {
+    return schemaOriginal;
+  }
+
+  public Schema getSchemaNew() {
+    return schemaNew;
+  }
+
+  public String getMatchedPath() {
+    return matchedPath;
+  }
+
+  //NOTE: number of top-level steps which (de)cipher field data
+  public int getNumProcessingSteps() {
+    return numProcessingSteps;
+  }
+
+  Step[] getSteps() {
+    return steps;
+  }
+
+}
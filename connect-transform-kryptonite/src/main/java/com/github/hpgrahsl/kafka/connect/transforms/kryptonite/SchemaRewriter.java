@@ -16,8 +16,12 @@
 
 package com.github.hpgrahsl.kafka.connect.transforms.kryptonite;
 
-import com.github.hpgrahsl.kafka.connect.transforms.kryptonite.CipherField.FieldMode;
 import com.github.hpgrahsl.kryptonite.CipherMode;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.BlindIndexMode;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.CipherEncoding;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.FieldMode;
+import com.github.hpgrahsl.kryptonite.records.FieldConfig;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -41,27 +45,50 @@ public class SchemaRewriter {
   private final FieldMode fieldMode;
   private final CipherMode cipherMode;
   private final String pathDelimiter;
+  private final CipherEncoding cipherEncoding;
   private final TypeSchemaMapper typeSchemaMapper;
+  private final String blindIndexFieldSuffix;
 
   public SchemaRewriter(
       Map<String, FieldConfig> fieldConfig,
       FieldMode fieldMode, CipherMode cipherMode, String pathDelimiter) {
-    this.fieldConfig = fieldConfig;
-    this.fieldMode = fieldMode;
-    this.cipherMode = cipherMode;
-    this.pathDelimiter = pathDelimiter;
-    this.typeSchemaMapper = new DefaultTypeSchemaMapper();
+    this(fieldConfig, fieldMode, cipherMode, pathDelimiter, CipherEncoding.BASE64, new DefaultTypeSchemaMapper());
   }
 
   public SchemaRewriter(
       Map<String, FieldConfig> fieldConfig,
       FieldMode fieldMode, CipherMode cipherMode, String pathDelimiter,
       TypeSchemaMapper typeSchemaMapper) {
+    this(fieldConfig, fieldMode, cipherMode, pathDelimiter, CipherEncoding.BASE64, typeSchemaMapper);
+  }
+
+  public SchemaRewriter(
+      Map<String, FieldConfig> fieldConfig,
+      FieldMode fieldMode, CipherMode cipherMode, String pathDelimiter,
+      CipherEncoding cipherEncoding) {
+    this(fieldConfig, fieldMode, cipherMode, pathDelimiter, cipherEncoding, new DefaultTypeSchemaMapper());
+  }
+
+  public SchemaRewriter(
+      Map<String, FieldConfig> fieldConfig,
+      FieldMode fieldMode, CipherMode cipherMode, String pathDelimiter,
+      CipherEncoding cipherEncoding, TypeSchemaMapper typeSchemaMapper) {
+    this(fieldConfig, fieldMode, cipherMode, pathDelimiter, cipherEncoding, typeSchemaMapper,
+        KryptoniteSettings.BLIND_INDEX_FIELD_SUFFIX_DEFAULT);
+  }
+
+  public SchemaRewriter(
+      Map<String, FieldConfig> fieldConfig,
+      FieldMode fieldMode, CipherMode cipherMode, String pathDelimiter,
+      CipherEncoding cipherEncoding, TypeSchemaMapper typeSchemaMapper,
+      String blindIndexFieldSuffix) {
     this.fieldConfig = fieldConfig;
     this.fieldMode = fieldMode;
     this.cipherMode = cipherMode;
     this.pathDelimiter = pathDelimiter;
+    this.cipherEncoding = cipherEncoding;
     this.typeSchemaMapper = typeSchemaMapper;
+    this.blindIndexFieldSuffix = blindIndexFieldSuffix;
   }
 
   public Schema adaptSchema(Schema original, String matchedPath) {
@@ -69,9 +96,24 @@ public class SchemaRewriter {
     var builder  = SchemaUtil.copySchemaBasics(original);
     for (var field : original.fields()) {
       var updatedPath = matchedPath.isEmpty() ? field.name() : matchedPath + pathDelimiter + field.name();
-      if (fieldConfig.containsKey(updatedPath)) {
+      var fc = fieldConfig.get(updatedPath);
+      if (fc != null) {
+        var blindIndexMode = fc.getBlindIndex().orElse(null);
+        if (BlindIndexMode.ONLY == blindIndexMode) {
+          //NOTE: blind indexes cannot be reversed, hence decryption keeps them as is
+          LOGGER.debug("adapting schema for matched field '{}' replaced by its blind index",updatedPath);
+          builder.field(field.name(), CipherMode.ENCRYPT == cipherMode
+              ? typeSchemaMapper.getSchemaForEncryptedObject(field.schema().isOptional(), cipherEncoding)
+              : field.schema());
+          continue;
+        }
         LOGGER.debug("adapting schema for matched field '{}'",updatedPath);
         adaptField(derivePrimaryType(field,updatedPath),builder,field,updatedPath);
+        if (BlindIndexMode.COMPANION == blindIndexMode && CipherMode.ENCRYPT == cipherMode) {
+          LOGGER.debug("adding blind index companion schema for matched field '{}'",updatedPath);
+          builder.field(field.name() + blindIndexFieldSuffix,
+              typeSchemaMapper.getSchemaForEncryptedObject(field.schema().isOptional(), cipherEncoding));
+        }
       } else {
         LOGGER.debug("copying schema for non-matched field '{}'",updatedPath);
         builder.field(field.name(), field.schema());
@@ -95,7 +137,7 @@ public class SchemaRewriter {
       default:
         builder.field(field.name(),
             typeSchemaMapper.getSchemaForPrimitiveType(
-                decisiveType,field.schema().isOptional(),cipherMode
+                decisiveType,field.schema().isOptional(),cipherMode,cipherEncoding
             )
         );
     }
@@ -107,8 +149,8 @@ public class SchemaRewriter {
         LOGGER.trace("creating field schema for type {}",Type.ARRAY);
         builder.field(field.name(),
             FieldMode.ELEMENT == fieldConfig.get(fieldPath).getFieldMode().orElse(fieldMode)
-                ? SchemaBuilder.array(typeSchemaMapper.getSchemaForPrimitiveType(field.schema().valueSchema().type(), field.schema().valueSchema().isOptional(), cipherMode)).build()
-                : (field.schema().isOptional() ? Schema.OPTIONAL_STRING_SCHEMA : Schema.STRING_SCHEMA)
+                ? SchemaBuilder.array(typeSchemaMapper.getSchemaForPrimitiveType(field.schema().valueSchema().type(), field.schema().valueSchema().isOptional(), cipherMode, cipherEncoding)).build()
+                : typeSchemaMapper.getSchemaForEncryptedObject(field.schema().isOptional(), cipherEncoding)
         );
       } else {
         //NOTE: whether or not the array itself is optional is specified
@@ -128,9 +170,9 @@ public class SchemaRewriter {
         LOGGER.trace("creating field schema for type {}",Type.MAP);
         builder.field(field.name(),
             FieldMode.ELEMENT == fieldConfig.get(fieldPath).getFieldMode().orElse(fieldMode)
-                ? SchemaBuilder.map(typeSchemaMapper.getSchemaForPrimitiveType(field.schema().keySchema().type(), field.schema().keySchema().isOptional(), cipherMode),
-                typeSchemaMapper.getSchemaForPrimitiveType(field.schema().valueSchema().type(), field.schema().valueSchema().isOptional(), cipherMode)).build()
-                : (field.schema().isOptional() ? Schema.OPTIONAL_STRING_SCHEMA : Schema.STRING_SCHEMA)
+                ? SchemaBuilder.map(typeSchemaMapper.getSchemaForPrimitiveType(field.schema().keySchema().type(), field.schema().keySchema().isOptional(), cipherMode, cipherEncoding),
+                typeSchemaMapper.getSchemaForPrimitiveType(field.schema().valueSchema().type(), field.schema().valueSchema().isOptional(), cipherMode, cipherEncoding)).build()
+                : typeSchemaMapper.getSchemaForEncryptedObject(field.schema().isOptional(), cipherEncoding)
         );
       } else {
         //NOTE: whether or not the map itself is optional is specified
@@ -150,7 +192,7 @@ public class SchemaRewriter {
         builder.field(field.name(),
             FieldMode.ELEMENT == fieldConfig.get(fieldPath).getFieldMode().orElse(fieldMode)
             ? adaptSchema(field.schema(), fieldPath)
-            : field.schema().isOptional() ? Schema.OPTIONAL_STRING_SCHEMA : Schema.STRING_SCHEMA
+            : typeSchemaMapper.getSchemaForEncryptedObject(field.schema().isOptional(), cipherEncoding)
         );
       } else {
         //NOTE: whether or not the struct itself is optional is specified
@@ -16,11 +16,18 @@
 
 package com.github.hpgrahsl.kafka.connect.transforms.kryptonite;
 
-import com.github.hpgrahsl.kafka.connect.transforms.kryptonite.CipherField.FieldMode;
+import com.github.hpgrahsl.kafka.connect.transforms.kryptonite.ProcessingPlan.Action;
 import com.github.hpgrahsl.kryptonite.CipherMode;
 import com.github.hpgrahsl.kryptonite.Kryptonite;
+import com.github.hpgrahsl.kryptonite.PayloadMetaData;
 import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.BlindIndexMode;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.FieldMode;
+import com.github.hpgrahsl.kryptonite.records.FieldConfig;
+import com.github.hpgrahsl.kryptonite.records.RecordHandler;
 import com.github.hpgrahsl.kryptonite.serdes.SerdeProcessor;
+import com.github.hpgrahsl.kryptonite.serdes.StructSchemaCache;
+import com.github.hpgrahsl.kryptonite.util.StripedLruCache;
 import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.Schema.Type;
@@ -28,61 +35,175 @@ import org.apache.kafka.connect.data.Struct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.UnaryOperator;
 
-public class SchemaawareRecordHandler extends RecordHandler {
+public class SchemaawareRecordHandler extends RecordHandler implements FieldPathMatcher {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(SchemaawareRecordHandler.class);
 
+  //NOTE: compiled plans are kept per original schema so that every caller
+  //of this handler reuses them across all records sharing a schema
+  private final StripedLruCache<Schema, ProcessingPlan> planCache;
+
   public SchemaawareRecordHandler(AbstractConfig config,
                                   SerdeProcessor serdeProcessor, Kryptonite kryptonite,
                                   CipherMode cipherMode,
                                   Map<String, FieldConfig> fieldConfig) {
     super(config, serdeProcessor, kryptonite, cipherMode, fieldConfig);
+    this.planCache = new StripedLruCache<>(config.getInt(KryptoniteSettings.SCHEMA_CACHE_SIZE),
+        config.getLong(KryptoniteSettings.SCHEMA_CACHE_EXPIRY_MS));
+  }
+
+  public StripedLruCache<Schema, ProcessingPlan> getPlanCache() {
+    return planCache;
   }
 
   @Override
   public Object matchFields(Schema schemaOriginal, Object objectOriginal, Schema schemaNew,
       Object objectNew, String matchedPath) {
-    LOGGER.debug("checking fields in record {}",objectOriginal);
-    var dataOriginal = (Struct)objectOriginal;
-    var dataNew = (Struct)objectNew;
-    schemaOriginal.fields().forEach(f -> {
+    return applyPlan(planFor(schemaOriginal, schemaNew, matchedPath), (Struct)objectOriginal, (Struct)objectNew);
+  }
+
+  //NOTE: the adapted schema is only derived in case no plan is cached for the original schema yet
+  public ProcessingPlan planFor(Schema schemaOriginal, UnaryOperator<Schema> schemaAdapter) {
+    var plan = planCache.get(schemaOriginal);
+    if (plan == null || !plan.getMatchedPath().isEmpty()) {
+      LOGGER.debug("compiling processing plan because schema not present in cache");
+      plan = compilePlan(schemaOriginal, schemaAdapter.apply(schemaOriginal));
+      planCache.put(schemaOriginal, plan);
+    }
+    return plan;
+  }
+
+  public ProcessingPlan planFor(Schema schemaOriginal, Schema schemaNew, String matchedPath) {
+    var plan = planCache.get(schemaOriginal);
+    if (plan == null || !plan.getMatchedPath().equals(matchedPath)
+        || (plan.getSchemaNew() != schemaNew && !plan.getSchemaNew().equals(schemaNew))) {
+      LOGGER.debug("compiling processing plan because schema not present in cache");
+      plan = compilePlan(schemaOriginal, schemaNew, matchedPath);
+      planCache.put(schemaOriginal, plan);
+    }
+    return plan;
+  }
+
+  public ProcessingPlan compilePlan(Schema schemaOriginal, Schema schemaNew) {
+    return compilePlan(schemaOriginal, schemaNew, "");
+  }
+
+  public ProcessingPlan compilePlan(Schema schemaOriginal, Schema schemaNew, String matchedPath) {
+    LOGGER.debug("compiling processing plan for schema {}",schemaOriginal);
+    var fields = schemaOriginal.fields();
+    var steps = new ArrayList<ProcessingPlan.Step>(fields.size());
+    for (var f : fields) {
+      var fNew = schemaNew.field(f.name());
       var updatedPath = matchedPath.isEmpty() ? f.name() : matchedPath+pathDelimiter+f.name();
       var fc = fieldConfig.get(updatedPath);
-      if(fc != null) {
-          LOGGER.trace("matched field '{}'",updatedPath);
-          if(FieldMode.ELEMENT == fc.getFieldMode()
-                  .orElse(FieldMode.valueOf(getConfig().getString(KryptoniteSettings.FIELD_MODE)))) {
-            if(f.schema().type() == Type.ARRAY){
-              LOGGER.trace("processing {} field element-wise",Type.ARRAY);
-              dataNew.put(schemaNew.field(f.name()), processListField((List<?>)dataOriginal.get(f.name()),updatedPath));
-            } else if(f.schema().type() == Type.MAP) {
-              LOGGER.trace("processing {} field element-wise",Type.MAP);
-              dataNew.put(schemaNew.field(f.name()), processMapField((Map<?,?>)dataOriginal.get(f.name()),updatedPath));
-            } else if(f.schema().type() == Type.STRUCT) {
-              if (dataOriginal.get(f.name()) != null) {
-                LOGGER.trace("processing {} field element-wise",Type.STRUCT);
-                dataNew.put(schemaNew.field(f.name()),
-                    matchFields(f.schema(),dataOriginal.get(f.name()),schemaNew.field(f.name()).schema(),new Struct(schemaNew.field(f.name()).schema()),updatedPath));
-              } else {
-                LOGGER.trace("value of {} field was null -> skip element-wise sub-field matching",Type.STRUCT);
-              }
-            } else {
-              LOGGER.trace("processing primitive field of type {}",f.schema().type());
-              dataNew.put(schemaNew.field(f.name()), processField(dataOriginal.get(f.name()), updatedPath));
-            }
-          } else {
-            LOGGER.trace("processing field of type {}",f.schema().type());
-            dataNew.put(schemaNew.field(f.name()), processField(dataOriginal.get(f.name()), updatedPath));
-          }
+      if (fc == null) {
+        LOGGER.trace("copying non-matched field '{}'",updatedPath);
+        steps.add(new ProcessingPlan.Step(f, fNew, Action.COPY, updatedPath, null, null));
+        continue;
+      }
+      LOGGER.trace("matched field '{}'",updatedPath);
+      var blindIndexMode = fc.getBlindIndex().orElse(null);
+      if (BlindIndexMode.ONLY == blindIndexMode) {
+        steps.add(new ProcessingPlan.Step(f, fNew,
+            CipherMode.ENCRYPT == cipherMode ? Action.BLIND_INDEX : Action.COPY, updatedPath, null, null));
+        continue;
+      }
+      var metaData = payloadMetaDataFor(updatedPath);
+      if (CipherMode.DECRYPT == cipherMode) {
+        //NOTE: make expected struct schemas resolvable when reading fingerprinted struct values
+        StructSchemaCache.register(fNew.schema());
+      }
+      if (FieldMode.ELEMENT == fc.getFieldMode().orElse(fieldMode)) {
+        if (f.schema().type() == Type.ARRAY) {
+          steps.add(new ProcessingPlan.Step(f, fNew, Action.PROCESS_LIST, updatedPath, metaData, null));
+        } else if (f.schema().type() == Type.MAP) {
+          steps.add(new ProcessingPlan.Step(f, fNew, Action.PROCESS_MAP, updatedPath, metaData, null));
+        } else if (f.schema().type() == Type.STRUCT) {
+          steps.add(new ProcessingPlan.Step(f, fNew, Action.PROCESS_STRUCT, updatedPath, metaData,
+              compilePlan(f.schema(), fNew.schema(), updatedPath)));
         } else {
-          LOGGER.trace("copying non-matched field '{}'",updatedPath);
-          dataNew.put(schemaNew.field(f.name()), dataOriginal.get(f.name()));
+          steps.add(new ProcessingPlan.Step(f, fNew, Action.PROCESS, updatedPath, metaData, null));
         }
-    });
+      } else {
+        steps.add(new ProcessingPlan.Step(f, fNew, Action.PROCESS, updatedPath, metaData, null));
+      }
+      if (emitsBlindIndexCompanion(updatedPath)) {
+        //NOTE: companion steps read the original field but write into the added blind index field
+        steps.add(new ProcessingPlan.Step(f, schemaNew.field(f.name() + blindIndexFieldSuffix),
+            Action.BLIND_INDEX, updatedPath, null, null));
+      }
+    }
+    return new ProcessingPlan(schemaOriginal, schemaNew, matchedPath, steps.toArray(new ProcessingPlan.Step[0]));
+  }
+
+  public Struct applyPlan(ProcessingPlan plan, Struct dataOriginal, Struct dataNew) {
+    return applyPlan(plan, dataOriginal, dataNew, null);
+  }
+
+  //NOTE: plans are cached per schema hence the detached payload meta-data of
+  //a record is passed along instead of being compiled into the plan's steps
+  public Struct applyPlan(ProcessingPlan plan, Struct dataOriginal, Struct dataNew, PayloadMetaData detachedMetaData) {
+    LOGGER.debug("checking fields in record {}",dataOriginal);
+    var steps = plan.getSteps();
+    var processed = plan.getNumProcessingSteps() > 0 && runsInParallel(plan.getNumProcessingSteps())
+        ? processStepsInParallel(steps, dataOriginal, detachedMetaData) : null;
+    for (int i = 0; i < steps.length; i++) {
+      var step = steps[i];
+      var value = dataOriginal.get(step.fieldOriginal);
+      switch (step.action) {
+        case COPY:
+          dataNew.put(step.fieldNew, value);
+          break;
+        case PROCESS:
+        case PROCESS_LIST:
+        case PROCESS_MAP:
+        case BLIND_INDEX:
+          dataNew.put(step.fieldNew, processed != null ? processed[i] : processStep(step, value, detachedMetaData));
+          break;
+        case PROCESS_STRUCT:
+          if (value != null) {
+            dataNew.put(step.fieldNew,
+                applyPlan(step.nestedPlan, (Struct)value, new Struct(step.nestedPlan.getSchemaNew()), detachedMetaData));
+          } else {
+            LOGGER.trace("value of {} field was null -> skip element-wise sub-field matching",Type.STRUCT);
+          }
+          break;
+      }
+    }
     return dataNew;
   }
 
+  private Object processStep(ProcessingPlan.Step step, Object value, PayloadMetaData detachedMetaData) {
+    var metaData = CipherMode.ENCRYPT == cipherMode ? step.payloadMetaData : detachedMetaData;
+    switch (step.action) {
+      case PROCESS_LIST:
+        return processListField((List<?>)value, step.path, metaData);
+      case PROCESS_MAP:
+        return processMapField((Map<?,?>)value, step.path, metaData);
+      case BLIND_INDEX:
+        return blindIndexField(value, step.path);
+      default:
+        return processField(value, step.path, metaData);
+    }
+  }
+
+  //NOTE: fans out the independent field steps of a wide record and
+  //keeps their results by step index so that field order is retained
+  private Object[] processStepsInParallel(ProcessingPlan.Step[] steps, Struct dataOriginal, PayloadMetaData detachedMetaData) {
+    var processed = new Object[steps.length];
+    runInParallel(steps.length, i -> {
+      var step = steps[i];
+      if (step.action != Action.COPY && step.action != Action.PROCESS_STRUCT) {
+        processed[i] = processStep(step, dataOriginal.get(step.fieldOriginal), detachedMetaData);
+      }
+    });
+    return processed;
+  }
+
+
 }
@@ -17,6 +17,7 @@
 package com.github.hpgrahsl.kafka.connect.transforms.kryptonite;
 
 import com.github.hpgrahsl.kryptonite.CipherMode;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.CipherEncoding;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -40,6 +41,19 @@ public interface TypeSchemaMapper {
           Type.BYTES, SchemaBuilder::string
       );
 
+  Map<Type, Supplier<SchemaBuilder>> DEFAULT_MAPPINGS_ENCRYPT_RAW_BYTES =
+      Map.of(
+          Type.BOOLEAN, SchemaBuilder::bytes,
+          Type.INT8, SchemaBuilder::bytes,
+          Type.INT16, SchemaBuilder::bytes,
+          Type.INT32, SchemaBuilder::bytes,
+          Type.INT64, SchemaBuilder::bytes,
+          Type.FLOAT32, SchemaBuilder::bytes,
+          Type.FLOAT64, SchemaBuilder::bytes,
+          Type.STRING, SchemaBuilder::bytes,
+          Type.BYTES, SchemaBuilder::bytes
+      );
+
   Map<Type, Supplier<SchemaBuilder>> DEFAULT_MAPPINGS_DECRYPT =
       Map.of(
           Type.BOOLEAN, SchemaBuilder::bool,
@@ -54,10 +68,16 @@ public interface TypeSchemaMapper {
       );
 
   default Schema getSchemaForPrimitiveType(Type type, boolean isOptional, CipherMode cipherMode) {
+    return getSchemaForPrimitiveType(type, isOptional, cipherMode, CipherEncoding.BASE64);
+  }
+
+  default Schema getSchemaForPrimitiveType(Type type, boolean isOptional, CipherMode cipherMode, CipherEncoding cipherEncoding) {
     var builder =
         Optional.ofNullable(
             CipherMode.ENCRYPT == cipherMode
-                ? DEFAULT_MAPPINGS_ENCRYPT.get(type)
+                ? (CipherEncoding.RAW_BYTES == cipherEncoding
+                    ? DEFAULT_MAPPINGS_ENCRYPT_RAW_BYTES.get(type)
+                    : DEFAULT_MAPPINGS_ENCRYPT.get(type))
                 : DEFAULT_MAPPINGS_DECRYPT.get(type)
         ).orElseThrow(
             () -> new NoSuchElementException("no default type mapping found for type "
@@ -66,4 +86,11 @@ public interface TypeSchemaMapper {
     return isOptional ? builder.optional().build() : builder.build();
   }
 
+  default Schema getSchemaForEncryptedObject(boolean isOptional, CipherEncoding cipherEncoding) {
+    if (CipherEncoding.RAW_BYTES == cipherEncoding) {
+      return isOptional ? Schema.OPTIONAL_BYTES_SCHEMA : Schema.BYTES_SCHEMA;
+    }
+    return isOptional ? Schema.OPTIONAL_STRING_SCHEMA : Schema.STRING_SCHEMA;
+  }
+
 }
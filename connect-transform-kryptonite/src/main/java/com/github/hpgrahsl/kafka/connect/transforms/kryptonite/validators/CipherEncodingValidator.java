@@ -16,14 +16,14 @@
 
 package com.github.hpgrahsl.kafka.connect.transforms.kryptonite.validators;
 
-import com.github.hpgrahsl.kafka.connect.transforms.kryptonite.CipherField.CipherEncoding;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.CipherEncoding;
 import java.util.Set;
 import org.apache.kafka.common.config.ConfigDef.Validator;
 import org.apache.kafka.common.config.ConfigException;
 
 public class CipherEncodingValidator implements Validator {
 
-  private static final Set<String> VALID_ENCODINGS = Set.of(CipherEncoding.BASE64.name());
+  private static final Set<String> VALID_ENCODINGS = Set.of(CipherEncoding.BASE64.name(), CipherEncoding.RAW_BYTES.name());
 
   @Override
   public void ensureValid(String name, Object o) {
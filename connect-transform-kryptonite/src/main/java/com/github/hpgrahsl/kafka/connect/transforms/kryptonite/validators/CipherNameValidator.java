@@ -17,6 +17,7 @@
 package com.github.hpgrahsl.kafka.connect.transforms.kryptonite.validators;
 
 import com.github.hpgrahsl.kryptonite.crypto.tink.TinkAesGcm;
+import com.github.hpgrahsl.kryptonite.crypto.tink.TinkAesGcmHkdfStreaming;
 import com.github.hpgrahsl.kryptonite.crypto.tink.TinkAesGcmSiv;
 import java.util.Set;
 import org.apache.kafka.common.config.ConfigDef.Validator;
@@ -26,7 +27,8 @@ public class CipherNameValidator implements Validator {
 
   private static final Set<String> VALID_CIPHERS = Set.of(
       TinkAesGcm.CIPHER_ALGORITHM,
-      TinkAesGcmSiv.CIPHER_ALGORITHM
+      TinkAesGcmSiv.CIPHER_ALGORITHM,
+      TinkAesGcmHkdfStreaming.CIPHER_ALGORITHM
   );
 
   @Override
@@ -19,7 +19,7 @@ package com.github.hpgrahsl.kafka.connect.transforms.kryptonite.validators;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.github.hpgrahsl.kafka.connect.transforms.kryptonite.FieldConfig;
+import com.github.hpgrahsl.kryptonite.records.FieldConfig;
 import java.util.Set;
 import org.apache.kafka.common.config.ConfigDef.Validator;
 import org.apache.kafka.common.config.ConfigException;
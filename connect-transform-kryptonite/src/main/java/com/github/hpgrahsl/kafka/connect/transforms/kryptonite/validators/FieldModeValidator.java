@@ -16,7 +16,7 @@
 
 package com.github.hpgrahsl.kafka.connect.transforms.kryptonite.validators;
 
-import com.github.hpgrahsl.kafka.connect.transforms.kryptonite.CipherField.FieldMode;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.FieldMode;
 import org.apache.kafka.common.config.ConfigDef.Validator;
 import org.apache.kafka.common.config.ConfigException;
 
@@ -19,28 +19,43 @@ package com.github.hpgrahsl.kafka.connect.transforms.kryptonite;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.github.hpgrahsl.kafka.connect.transforms.kryptonite.CipherField.CipherEncoding;
 import com.github.hpgrahsl.kafka.connect.transforms.kryptonite.CipherField.FieldMode;
+import com.github.hpgrahsl.kryptonite.Kryptonite;
 import com.github.hpgrahsl.kryptonite.Kryptonite.CipherSpec;
 import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings;
 import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.KekType;
 import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.KeySource;
 import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.KmsType;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.PayloadMetaDataMode;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.SerdeType;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.StructSchemaMode;
 import com.github.hpgrahsl.kryptonite.crypto.tink.TinkAesGcm;
+import com.github.hpgrahsl.kryptonite.crypto.tink.TinkAesGcmHkdfStreaming;
 import com.github.hpgrahsl.kryptonite.crypto.tink.TinkAesGcmSiv;
+import com.github.hpgrahsl.kryptonite.serdes.EncryptedFieldCodec;
 
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
+import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.common.record.TimestampType;
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.json.JsonConverter;
 import org.apache.kafka.connect.sink.SinkRecord;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
 import org.junit.jupiter.api.function.Executable;
@@ -71,6 +86,133 @@ public class CipherFieldSmtFunctionalTest {
       performSchemafulRecordTest(cipherDataKeys, fieldMode, cipherSpec, keyId1, keyId2, keySource, kmsType, kmsConfig, kekType, kekConfig, kekUri);
   }
 
+    @ParameterizedTest
+    @MethodSource("com.github.hpgrahsl.kafka.connect.transforms.kryptonite.CipherFieldSmtFunctionalTest#generateValidParamsRawBytesEncoding")
+    @DisplayName("apply SMT decrypt(encrypt(plaintext)) = plaintext for schemaful record with raw bytes cipher text encoding")
+    void encryptDecryptSchemafulRecordRawBytesTest(CipherSpec cipherSpec, String keyId, String cipherTextVersion) {
+      var encProps = new HashMap<String, Object>();
+      encProps.put(KryptoniteSettings.CIPHER_MODE, "ENCRYPT");
+      encProps.put(KryptoniteSettings.FIELD_CONFIG,
+          "["
+              + "    {\"name\":\"myString\"},"
+              + "    {\"name\":\"myInt32\"},"
+              + "    {\"name\":\"mySubDoc2\",\"fieldMode\":\"OBJECT\"},"
+              + "    {\"name\":\"myArray1\"}"
+              + "]"
+      );
+      encProps.put(KryptoniteSettings.CIPHER_ALGORITHM,cipherSpec.getName());
+      encProps.put(KryptoniteSettings.CIPHER_DATA_KEYS,TestFixtures.CIPHER_DATA_KEYS_CONFIG);
+      encProps.put(KryptoniteSettings.CIPHER_DATA_KEY_IDENTIFIER,keyId);
+      encProps.put(KryptoniteSettings.CIPHER_TEXT_ENCODING,CipherEncoding.RAW_BYTES.name());
+      encProps.put(KryptoniteSettings.CIPHER_TEXT_VERSION,cipherTextVersion);
+      encProps.put(KryptoniteSettings.FIELD_MODE,FieldMode.ELEMENT.name());
+
+      var encryptTransform = new CipherField.Value<SourceRecord>();
+      encryptTransform.configure(encProps);
+      var encryptedRecord = (Struct)encryptTransform.apply(
+          new SourceRecord(null,null,"some-kafka-topic",0,TestFixtures.TEST_OBJ_SCHEMA_1,TestFixtures.TEST_OBJ_STRUCT_1)
+      ).value();
+
+      assertAll(
+          () -> assertEquals(Schema.Type.BYTES, encryptedRecord.schema().field("myString").schema().type()),
+          () -> assertEquals(Schema.Type.BYTES, encryptedRecord.schema().field("myInt32").schema().type()),
+          () -> assertEquals(Schema.Type.BYTES, encryptedRecord.schema().field("mySubDoc2").schema().type()),
+          () -> assertEquals(Schema.Type.BYTES, encryptedRecord.schema().field("myArray1").schema().valueSchema().type()),
+          () -> assertTrue(encryptedRecord.get("myString") instanceof byte[]),
+          () -> assertTrue(encryptedRecord.get("mySubDoc2") instanceof byte[])
+      );
+
+      var decProps = new HashMap<String, Object>();
+      decProps.put(KryptoniteSettings.CIPHER_MODE, "DECRYPT");
+      decProps.put(KryptoniteSettings.FIELD_CONFIG,
+          "["
+              + "    {\"name\":\"myString\",\"schema\": {\"type\": \"STRING\"}},"
+              + "    {\"name\":\"myInt32\",\"schema\": {\"type\": \"INT32\"}},"
+              + "    {\"name\":\"mySubDoc2\",\"fieldMode\":\"OBJECT\",\"schema\": { \"type\": \"MAP\", \"keySchema\": { \"type\": \"STRING\" }, \"valueSchema\": { \"type\": \"INT32\"}}},"
+              + "    {\"name\":\"myArray1\",\"schema\": {\"type\": \"ARRAY\",\"valueSchema\": {\"type\": \"STRING\"}}}"
+              + "]"
+      );
+      decProps.put(KryptoniteSettings.CIPHER_DATA_KEYS,TestFixtures.CIPHER_DATA_KEYS_CONFIG);
+      decProps.put(KryptoniteSettings.CIPHER_TEXT_ENCODING,CipherEncoding.RAW_BYTES.name());
+      decProps.put(KryptoniteSettings.FIELD_MODE,FieldMode.ELEMENT.name());
+
+      var decryptTransform = new CipherField.Value<SinkRecord>();
+      decryptTransform.configure(decProps);
+      var decryptedRecord = (Struct)decryptTransform.apply(
+          new SinkRecord("some-kafka-topic",0,null,null,encryptedRecord.schema(),encryptedRecord,0)
+      ).value();
+
+      assertAllResultingFieldsSchemafulRecord(TestFixtures.TEST_OBJ_STRUCT_1,decryptedRecord);
+    }
+
+    @ParameterizedTest
+    @MethodSource("com.github.hpgrahsl.kafka.connect.transforms.kryptonite.CipherFieldSmtFunctionalTest#generateValidParamsRawBytesEncoding")
+    @DisplayName("apply SMT decrypt(encrypt(plaintext)) = plaintext for schemaful record with parallel field processing")
+    void encryptDecryptSchemafulRecordParallelTest(CipherSpec cipherSpec, String keyId, String cipherTextVersion) {
+      var encProps = new HashMap<String, Object>();
+      encProps.put(KryptoniteSettings.CIPHER_MODE, "ENCRYPT");
+      encProps.put(KryptoniteSettings.FIELD_CONFIG,
+          "["
+              + "    {\"name\":\"id\"},"
+              + "    {\"name\":\"myString\"},"
+              + "    {\"name\":\"myInt32\"},"
+              + "    {\"name\":\"myInt64\"},"
+              + "    {\"name\":\"myBoolean\"},"
+              + "    {\"name\":\"myArray1\"},"
+              + "    {\"name\":\"mySubDoc2\"},"
+              + "    {\"name\":\"myBytes\"}"
+              + "]"
+      );
+      encProps.put(KryptoniteSettings.CIPHER_ALGORITHM,cipherSpec.getName());
+      encProps.put(KryptoniteSettings.CIPHER_DATA_KEYS,TestFixtures.CIPHER_DATA_KEYS_CONFIG);
+      encProps.put(KryptoniteSettings.CIPHER_DATA_KEY_IDENTIFIER,keyId);
+      encProps.put(KryptoniteSettings.CIPHER_TEXT_VERSION,cipherTextVersion);
+      encProps.put(KryptoniteSettings.FIELD_MODE,FieldMode.ELEMENT.name());
+      encProps.put(KryptoniteSettings.FIELD_PARALLELISM,4);
+      encProps.put(KryptoniteSettings.FIELD_PARALLELISM_THRESHOLD,2);
+
+      var encryptTransform = new CipherField.Value<SourceRecord>();
+      encryptTransform.configure(encProps);
+      var encryptedRecord = (Struct)encryptTransform.apply(
+          new SourceRecord(null,null,"some-kafka-topic",0,TestFixtures.TEST_OBJ_SCHEMA_1,TestFixtures.TEST_OBJ_STRUCT_1)
+      ).value();
+      encryptTransform.close();
+
+      assertAll(
+          () -> assertEquals(TestFixtures.TEST_OBJ_SCHEMA_1.fields().size(), encryptedRecord.schema().fields().size()),
+          () -> assertEquals(4, ((List<?>)encryptedRecord.get("myArray1")).size()),
+          () -> assertEquals(3, ((Map<?,?>)encryptedRecord.get("mySubDoc2")).size())
+      );
+
+      var decProps = new HashMap<String, Object>();
+      decProps.put(KryptoniteSettings.CIPHER_MODE, "DECRYPT");
+      decProps.put(KryptoniteSettings.FIELD_CONFIG,
+          "["
+              + "    {\"name\":\"id\",\"schema\": {\"type\": \"STRING\"}},"
+              + "    {\"name\":\"myString\",\"schema\": {\"type\": \"STRING\"}},"
+              + "    {\"name\":\"myInt32\",\"schema\": {\"type\": \"INT32\"}},"
+              + "    {\"name\":\"myInt64\",\"schema\": {\"type\": \"INT64\"}},"
+              + "    {\"name\":\"myBoolean\",\"schema\": {\"type\": \"BOOLEAN\"}},"
+              + "    {\"name\":\"myArray1\",\"schema\": {\"type\": \"ARRAY\",\"valueSchema\": {\"type\": \"STRING\"}}},"
+              + "    {\"name\":\"mySubDoc2\",\"schema\": { \"type\": \"MAP\", \"keySchema\": { \"type\": \"STRING\" }, \"valueSchema\": { \"type\": \"INT32\"}}},"
+              + "    {\"name\":\"myBytes\",\"schema\": {\"type\": \"BYTES\"}}"
+              + "]"
+      );
+      decProps.put(KryptoniteSettings.CIPHER_DATA_KEYS,TestFixtures.CIPHER_DATA_KEYS_CONFIG);
+      decProps.put(KryptoniteSettings.FIELD_MODE,FieldMode.ELEMENT.name());
+      decProps.put(KryptoniteSettings.FIELD_PARALLELISM,4);
+      decProps.put(KryptoniteSettings.FIELD_PARALLELISM_THRESHOLD,2);
+
+      var decryptTransform = new CipherField.Value<SinkRecord>();
+      decryptTransform.configure(decProps);
+      var decryptedRecord = (Struct)decryptTransform.apply(
+          new SinkRecord("some-kafka-topic",0,null,null,encryptedRecord.schema(),encryptedRecord,0)
+      ).value();
+      decryptTransform.close();
+
+      assertAllResultingFieldsSchemafulRecord(TestFixtures.TEST_OBJ_STRUCT_1,decryptedRecord);
+    }
+
   @Nested
   @EnabledIfSystemProperty(named = "cloud.kms.tests", matches = "true")
   class WithCloudKmsConfig {
@@ -279,6 +421,302 @@ var encProps = new HashMap<String, Object>();
   
       assertAllResultingFieldsSchemafulRecord(TestFixtures.TEST_OBJ_STRUCT_1,decryptedRecord);
     }
+
+    @ParameterizedTest
+    @MethodSource("com.github.hpgrahsl.kafka.connect.transforms.kryptonite.CipherFieldSmtFunctionalTest#generateValidParamsRawBytesEncoding")
+    @DisplayName("apply SMT decrypt(encrypt(plaintext)) = plaintext for schemaless record sharing non-matched fields and ignoring nested field paths")
+    @SuppressWarnings("unchecked")
+    void encryptDecryptSchemalessRecordNestedPathTest(CipherSpec cipherSpec, String keyId, String cipherTextVersion) {
+      var encProps = new HashMap<String, Object>();
+      encProps.put(KryptoniteSettings.CIPHER_MODE, "ENCRYPT");
+      encProps.put(KryptoniteSettings.FIELD_CONFIG,"[{\"name\":\"myString\"},{\"name\":\"mySubDoc1.myString\"}]");
+      encProps.put(KryptoniteSettings.CIPHER_ALGORITHM,cipherSpec.getName());
+      encProps.put(KryptoniteSettings.CIPHER_DATA_KEYS,TestFixtures.CIPHER_DATA_KEYS_CONFIG);
+      encProps.put(KryptoniteSettings.CIPHER_DATA_KEY_IDENTIFIER,keyId);
+      encProps.put(KryptoniteSettings.CIPHER_TEXT_ENCODING,CipherEncoding.RAW_BYTES.name());
+      encProps.put(KryptoniteSettings.CIPHER_TEXT_VERSION,cipherTextVersion);
+
+      var encryptTransform = new CipherField.Value<SourceRecord>();
+      encryptTransform.configure(encProps);
+      var encryptedRecord = (Map<String,Object>)encryptTransform.apply(
+          new SourceRecord(null,null,"some-kafka-topic",0,null,TestFixtures.TEST_OBJ_MAP_1)
+      ).value();
+      encryptTransform.close();
+
+      assertAll(
+          () -> assertNotSame(TestFixtures.TEST_OBJ_MAP_1, encryptedRecord),
+          () -> assertTrue(encryptedRecord.get("myString") instanceof byte[]),
+          () -> assertSame(TestFixtures.TEST_OBJ_MAP_1.get("mySubDoc1"), encryptedRecord.get("mySubDoc1")),
+          () -> assertSame(TestFixtures.TEST_OBJ_MAP_1.get("mySubDoc2"), encryptedRecord.get("mySubDoc2")),
+          () -> assertSame(TestFixtures.TEST_OBJ_MAP_1.get("myArray1"), encryptedRecord.get("myArray1"))
+      );
+
+      var decProps = new HashMap<String, Object>();
+      decProps.put(KryptoniteSettings.CIPHER_MODE, "DECRYPT");
+      decProps.put(KryptoniteSettings.FIELD_CONFIG,encProps.get(KryptoniteSettings.FIELD_CONFIG));
+      decProps.put(KryptoniteSettings.CIPHER_DATA_KEYS,TestFixtures.CIPHER_DATA_KEYS_CONFIG);
+      decProps.put(KryptoniteSettings.CIPHER_TEXT_ENCODING,CipherEncoding.RAW_BYTES.name());
+
+      var decryptTransform = new CipherField.Value<SinkRecord>();
+      decryptTransform.configure(decProps);
+      var decryptedRecord = (Map<String,Object>)decryptTransform.apply(
+          new SinkRecord("some-kafka-topic",0,null,null,null,encryptedRecord,0)
+      ).value();
+      decryptTransform.close();
+
+      assertAllResultingFieldsSchemalessRecord(TestFixtures.TEST_OBJ_MAP_1,decryptedRecord);
+    }
+
+    @ParameterizedTest
+    @MethodSource("com.github.hpgrahsl.kafka.connect.transforms.kryptonite.CipherFieldSmtFunctionalTest#generateValidParamsRawBytesEncoding")
+    @DisplayName("apply SMT with blind indexes emitted next to or instead of ciphertexts for schemaful and schemaless records")
+    @SuppressWarnings("unchecked")
+    void encryptDecryptRecordBlindIndexTest(CipherSpec cipherSpec, String keyId, String cipherTextVersion) {
+      var encProps = new HashMap<String, Object>();
+      encProps.put(KryptoniteSettings.CIPHER_MODE, "ENCRYPT");
+      encProps.put(KryptoniteSettings.FIELD_CONFIG,
+          "["
+              + "    {\"name\":\"myString\",\"blindIndex\":\"COMPANION\"},"
+              + "    {\"name\":\"myInt32\",\"blindIndex\":\"ONLY\"}"
+              + "]"
+      );
+      encProps.put(KryptoniteSettings.CIPHER_ALGORITHM,cipherSpec.getName());
+      encProps.put(KryptoniteSettings.CIPHER_DATA_KEYS,TestFixtures.CIPHER_DATA_KEYS_CONFIG);
+      encProps.put(KryptoniteSettings.CIPHER_DATA_KEY_IDENTIFIER,keyId);
+      encProps.put(KryptoniteSettings.CIPHER_TEXT_VERSION,cipherTextVersion);
+      encProps.put(KryptoniteSettings.BLIND_INDEX_KEY_IDENTIFIER,"keyH");
+
+      var encryptTransform = new CipherField.Value<SourceRecord>();
+      encryptTransform.configure(encProps);
+      var encryptedStruct = (Struct)encryptTransform.apply(
+          new SourceRecord(null,null,"some-kafka-topic",0,TestFixtures.TEST_OBJ_SCHEMA_1,TestFixtures.TEST_OBJ_STRUCT_1)
+      ).value();
+      var encryptedMap = (Map<String,Object>)encryptTransform.apply(
+          new SourceRecord(null,null,"some-kafka-topic",0,null,TestFixtures.TEST_OBJ_MAP_1)
+      ).value();
+      encryptTransform.close();
+
+      assertAll(
+          () -> assertEquals(Schema.STRING_SCHEMA, encryptedStruct.schema().field("myString_bidx").schema()),
+          () -> assertEquals(Schema.STRING_SCHEMA, encryptedStruct.schema().field("myInt32").schema()),
+          () -> assertEquals(24, encryptedStruct.getString("myString_bidx").length()),
+          () -> assertEquals(encryptedStruct.get("myString_bidx"), encryptedMap.get("myString_bidx")),
+          () -> assertEquals(encryptedStruct.get("myInt32"), encryptedMap.get("myInt32")),
+          () -> assertNotEquals(encryptedStruct.get("myString"), encryptedStruct.get("myString_bidx")),
+          () -> assertNotEquals(TestFixtures.TEST_OBJ_MAP_1.get("myString"), encryptedMap.get("myString"))
+      );
+
+      var decProps = new HashMap<String, Object>();
+      decProps.put(KryptoniteSettings.CIPHER_MODE, "DECRYPT");
+      decProps.put(KryptoniteSettings.FIELD_CONFIG,
+          "["
+              + "    {\"name\":\"myString\",\"schema\": {\"type\": \"STRING\"},\"blindIndex\":\"COMPANION\"},"
+              + "    {\"name\":\"myInt32\",\"blindIndex\":\"ONLY\"}"
+              + "]"
+      );
+      decProps.put(KryptoniteSettings.CIPHER_DATA_KEYS,TestFixtures.CIPHER_DATA_KEYS_CONFIG);
+
+      var decryptTransform = new CipherField.Value<SinkRecord>();
+      decryptTransform.configure(decProps);
+      var decryptedStruct = (Struct)decryptTransform.apply(
+          new SinkRecord("some-kafka-topic",0,null,null,encryptedStruct.schema(),encryptedStruct,0)
+      ).value();
+      var decryptedMap = (Map<String,Object>)decryptTransform.apply(
+          new SinkRecord("some-kafka-topic",0,null,null,null,encryptedMap,0)
+      ).value();
+      decryptTransform.close();
+
+      assertAll(
+          () -> assertEquals(TestFixtures.TEST_OBJ_STRUCT_1.get("myString"), decryptedStruct.get("myString")),
+          () -> assertEquals(TestFixtures.TEST_OBJ_MAP_1.get("myString"), decryptedMap.get("myString")),
+          () -> assertEquals(encryptedStruct.get("myString_bidx"), decryptedStruct.get("myString_bidx")),
+          () -> assertEquals(encryptedStruct.get("myInt32"), decryptedStruct.get("myInt32")),
+          () -> assertEquals(encryptedMap.get("myInt32"), decryptedMap.get("myInt32"))
+      );
+    }
+
+    @Test
+    @DisplayName("apply SMT with blind indexes which are equal for all serde types and match those of the other modules")
+    @SuppressWarnings("unchecked")
+    void blindIndexSerdeTypeIndependenceTest() {
+      var blindIndexes = new HashMap<SerdeType, Map<String,Object>>();
+      for (var serdeType : SerdeType.values()) {
+        var encProps = new HashMap<String, Object>();
+        encProps.put(KryptoniteSettings.CIPHER_MODE, "ENCRYPT");
+        encProps.put(KryptoniteSettings.FIELD_CONFIG,
+            "["
+                + "    {\"name\":\"myString\",\"blindIndex\":\"ONLY\"},"
+                + "    {\"name\":\"myInt32\",\"blindIndex\":\"ONLY\"}"
+                + "]"
+        );
+        encProps.put(KryptoniteSettings.CIPHER_DATA_KEYS,TestFixtures.CIPHER_DATA_KEYS_CONFIG);
+        encProps.put(KryptoniteSettings.CIPHER_DATA_KEY_IDENTIFIER,"keyA");
+        encProps.put(KryptoniteSettings.BLIND_INDEX_KEY_IDENTIFIER,"keyH");
+        encProps.put(KryptoniteSettings.SERDE_TYPE,serdeType.name());
+
+        var encryptTransform = new CipherField.Value<SourceRecord>();
+        encryptTransform.configure(encProps);
+        blindIndexes.put(serdeType, (Map<String,Object>)encryptTransform.apply(
+            new SourceRecord(null,null,"some-kafka-topic",0,null,Map.of("myString","alice","myInt32",42))
+        ).value());
+        encryptTransform.close();
+      }
+
+      assertAll(
+          () -> assertEquals(blindIndexes.get(SerdeType.KRYO), blindIndexes.get(SerdeType.TAGGED)),
+          () -> assertEquals(TestFixtures.BLIND_INDEX_KEYH_ALICE, blindIndexes.get(SerdeType.KRYO).get("myString")),
+          () -> assertEquals(TestFixtures.BLIND_INDEX_KEYH_42, blindIndexes.get(SerdeType.KRYO).get("myInt32"))
+      );
+    }
+
+    @Test
+    @DisplayName("configure SMT with struct schema fingerprints only if every field encrypted as a whole declares its schema")
+    void structSchemaFingerprintRequiresDeclaredSchemasTest() {
+      var props = new HashMap<String, Object>();
+      props.put(KryptoniteSettings.CIPHER_MODE, "ENCRYPT");
+      props.put(KryptoniteSettings.CIPHER_DATA_KEYS,TestFixtures.CIPHER_DATA_KEYS_CONFIG);
+      props.put(KryptoniteSettings.CIPHER_DATA_KEY_IDENTIFIER,"keyA");
+      props.put(KryptoniteSettings.FIELD_MODE,FieldMode.ELEMENT.name());
+      props.put(KryptoniteSettings.STRUCT_SCHEMA_MODE,StructSchemaMode.FINGERPRINT.name());
+      props.put(KryptoniteSettings.FIELD_CONFIG,
+          "["
+              + "    {\"name\":\"myString\"},"
+              + "    {\"name\":\"mySubDoc2\",\"fieldMode\":\"OBJECT\"}"
+              + "]"
+      );
+      assertThrows(ConfigException.class, () -> new CipherField.Value<SourceRecord>().configure(props));
+
+      props.put(KryptoniteSettings.FIELD_CONFIG,
+          "["
+              + "    {\"name\":\"myString\"},"
+              + "    {\"name\":\"mySubDoc2\",\"fieldMode\":\"OBJECT\",\"schema\": { \"type\": \"MAP\", \"keySchema\": { \"type\": \"STRING\" }, \"valueSchema\": { \"type\": \"INT32\"}}}"
+              + "]"
+      );
+      var encryptTransform = new CipherField.Value<SourceRecord>();
+      encryptTransform.configure(props);
+      encryptTransform.close();
+    }
+
+    @ParameterizedTest
+    @MethodSource("com.github.hpgrahsl.kafka.connect.transforms.kryptonite.CipherFieldSmtFunctionalTest#generateValidParamsRawBytesEncoding")
+    @DisplayName("apply SMT decrypt(encrypt(plaintext)) = plaintext with payload meta-data detached into a record header")
+    @SuppressWarnings("unchecked")
+    void encryptDecryptRecordPayloadMetaDataHeaderTest(CipherSpec cipherSpec, String keyId, String cipherTextVersion) {
+      var encProps = new HashMap<String, Object>();
+      encProps.put(KryptoniteSettings.CIPHER_MODE, "ENCRYPT");
+      encProps.put(KryptoniteSettings.FIELD_CONFIG,
+          "["
+              + "    {\"name\":\"myString\"},"
+              + "    {\"name\":\"myInt32\"},"
+              + "    {\"name\":\"mySubDoc2\",\"fieldMode\":\"OBJECT\"},"
+              + "    {\"name\":\"myArray1\"}"
+              + "]"
+      );
+      encProps.put(KryptoniteSettings.CIPHER_ALGORITHM,cipherSpec.getName());
+      encProps.put(KryptoniteSettings.CIPHER_DATA_KEYS,TestFixtures.CIPHER_DATA_KEYS_CONFIG);
+      encProps.put(KryptoniteSettings.CIPHER_DATA_KEY_IDENTIFIER,keyId);
+      encProps.put(KryptoniteSettings.CIPHER_TEXT_ENCODING,CipherEncoding.RAW_BYTES.name());
+      encProps.put(KryptoniteSettings.CIPHER_TEXT_VERSION,cipherTextVersion);
+      encProps.put(KryptoniteSettings.FIELD_MODE,FieldMode.ELEMENT.name());
+      encProps.put(KryptoniteSettings.PAYLOAD_METADATA_MODE,PayloadMetaDataMode.HEADER.name());
+
+      var encryptTransform = new CipherField.Value<SourceRecord>();
+      encryptTransform.configure(encProps);
+      var encryptedStructRecord = encryptTransform.apply(
+          new SourceRecord(null,null,"some-kafka-topic",0,TestFixtures.TEST_OBJ_SCHEMA_1,TestFixtures.TEST_OBJ_STRUCT_1)
+      );
+      var encryptedMapRecord = encryptTransform.apply(
+          new SourceRecord(null,null,"some-kafka-topic",0,null,TestFixtures.TEST_OBJ_MAP_1)
+      );
+      encryptTransform.close();
+
+      var header = encryptedStructRecord.headers().lastWithName(KryptoniteSettings.PAYLOAD_METADATA_HEADER_DEFAULT);
+      var embeddedLength = EncryptedFieldCodec.encode(EncryptedFieldCodec.decodeDetached(
+          (byte[])((Struct)encryptedStructRecord.value()).get("myString"),
+          EncryptedFieldCodec.decodeMetaData((String)header.value()))).length;
+      assertAll(
+          () -> assertEquals(cipherTextVersion + ":" + Kryptonite.CIPHERSPEC_ID_LUT.get(cipherSpec) + ":" + keyId, header.value()),
+          () -> assertEquals(1, encryptedMapRecord.headers().size()),
+          () -> assertTrue(((byte[])((Struct)encryptedStructRecord.value()).get("myString")).length < embeddedLength)
+      );
+
+      var decProps = new HashMap<String, Object>();
+      decProps.put(KryptoniteSettings.CIPHER_MODE, "DECRYPT");
+      decProps.put(KryptoniteSettings.FIELD_CONFIG,
+          "["
+              + "    {\"name\":\"myString\",\"schema\": {\"type\": \"STRING\"}},"
+              + "    {\"name\":\"myInt32\",\"schema\": {\"type\": \"INT32\"}},"
+              + "    {\"name\":\"mySubDoc2\",\"fieldMode\":\"OBJECT\",\"schema\": { \"type\": \"MAP\", \"keySchema\": { \"type\": \"STRING\" }, \"valueSchema\": { \"type\": \"INT32\"}}},"
+              + "    {\"name\":\"myArray1\",\"schema\": {\"type\": \"ARRAY\",\"valueSchema\": {\"type\": \"STRING\"}}}"
+              + "]"
+      );
+      decProps.put(KryptoniteSettings.CIPHER_DATA_KEYS,TestFixtures.CIPHER_DATA_KEYS_CONFIG);
+      decProps.put(KryptoniteSettings.CIPHER_TEXT_ENCODING,CipherEncoding.RAW_BYTES.name());
+      decProps.put(KryptoniteSettings.FIELD_MODE,FieldMode.ELEMENT.name());
+      decProps.put(KryptoniteSettings.PAYLOAD_METADATA_MODE,PayloadMetaDataMode.HEADER.name());
+
+      var decryptTransform = new CipherField.Value<SinkRecord>();
+      decryptTransform.configure(decProps);
+      var decryptedStructRecord = decryptTransform.apply(
+          new SinkRecord("some-kafka-topic",0,null,null,encryptedStructRecord.valueSchema(),encryptedStructRecord.value(),0,
+              null,TimestampType.NO_TIMESTAMP_TYPE,encryptedStructRecord.headers())
+      );
+      var decryptedMapRecord = decryptTransform.apply(
+          new SinkRecord("some-kafka-topic",0,null,null,null,encryptedMapRecord.value(),0,
+              null,TimestampType.NO_TIMESTAMP_TYPE,encryptedMapRecord.headers())
+      );
+      decryptTransform.close();
+
+      assertAll(
+          () -> assertEquals(0, decryptedStructRecord.headers().size()),
+          () -> assertEquals(0, decryptedMapRecord.headers().size())
+      );
+      assertAllResultingFieldsSchemafulRecord(TestFixtures.TEST_OBJ_STRUCT_1,(Struct)decryptedStructRecord.value());
+      assertAllResultingFieldsSchemalessRecord(TestFixtures.TEST_OBJ_MAP_1,(Map<String,Object>)decryptedMapRecord.value());
+    }
+
+    @ParameterizedTest
+    @MethodSource("com.github.hpgrahsl.kafka.connect.transforms.kryptonite.CipherFieldSmtFunctionalTest#generateValidParamsRawBytesEncoding")
+    @DisplayName("apply converter toConnectData(fromConnectData(plaintext)) = plaintext for schemaless record")
+    @SuppressWarnings("unchecked")
+    void encryptDecryptSchemalessRecordConverterTest(CipherSpec cipherSpec, String keyId, String cipherTextVersion) {
+      var props = new HashMap<String, Object>();
+      props.put(CipherFieldConverter.INNER_CONVERTER, JsonConverter.class.getName());
+      props.put("schemas.enable", false);
+      props.put(KryptoniteSettings.FIELD_CONFIG,
+          "["
+              + "    {\"name\":\"id\"},"
+              + "    {\"name\":\"myString\"},"
+              + "    {\"name\":\"myInt32\"},"
+              + "    {\"name\":\"myInt64\"},"
+              + "    {\"name\":\"myBoolean\"},"
+              + "    {\"name\":\"mySubDoc1\"},"
+              + "    {\"name\":\"myArray1\"},"
+              + "    {\"name\":\"mySubDoc2\"},"
+              + "    {\"name\":\"myBytes\"}"
+              + "]"
+      );
+      props.put(KryptoniteSettings.CIPHER_ALGORITHM,cipherSpec.getName());
+      props.put(KryptoniteSettings.CIPHER_DATA_KEYS,TestFixtures.CIPHER_DATA_KEYS_CONFIG);
+      props.put(KryptoniteSettings.CIPHER_DATA_KEY_IDENTIFIER,keyId);
+      props.put(KryptoniteSettings.CIPHER_TEXT_VERSION,cipherTextVersion);
+      props.put(KryptoniteSettings.FIELD_MODE,FieldMode.OBJECT.name());
+
+      try (var converter = new CipherFieldConverter()) {
+        converter.configure(props,false);
+        var serialized = converter.fromConnectData("some-kafka-topic",null,TestFixtures.TEST_OBJ_MAP_1);
+
+        var plainConverter = new JsonConverter();
+        plainConverter.configure(Map.of("schemas.enable",false),false);
+        var encryptedRecord = (Map<String,Object>)plainConverter.toConnectData("some-kafka-topic",serialized).value();
+        assertAll(
+            encryptedRecord.values().stream().map(v -> () -> assertEquals(String.class, v.getClass()))
+        );
+
+        var decryptedRecord = (Map<String,Object>)converter.toConnectData("some-kafka-topic",serialized).value();
+        assertAllResultingFieldsSchemalessRecord(TestFixtures.TEST_OBJ_MAP_1,decryptedRecord);
+      }
+    }
   }
   
 
@@ -305,6 +743,14 @@ var encProps = new HashMap<String, Object>();
     );
   }
 
+  static List<Arguments> generateValidParamsRawBytesEncoding() {
+    return List.of(
+      Arguments.of(CipherSpec.fromName(TinkAesGcm.CIPHER_ALGORITHM),"keyA","k1"),
+      Arguments.of(CipherSpec.fromName(TinkAesGcmSiv.CIPHER_ALGORITHM),"key9","k2"),
+      Arguments.of(CipherSpec.fromName(TinkAesGcmHkdfStreaming.CIPHER_ALGORITHM),"keyS","k2")
+    );
+  }
+
   static List<Arguments> generateValidParamsWithoutCloudKms() {
     return List.of(
       Arguments.of(
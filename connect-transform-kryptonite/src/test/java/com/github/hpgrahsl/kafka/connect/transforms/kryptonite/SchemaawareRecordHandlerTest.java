@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2021. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kafka.connect.transforms.kryptonite;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.hpgrahsl.kafka.connect.transforms.kryptonite.ProcessingPlan.Action;
+import com.github.hpgrahsl.kryptonite.CipherMode;
+import com.github.hpgrahsl.kryptonite.Kryptonite;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.CipherEncoding;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.FieldMode;
+import com.github.hpgrahsl.kryptonite.records.FieldConfig;
+import com.github.hpgrahsl.kryptonite.serdes.KryoSerdeProcessor;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.transforms.util.SimpleConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SchemaawareRecordHandlerTest {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private static final String ENCRYPT_FIELD_CONFIG = "["
+      + "    {\"name\":\"myString\",\"blindIndex\":\"COMPANION\"},"
+      + "    {\"name\":\"myInt32\",\"blindIndex\":\"ONLY\"},"
+      + "    {\"name\":\"myArray1\"},"
+      + "    {\"name\":\"mySubDoc2\"}"
+      + "]";
+
+  private static final String DECRYPT_FIELD_CONFIG = "["
+      + "    {\"name\":\"myString\",\"schema\": {\"type\": \"STRING\"},\"blindIndex\":\"COMPANION\"},"
+      + "    {\"name\":\"myInt32\",\"blindIndex\":\"ONLY\"},"
+      + "    {\"name\":\"myArray1\",\"schema\": {\"type\": \"ARRAY\",\"valueSchema\": {\"type\": \"STRING\"}}},"
+      + "    {\"name\":\"mySubDoc2\",\"schema\": { \"type\": \"MAP\", \"keySchema\": { \"type\": \"STRING\" }, \"valueSchema\": { \"type\": \"INT32\"}}}"
+      + "]";
+
+  @Test
+  @DisplayName("compile processing plan once and reuse it for all records sharing a schema")
+  void planReuseAcrossRecordsTest() throws IOException {
+    var handler = createHandler(CipherMode.ENCRYPT, ENCRYPT_FIELD_CONFIG);
+    var schemaNew = adaptSchema(CipherMode.ENCRYPT, ENCRYPT_FIELD_CONFIG, TestFixtures.TEST_OBJ_SCHEMA_1);
+    var otherStruct = new Struct(TestFixtures.TEST_OBJ_SCHEMA_1);
+    TestFixtures.TEST_OBJ_SCHEMA_1.fields().forEach(f -> otherStruct.put(f, TestFixtures.TEST_OBJ_STRUCT_1.get(f)));
+    otherStruct.put("myString", "some other text");
+
+    handler.matchFields(TestFixtures.TEST_OBJ_SCHEMA_1, TestFixtures.TEST_OBJ_STRUCT_1,
+        schemaNew, new Struct(schemaNew), "");
+    var plan = handler.getPlanCache().get(TestFixtures.TEST_OBJ_SCHEMA_1);
+    handler.matchFields(TestFixtures.TEST_OBJ_SCHEMA_1, otherStruct, schemaNew, new Struct(schemaNew), "");
+
+    assertAll(
+        () -> assertEquals(1, handler.getPlanCache().size()),
+        () -> assertSame(plan, handler.planFor(TestFixtures.TEST_OBJ_SCHEMA_1, schemaNew, "")),
+        () -> assertSame(plan, handler.planFor(TestFixtures.TEST_OBJ_SCHEMA_1, schema -> {
+          throw new AssertionError("schema must not be adapted again for a cached plan");
+        }))
+    );
+  }
+
+  @Test
+  @DisplayName("recompile processing plan in case the cached one targets a different schema")
+  void planRecompiledForDifferentTargetSchemaTest() throws IOException {
+    var handler = createHandler(CipherMode.ENCRYPT, ENCRYPT_FIELD_CONFIG);
+    var schemaNew = adaptSchema(CipherMode.ENCRYPT, ENCRYPT_FIELD_CONFIG, TestFixtures.TEST_OBJ_SCHEMA_1);
+    var plan = handler.planFor(TestFixtures.TEST_OBJ_SCHEMA_1, schemaNew, "");
+    var otherSchemaNew = SchemaBuilder.struct().name("other").build();
+
+    assertNotSame(plan, handler.planFor(TestFixtures.TEST_OBJ_SCHEMA_1, otherSchemaNew, ""));
+  }
+
+  @Test
+  @DisplayName("compile BLIND_INDEX, PROCESS_LIST and PROCESS_MAP steps for matched fields in ELEMENT mode")
+  void compiledStepActionsTest() throws IOException {
+    var handler = createHandler(CipherMode.ENCRYPT, ENCRYPT_FIELD_CONFIG);
+    var plan = handler.planFor(TestFixtures.TEST_OBJ_SCHEMA_1,
+        schema -> adaptSchema(CipherMode.ENCRYPT, ENCRYPT_FIELD_CONFIG, schema));
+    var actions = Arrays.stream(plan.getSteps())
+        .collect(Collectors.groupingBy(ProcessingPlan.Step::getPath,
+            Collectors.mapping(ProcessingPlan.Step::getAction, Collectors.toList())));
+
+    assertAll(
+        () -> assertEquals(List.of(Action.PROCESS, Action.BLIND_INDEX), actions.get("myString")),
+        () -> assertEquals(List.of(Action.BLIND_INDEX), actions.get("myInt32")),
+        () -> assertEquals(List.of(Action.PROCESS_LIST), actions.get("myArray1")),
+        () -> assertEquals(List.of(Action.PROCESS_MAP), actions.get("mySubDoc2")),
+        () -> assertEquals(List.of(Action.COPY), actions.get("mySubDoc1")),
+        () -> assertEquals(5, plan.getNumProcessingSteps())
+    );
+  }
+
+  @Test
+  @DisplayName("apply cached plan with BLIND_INDEX, PROCESS_LIST and PROCESS_MAP steps for decrypt(encrypt(plaintext)) = plaintext")
+  void encryptDecryptWithCachedPlanTest() throws IOException {
+    var encryptor = createHandler(CipherMode.ENCRYPT, ENCRYPT_FIELD_CONFIG);
+    var decryptor = createHandler(CipherMode.DECRYPT, DECRYPT_FIELD_CONFIG);
+    var encryptedSchema = adaptSchema(CipherMode.ENCRYPT, ENCRYPT_FIELD_CONFIG, TestFixtures.TEST_OBJ_SCHEMA_1);
+    var decryptedSchema = adaptSchema(CipherMode.DECRYPT, DECRYPT_FIELD_CONFIG, encryptedSchema);
+
+    var encrypted1 = (Struct)encryptor.matchFields(TestFixtures.TEST_OBJ_SCHEMA_1, TestFixtures.TEST_OBJ_STRUCT_1,
+        encryptedSchema, new Struct(encryptedSchema), "");
+    var encrypted2 = (Struct)encryptor.matchFields(TestFixtures.TEST_OBJ_SCHEMA_1, TestFixtures.TEST_OBJ_STRUCT_1,
+        encryptedSchema, new Struct(encryptedSchema), "");
+    var decrypted = (Struct)decryptor.matchFields(encryptedSchema, encrypted1,
+        decryptedSchema, new Struct(decryptedSchema), "");
+
+    assertAll(
+        () -> assertEquals(1, encryptor.getPlanCache().size()),
+        () -> assertEquals(encrypted1.get("myString_bidx"), encrypted2.get("myString_bidx")),
+        () -> assertEquals(encrypted1.get("myInt32"), encrypted2.get("myInt32")),
+        () -> assertNotEquals(TestFixtures.TEST_OBJ_STRUCT_1.get("myString"), encrypted1.get("myString")),
+        () -> assertEquals(4, ((List<?>)encrypted1.get("myArray1")).size()),
+        () -> assertEquals(3, ((Map<?,?>)encrypted1.get("mySubDoc2")).size()),
+        () -> assertEquals(TestFixtures.TEST_OBJ_STRUCT_1.get("myString"), decrypted.get("myString")),
+        () -> assertEquals(TestFixtures.TEST_OBJ_STRUCT_1.get("myArray1"), decrypted.get("myArray1")),
+        () -> assertEquals(TestFixtures.TEST_OBJ_STRUCT_1.get("mySubDoc2"), decrypted.get("mySubDoc2")),
+        () -> assertEquals(encrypted1.get("myInt32"), decrypted.get("myInt32"))
+    );
+  }
+
+  private static SchemaawareRecordHandler createHandler(CipherMode cipherMode, String fieldConfig) throws IOException {
+    var props = new HashMap<String, Object>();
+    props.put(KryptoniteSettings.CIPHER_MODE, cipherMode.name());
+    props.put(KryptoniteSettings.FIELD_CONFIG, fieldConfig);
+    props.put(KryptoniteSettings.CIPHER_DATA_KEYS, TestFixtures.CIPHER_DATA_KEYS_CONFIG);
+    props.put(KryptoniteSettings.CIPHER_DATA_KEY_IDENTIFIER, "keyA");
+    props.put(KryptoniteSettings.BLIND_INDEX_KEY_IDENTIFIER, "keyH");
+    var config = new SimpleConfig(CipherField.CONFIG_DEF, props);
+    return new SchemaawareRecordHandler(config, new KryoSerdeProcessor(),
+        Kryptonite.createFromConfig(CipherField.adaptToNormalizedStringsMap(config)), cipherMode,
+        parseFieldConfig(fieldConfig));
+  }
+
+  private static Schema adaptSchema(CipherMode cipherMode, String fieldConfig, Schema schema) {
+    try {
+      return new SchemaRewriter(parseFieldConfig(fieldConfig), FieldMode.ELEMENT, cipherMode,
+          KryptoniteSettings.PATH_DELIMITER_DEFAULT, CipherEncoding.BASE64,
+          new SchemaRewriter.DefaultTypeSchemaMapper(), KryptoniteSettings.BLIND_INDEX_FIELD_SUFFIX_DEFAULT)
+          .adaptSchema(schema, "");
+    } catch (IOException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  private static Map<String, FieldConfig> parseFieldConfig(String fieldConfig) throws IOException {
+    return OBJECT_MAPPER.readValue(fieldConfig, new TypeReference<Set<FieldConfig>>() {})
+        .stream().collect(Collectors.toMap(FieldConfig::getName, Function.identity()));
+  }
+
+}
@@ -16,28 +16,32 @@
 
 package com.github.hpgrahsl.flink.functions.kryptonite;
 
-import java.io.ByteArrayOutputStream;
 import java.util.Base64;
 import java.util.Map;
 
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.table.functions.FunctionContext;
 import org.apache.flink.table.functions.ScalarFunction;
-import com.esotericsoftware.kryo.io.Input;
-import com.esotericsoftware.kryo.io.Output;
 import com.github.hpgrahsl.kryptonite.EncryptedField;
 import com.github.hpgrahsl.kryptonite.FieldMetaData;
 import com.github.hpgrahsl.kryptonite.Kryptonite;
 import com.github.hpgrahsl.kryptonite.KryptoniteException;
 import com.github.hpgrahsl.kryptonite.PayloadMetaData;
-import com.github.hpgrahsl.kryptonite.serdes.KryoInstance;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.SerdeType;
+import com.github.hpgrahsl.kryptonite.metrics.KryptoniteMetrics;
+import com.github.hpgrahsl.kryptonite.serdes.EncryptedFieldCodec;
 import com.github.hpgrahsl.kryptonite.serdes.KryoSerdeProcessor;
 import com.github.hpgrahsl.kryptonite.serdes.SerdeProcessor;
+import com.github.hpgrahsl.kryptonite.serdes.TaggedSerdeProcessor;
 
 public abstract class AbstractCipherFieldUdf extends ScalarFunction {
 
     private transient Kryptonite kryptonite;
     private transient SerdeProcessor serdeProcessor;
     private transient Map<String,String> udfConfiguration;
+    private transient String cipherTextVersion;
 
     @Override
     public boolean isDeterministic() {
@@ -49,19 +53,30 @@ public abstract class AbstractCipherFieldUdf extends ScalarFunction {
         try {
             udfConfiguration = UdfConfiguration.load(context);
             kryptonite = Kryptonite.createFromConfig(udfConfiguration);
-            serdeProcessor = new KryoSerdeProcessor();
+            var serdeType = SerdeType.valueOf(udfConfiguration.getOrDefault(
+                KryptoniteSettings.SERDE_TYPE, KryptoniteSettings.SERDE_TYPE_DEFAULT));
+            serdeProcessor = serdeType == SerdeType.TAGGED ? new TaggedSerdeProcessor() : new KryoSerdeProcessor();
+            cipherTextVersion = udfConfiguration.getOrDefault(
+                KryptoniteSettings.CIPHER_TEXT_VERSION, KryptoniteSettings.CIPHER_TEXT_VERSION_DEFAULT);
+            if (kryptonite.getMetrics().isEnabled()) {
+                registerMetrics(context.getMetricGroup().addGroup("kryptonite"), kryptonite.getMetrics());
+            }
         } catch (Exception e) {
             throw new KryptoniteException("failed to initialize the function with the given configuration "+udfConfiguration,e);
         }
     }
 
+    @Override
+    public void close() throws Exception {
+        if (kryptonite != null) {
+            kryptonite.close();
+        }
+    }
+
     String encryptData(Object data, FieldMetaData fieldMetaData) {
         try {
-            var valueBytes = serdeProcessor.objectToBytes(data);
-            var encryptedField = kryptonite.cipherField(valueBytes, PayloadMetaData.from(fieldMetaData));
-            var output = new Output(new ByteArrayOutputStream());
-            KryoInstance.get().writeObject(output, encryptedField);
-            var encodedField = Base64.getEncoder().encodeToString(output.toBytes());
+            var encryptedField = kryptonite.cipherField(data, serdeProcessor, PayloadMetaData.from(cipherTextVersion, fieldMetaData));
+            var encodedField = Base64.getEncoder().encodeToString(EncryptedFieldCodec.encode(encryptedField));
             return encodedField;
         } catch (Exception exc) {
             throw new KryptoniteException("failed to encrypt data",exc);
@@ -70,15 +85,76 @@ public abstract class AbstractCipherFieldUdf extends ScalarFunction {
 
     Object decryptData(String data) {
         try {
-            var encryptedField = KryoInstance.get().readObject(new Input(Base64.getDecoder().decode(data)), EncryptedField.class);
-            var plaintext = kryptonite.decipherField(encryptedField);
-            var restored = serdeProcessor.bytesToObject(plaintext);
+            var encryptedField = EncryptedFieldCodec.decode(Base64.getDecoder().decode(data));
+            var restored = kryptonite.decipherField(encryptedField, serdeProcessor);
+            return restored;
+        } catch (Exception exc) {
+            throw new KryptoniteException("failed to decrypt data",exc);
+        }
+    }
+
+    String[] encryptDataBatch(Object[] data, String cipherAlgorithm, String keyIdentifier) {
+        try {
+            var valueBytes = new byte[data.length][];
+            for (int i = 0; i < data.length; i++) {
+                valueBytes[i] = serdeProcessor.objectToBytes(data[i]);
+            }
+            var encryptedFields = kryptonite.cipherFields(valueBytes,
+                PayloadMetaData.from(cipherTextVersion, cipherAlgorithm, keyIdentifier));
+            var encodedFields = new String[data.length];
+            for (int i = 0; i < data.length; i++) {
+                encodedFields[i] = Base64.getEncoder().encodeToString(EncryptedFieldCodec.encode(encryptedFields[i]));
+            }
+            return encodedFields;
+        } catch (Exception exc) {
+            throw new KryptoniteException("failed to encrypt data",exc);
+        }
+    }
+
+    Object[] decryptDataBatch(String[] data) {
+        try {
+            var encryptedFields = new EncryptedField[data.length];
+            for (int i = 0; i < data.length; i++) {
+                encryptedFields[i] = EncryptedFieldCodec.decode(Base64.getDecoder().decode(data[i]));
+            }
+            var plaintexts = kryptonite.decipherFields(encryptedFields);
+            var restored = new Object[data.length];
+            for (int i = 0; i < data.length; i++) {
+                restored[i] = serdeProcessor.bytesToObject(plaintexts[i]);
+            }
             return restored;
         } catch (Exception exc) {
             throw new KryptoniteException("failed to decrypt data",exc);
         }
     }
 
+    String blindIndexData(Object data, String keyIdentifier, int blindIndexLength) {
+        try {
+            var index = kryptonite.blindIndexValue(data, keyIdentifier, blindIndexLength);
+            return Base64.getEncoder().encodeToString(index);
+        } catch (Exception exc) {
+            throw new KryptoniteException("failed to compute blind index",exc);
+        }
+    }
+
+    //NOTE: gauges read the metrics which are recorded by kryptonite itself anyway
+    //hence they can be reported by any of flink's metric reporters without extra overhead
+    private static void registerMetrics(MetricGroup group, KryptoniteMetrics metrics) {
+        group.gauge("encryptions", (Gauge<Long>) metrics::getEncryptions);
+        group.gauge("decryptions", (Gauge<Long>) metrics::getDecryptions);
+        group.gauge("failures", (Gauge<Long>) metrics::getFailures);
+        group.gauge("bytesIn", (Gauge<Long>) metrics::getBytesIn);
+        group.gauge("bytesOut", (Gauge<Long>) metrics::getBytesOut);
+        group.gauge("encryptLatencyP50Nanos", (Gauge<Long>) () -> metrics.getEncryptLatency().getP50Nanos());
+        group.gauge("encryptLatencyP99Nanos", (Gauge<Long>) () -> metrics.getEncryptLatency().getP99Nanos());
+        group.gauge("decryptLatencyP50Nanos", (Gauge<Long>) () -> metrics.getDecryptLatency().getP50Nanos());
+        group.gauge("decryptLatencyP99Nanos", (Gauge<Long>) () -> metrics.getDecryptLatency().getP99Nanos());
+        group.gauge("keyCacheHits", (Gauge<Long>) metrics::getKeyCacheHits);
+        group.gauge("keyCacheMisses", (Gauge<Long>) metrics::getKeyCacheMisses);
+        group.gauge("kmsFetchLatencyP99Nanos", (Gauge<Long>) () -> metrics.getKmsFetchLatency().getP99Nanos());
+        group.gauge("kmsFetchFailures", (Gauge<Long>) metrics::getKmsFetchFailures);
+    }
+
     protected String getConfigurationSetting(String key) {
         return udfConfiguration.get(key);
     }
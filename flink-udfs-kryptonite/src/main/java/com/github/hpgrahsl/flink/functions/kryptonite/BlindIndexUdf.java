@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.flink.functions.kryptonite;
+
+import org.apache.flink.table.annotation.DataTypeHint;
+import org.apache.flink.table.annotation.InputGroup;
+import org.apache.flink.table.functions.FunctionContext;
+
+import com.github.hpgrahsl.kryptonite.KryptoniteException;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings;
+
+public class BlindIndexUdf extends AbstractCipherFieldUdf {
+
+    private transient String defaultBlindIndexKeyIdentifier;
+    private transient int blindIndexLength;
+
+    //NOTE: equal inputs always result in equal blind indexes which
+    //allows the planner to reuse results unlike for encryption
+    @Override
+    public boolean isDeterministic() {
+        return true;
+    }
+
+    @Override
+    public void open(FunctionContext context) throws Exception {
+        super.open(context);
+        var blindIndexKeyIdentifier = getConfigurationSetting(KryptoniteSettings.BLIND_INDEX_KEY_IDENTIFIER);
+        if (blindIndexKeyIdentifier == null || KryptoniteSettings.BLIND_INDEX_KEY_IDENTIFIER_DEFAULT.equals(blindIndexKeyIdentifier)) {
+            throw new KryptoniteException("missing required setting for "+ KryptoniteSettings.BLIND_INDEX_KEY_IDENTIFIER
+                + " which is neither defined by environment variables nor by job parameters");
+        }
+        defaultBlindIndexKeyIdentifier = blindIndexKeyIdentifier;
+        var blindIndexLengthSetting = getConfigurationSetting(KryptoniteSettings.BLIND_INDEX_LENGTH);
+        blindIndexLength = blindIndexLengthSetting != null
+            ? parseBlindIndexLength(blindIndexLengthSetting) : KryptoniteSettings.BLIND_INDEX_LENGTH_DEFAULT;
+    }
+
+    //NOTE: validated upfront like in the other modules since blind indexes of differing
+    //lengths never match and invalid lengths would otherwise only fail for every single call
+    private static int parseBlindIndexLength(String blindIndexLengthSetting) {
+        try {
+            var length = Integer.parseInt(blindIndexLengthSetting.trim());
+            if (length >= KryptoniteSettings.BLIND_INDEX_LENGTH_MIN && length <= KryptoniteSettings.BLIND_INDEX_LENGTH_MAX) {
+                return length;
+            }
+        } catch (NumberFormatException exc) {
+            //NOTE: reported as invalid setting below
+        }
+        throw new KryptoniteException("invalid setting for " + KryptoniteSettings.BLIND_INDEX_LENGTH
+            + " which must be an integer between " + KryptoniteSettings.BLIND_INDEX_LENGTH_MIN
+            + " and " + KryptoniteSettings.BLIND_INDEX_LENGTH_MAX + " but was '" + blindIndexLengthSetting + "'");
+    }
+
+    public String eval(@DataTypeHint(inputGroup = InputGroup.ANY) final Object data) {
+        return eval(data, defaultBlindIndexKeyIdentifier);
+    }
+
+    public String eval(@DataTypeHint(inputGroup = InputGroup.ANY) final Object data, String blindIndexKeyIdentifier) {
+        if (blindIndexKeyIdentifier == null) {
+            throw new IllegalArgumentException("error: blind index key identifier must not be null");
+        }
+        if (data == null) {
+            return null;
+        }
+        return blindIndexData(data, blindIndexKeyIdentifier, blindIndexLength);
+    }
+
+}
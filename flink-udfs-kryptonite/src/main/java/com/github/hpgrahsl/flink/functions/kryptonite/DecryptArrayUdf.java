@@ -34,8 +34,9 @@ public class DecryptArrayUdf extends AbstractCipherFieldUdf {
             return null;
         }
         var result = (T[]) Array.newInstance(typeCapture.getClass(), data.length);
+        var restored = decryptDataBatch(data);
         for (int s = 0; s < data.length; s++) {
-            result[s] = (T) decryptData(data[s]);
+            result[s] = (T) restored[s];
         }
         return result;
     }
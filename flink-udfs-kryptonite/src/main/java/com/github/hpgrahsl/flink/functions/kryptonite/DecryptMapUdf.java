@@ -16,8 +16,6 @@
 
 package com.github.hpgrahsl.flink.functions.kryptonite;
 
-import java.util.AbstractMap;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -37,9 +35,14 @@ public class DecryptMapUdf extends AbstractCipherFieldUdf {
         if(data == null || !(data instanceof Map)) {
             return null;
         }
-        return ((Map<?,String>)data).entrySet().stream()
-              .map(e -> new AbstractMap.SimpleEntry<>(e.getKey(),(V)decryptData(e.getValue())))
-              .collect(LinkedHashMap::new,(lhm, e) -> lhm.put(e.getKey(),e.getValue()), HashMap::putAll);
+        var map = (Map<?,String>)data;
+        var restored = decryptDataBatch(map.values().toArray(new String[0]));
+        var result = new LinkedHashMap<Object,V>();
+        var i = 0;
+        for (var key : map.keySet()) {
+            result.put(key, (V)restored[i++]);
+        }
+        return result;
     }
 
     @Override
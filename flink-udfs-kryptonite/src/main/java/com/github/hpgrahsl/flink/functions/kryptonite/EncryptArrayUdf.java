@@ -16,10 +16,7 @@
 
 package com.github.hpgrahsl.flink.functions.kryptonite;
 
-import java.util.Optional;
-
 import org.apache.flink.table.functions.FunctionContext;
-import com.github.hpgrahsl.kryptonite.FieldMetaData;
 import com.github.hpgrahsl.kryptonite.KryptoniteException;
 import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings;
 
@@ -70,15 +67,7 @@ public class EncryptArrayUdf extends AbstractCipherFieldUdf {
         if(array == null ) {
             return null;
         }
-        var dataEnc = new String[array.length];
-        for(int s = 0; s < array.length; s++) {
-            dataEnc[s] = encryptData(array[s],new FieldMetaData(
-                            KryptoniteSettings.CIPHER_ALGORITHM_DEFAULT,
-                            Optional.ofNullable(array[s]).map(o -> o.getClass().getName()).orElse(""),
-                            defaultCipherDataKeyIdentifier)
-                        );
-        }
-        return dataEnc;
+        return encryptDataBatch(array, KryptoniteSettings.CIPHER_ALGORITHM_DEFAULT, defaultCipherDataKeyIdentifier);
     }
 
 }
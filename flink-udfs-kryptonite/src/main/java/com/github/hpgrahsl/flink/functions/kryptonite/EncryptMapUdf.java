@@ -16,8 +16,6 @@
 
 package com.github.hpgrahsl.flink.functions.kryptonite;
 
-import java.util.AbstractMap;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -31,7 +29,6 @@ import org.apache.flink.table.types.KeyValueDataType;
 import org.apache.flink.table.types.inference.InputTypeStrategies;
 import org.apache.flink.table.types.inference.TypeInference;
 
-import com.github.hpgrahsl.kryptonite.FieldMetaData;
 import com.github.hpgrahsl.kryptonite.KryptoniteException;
 import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings;
 
@@ -54,16 +51,15 @@ public class EncryptMapUdf extends AbstractCipherFieldUdf {
         if (data == null || !(data instanceof Map)) {
             return null;
         }
-        return ((Map<?, ?>) data).entrySet().stream().map(
-                e -> new AbstractMap.SimpleEntry<>(
-                        e.getKey(),
-                        encryptData(
-                                e.getValue(),
-                                new FieldMetaData(
-                                        KryptoniteSettings.CIPHER_ALGORITHM_DEFAULT,
-                                        Optional.ofNullable(e.getValue()).map(o -> o.getClass().getName()).orElse(""),
-                                        defaultCipherDataKeyIdentifier))))
-                .collect(LinkedHashMap::new, (lhm, e) -> lhm.put(e.getKey(), e.getValue()), HashMap::putAll);
+        var map = (Map<?, ?>) data;
+        var encrypted = encryptDataBatch(map.values().toArray(),
+                KryptoniteSettings.CIPHER_ALGORITHM_DEFAULT, defaultCipherDataKeyIdentifier);
+        var result = new LinkedHashMap<Object, String>();
+        var i = 0;
+        for (var key : map.keySet()) {
+            result.put(key, encrypted[i++]);
+        }
+        return result;
     }
 
     @Override
@@ -55,6 +55,46 @@ public class UdfConfiguration {
                 KryptoniteSettings.CIPHER_ALGORITHM,
                 KryptoniteSettings.CIPHER_ALGORITHM_DEFAULT);
         configuration.putIfAbsent(KryptoniteSettings.CIPHER_ALGORITHM, cipherAlgorithm);
+
+        var cipherTextVersion = context.getJobParameter(
+                KryptoniteSettings.CIPHER_TEXT_VERSION,
+                KryptoniteSettings.CIPHER_TEXT_VERSION_DEFAULT);
+        configuration.putIfAbsent(KryptoniteSettings.CIPHER_TEXT_VERSION, cipherTextVersion);
+
+        var serdeType = context.getJobParameter(
+                KryptoniteSettings.SERDE_TYPE,
+                KryptoniteSettings.SERDE_TYPE_DEFAULT);
+        configuration.putIfAbsent(KryptoniteSettings.SERDE_TYPE, serdeType);
+
+        var blindIndexKeyIdentifier = context.getJobParameter(
+                KryptoniteSettings.BLIND_INDEX_KEY_IDENTIFIER,
+                KryptoniteSettings.BLIND_INDEX_KEY_IDENTIFIER_DEFAULT);
+        configuration.putIfAbsent(KryptoniteSettings.BLIND_INDEX_KEY_IDENTIFIER, blindIndexKeyIdentifier);
+
+        var blindIndexLength = context.getJobParameter(
+                KryptoniteSettings.BLIND_INDEX_LENGTH,
+                String.valueOf(KryptoniteSettings.BLIND_INDEX_LENGTH_DEFAULT));
+        configuration.putIfAbsent(KryptoniteSettings.BLIND_INDEX_LENGTH, blindIndexLength);
+
+        var compressionType = context.getJobParameter(
+                KryptoniteSettings.COMPRESSION_TYPE,
+                KryptoniteSettings.COMPRESSION_TYPE_DEFAULT);
+        configuration.putIfAbsent(KryptoniteSettings.COMPRESSION_TYPE, compressionType);
+
+        var compressionThreshold = context.getJobParameter(
+                KryptoniteSettings.COMPRESSION_THRESHOLD,
+                String.valueOf(KryptoniteSettings.COMPRESSION_THRESHOLD_DEFAULT));
+        configuration.putIfAbsent(KryptoniteSettings.COMPRESSION_THRESHOLD, compressionThreshold);
+
+        var metricsEnabled = context.getJobParameter(
+                KryptoniteSettings.METRICS_ENABLED,
+                String.valueOf(KryptoniteSettings.METRICS_ENABLED_DEFAULT));
+        configuration.putIfAbsent(KryptoniteSettings.METRICS_ENABLED, metricsEnabled);
+
+        var metricsName = context.getJobParameter(
+                KryptoniteSettings.METRICS_NAME,
+                KryptoniteSettings.METRICS_NAME_DEFAULT);
+        configuration.putIfAbsent(KryptoniteSettings.METRICS_NAME, metricsName);
         
         var keySource = context.getJobParameter(
             KryptoniteSettings.KEY_SOURCE,
@@ -70,6 +110,11 @@ public class UdfConfiguration {
             KryptoniteSettings.KMS_CONFIG,
             KryptoniteSettings.KMS_CONFIG_DEFAULT);
         configuration.putIfAbsent(KryptoniteSettings.KMS_CONFIG,kmsConfig);
+
+        var kmsRefreshIntervalMs = context.getJobParameter(
+            KryptoniteSettings.KMS_REFRESH_INTERVAL_MS,
+            KryptoniteSettings.KMS_REFRESH_INTERVAL_MS_DEFAULT);
+        configuration.putIfAbsent(KryptoniteSettings.KMS_REFRESH_INTERVAL_MS,kmsRefreshIntervalMs);
         
         var kekType = context.getJobParameter(
             KryptoniteSettings.KEK_TYPE,
@@ -114,6 +159,46 @@ public class UdfConfiguration {
             configuration.put(KryptoniteSettings.CIPHER_ALGORITHM, cipherAlgorithm);
         }
 
+        var cipherTextVersion = System.getenv(KryptoniteSettings.CIPHER_TEXT_VERSION);
+        if (cipherTextVersion != null) {
+            configuration.put(KryptoniteSettings.CIPHER_TEXT_VERSION, cipherTextVersion);
+        }
+
+        var serdeType = System.getenv(KryptoniteSettings.SERDE_TYPE);
+        if (serdeType != null) {
+            configuration.put(KryptoniteSettings.SERDE_TYPE, serdeType);
+        }
+
+        var blindIndexKeyIdentifier = System.getenv(KryptoniteSettings.BLIND_INDEX_KEY_IDENTIFIER);
+        if (blindIndexKeyIdentifier != null) {
+            configuration.put(KryptoniteSettings.BLIND_INDEX_KEY_IDENTIFIER, blindIndexKeyIdentifier);
+        }
+
+        var blindIndexLength = System.getenv(KryptoniteSettings.BLIND_INDEX_LENGTH);
+        if (blindIndexLength != null) {
+            configuration.put(KryptoniteSettings.BLIND_INDEX_LENGTH, blindIndexLength);
+        }
+
+        var compressionType = System.getenv(KryptoniteSettings.COMPRESSION_TYPE);
+        if (compressionType != null) {
+            configuration.put(KryptoniteSettings.COMPRESSION_TYPE, compressionType);
+        }
+
+        var compressionThreshold = System.getenv(KryptoniteSettings.COMPRESSION_THRESHOLD);
+        if (compressionThreshold != null) {
+            configuration.put(KryptoniteSettings.COMPRESSION_THRESHOLD, compressionThreshold);
+        }
+
+        var metricsEnabled = System.getenv(KryptoniteSettings.METRICS_ENABLED);
+        if (metricsEnabled != null) {
+            configuration.put(KryptoniteSettings.METRICS_ENABLED, metricsEnabled);
+        }
+
+        var metricsName = System.getenv(KryptoniteSettings.METRICS_NAME);
+        if (metricsName != null) {
+            configuration.put(KryptoniteSettings.METRICS_NAME, metricsName);
+        }
+
         var keySource = System.getenv(KryptoniteSettings.KEY_SOURCE);
         if (keySource != null) {
             configuration.put(KryptoniteSettings.KEY_SOURCE,keySource);
@@ -128,6 +213,11 @@ public class UdfConfiguration {
         if (kmsConfig != null) {
             configuration.put(KryptoniteSettings.KMS_CONFIG,kmsConfig);
         }
+
+        var kmsRefreshIntervalMs = System.getenv(KryptoniteSettings.KMS_REFRESH_INTERVAL_MS);
+        if (kmsRefreshIntervalMs != null) {
+            configuration.put(KryptoniteSettings.KMS_REFRESH_INTERVAL_MS,kmsRefreshIntervalMs);
+        }
         
         var kekType = System.getenv(KryptoniteSettings.KEK_TYPE);
         if (kekType != null) {
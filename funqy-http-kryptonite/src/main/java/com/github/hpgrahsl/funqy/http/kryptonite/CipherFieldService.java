@@ -16,47 +16,49 @@
 
 package com.github.hpgrahsl.funqy.http.kryptonite;
 
-import java.io.ByteArrayOutputStream;
 import java.util.Base64;
 import java.util.Map;
 import java.util.Optional;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 
-import com.esotericsoftware.kryo.io.Input;
-import com.esotericsoftware.kryo.io.Output;
 import com.github.hpgrahsl.kryptonite.CipherMode;
-import com.github.hpgrahsl.kryptonite.EncryptedField;
 import com.github.hpgrahsl.kryptonite.FieldMetaData;
 import com.github.hpgrahsl.kryptonite.Kryptonite;
 import com.github.hpgrahsl.kryptonite.KryptoniteException;
 import com.github.hpgrahsl.kryptonite.PayloadMetaData;
-import com.github.hpgrahsl.kryptonite.serdes.KryoInstance;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.SerdeType;
+import com.github.hpgrahsl.kryptonite.serdes.EncryptedFieldCodec;
 import com.github.hpgrahsl.kryptonite.serdes.KryoSerdeProcessor;
 import com.github.hpgrahsl.kryptonite.serdes.SerdeProcessor;
+import com.github.hpgrahsl.kryptonite.serdes.TaggedSerdeProcessor;
 
 @ApplicationScoped
 public class CipherFieldService {
 
     KryptoniteConfiguration config;
     Kryptonite kryptonite;
-    SerdeProcessor serdeProcessor = new KryoSerdeProcessor();
+    SerdeProcessor serdeProcessor;
     
     public CipherFieldService(KryptoniteConfiguration config) {
         this.config = config;
+        this.serdeProcessor = config.serdeType == SerdeType.TAGGED ? new TaggedSerdeProcessor() : new KryoSerdeProcessor();
         this.kryptonite = Kryptonite.createFromConfig(config.adaptToNormalizedStringsMap());
     }
 
+    @PreDestroy
+    void close() {
+        kryptonite.close();
+    }
+
     public KryptoniteConfiguration getKryptoniteConfiguration() {
         return config;
     }
     
     public String encryptData(Object data) {
         try {
-            var valueBytes = serdeProcessor.objectToBytes(data);
-            var encryptedField = kryptonite.cipherField(valueBytes, PayloadMetaData.from(createFieldMetaData(config.cipherAlgorithm, config.cipherDataKeyIdentifier, data)));
-            var output = new Output(new ByteArrayOutputStream());
-            KryoInstance.get().writeObject(output, encryptedField);
-            var encodedField = Base64.getEncoder().encodeToString(output.toBytes());
+            var encryptedField = kryptonite.cipherField(data, serdeProcessor, PayloadMetaData.from(config.cipherTextVersion, createFieldMetaData(config.cipherAlgorithm, config.cipherDataKeyIdentifier, data)));
+            var encodedField = Base64.getEncoder().encodeToString(EncryptedFieldCodec.encode(encryptedField));
             return encodedField;
         } catch (Exception exc) {
             throw new KryptoniteException(exc.getMessage(), exc);
@@ -65,11 +67,8 @@ public class CipherFieldService {
 
     public Object decryptData(String data) {
         try {
-            var encryptedField = KryoInstance.get().readObject(
-                new Input(Base64.getDecoder().decode(data)),EncryptedField.class
-            );
-            var plaintext = kryptonite.decipherField(encryptedField);
-            var restored = serdeProcessor.bytesToObject(plaintext);
+            var encryptedField = EncryptedFieldCodec.decode(Base64.getDecoder().decode(data));
+            var restored = kryptonite.decipherField(encryptedField, serdeProcessor);
             return restored;
         } catch (Exception exc) {
             throw new KryptoniteException(exc.getMessage(), exc);
@@ -26,6 +26,7 @@ import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings;
 import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.KekType;
 import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.KeySource;
 import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.KmsType;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.SerdeType;
 
 @Singleton
 public class KryptoniteConfiguration {
@@ -50,6 +51,9 @@ public class KryptoniteConfiguration {
     @ConfigProperty(name="kms.config", defaultValue = "{}")
     public String kmsConfig;
 
+    @ConfigProperty(name="kms.refresh.interval.ms", defaultValue = "0")
+    public long kmsRefreshIntervalMs;
+
     @ConfigProperty(name="kek.type")
     public KekType kekType;
 
@@ -71,9 +75,29 @@ public class KryptoniteConfiguration {
     @ConfigProperty(name="cipher.algorithm", defaultValue = "TINK/AES_GCM")
     public String cipherAlgorithm;
 
+    @ConfigProperty(name="cipher.text.version", defaultValue = "k1")
+    public String cipherTextVersion;
+
+    @ConfigProperty(name="serde.type", defaultValue = "KRYO")
+    public SerdeType serdeType = SerdeType.KRYO;
+
+    @ConfigProperty(name="metrics.enabled", defaultValue = "false")
+    public boolean metricsEnabled = KryptoniteSettings.METRICS_ENABLED_DEFAULT;
+
+    @ConfigProperty(name="metrics.name", defaultValue = "kryptonite")
+    public String metricsName = KryptoniteSettings.METRICS_NAME_DEFAULT;
+
     public static KryptoniteConfiguration fromSettings(String cipherDataKeys, String cipherDataKeyIdentifier,
             KeySource keySource, KmsType kmsType, String kmsConfig, KekType kekType, String kekConfig,
             String kekUri, String dynamicKeyIdPrefix, String pathDelimiter, FieldMode fieldMode, String cipherAlgorithm) {
+        return fromSettings(cipherDataKeys, cipherDataKeyIdentifier, keySource, kmsType, kmsConfig, kekType, kekConfig,
+            kekUri, dynamicKeyIdPrefix, pathDelimiter, fieldMode, cipherAlgorithm, KryptoniteSettings.CIPHER_TEXT_VERSION_DEFAULT);
+    }
+
+    public static KryptoniteConfiguration fromSettings(String cipherDataKeys, String cipherDataKeyIdentifier,
+            KeySource keySource, KmsType kmsType, String kmsConfig, KekType kekType, String kekConfig,
+            String kekUri, String dynamicKeyIdPrefix, String pathDelimiter, FieldMode fieldMode, String cipherAlgorithm,
+            String cipherTextVersion) {
         var kc = new KryptoniteConfiguration();
         kc.cipherDataKeys = cipherDataKeys;
         kc.cipherDataKeyIdentifier = cipherDataKeyIdentifier;
@@ -86,6 +110,7 @@ public class KryptoniteConfiguration {
         kc.pathDelimiter = pathDelimiter;
         kc.fieldMode = fieldMode;
         kc.cipherAlgorithm = cipherAlgorithm;
+        kc.cipherTextVersion = cipherTextVersion;
         return kc;
     }
 
@@ -96,12 +121,16 @@ public class KryptoniteConfiguration {
             Map.entry(KryptoniteSettings.KEY_SOURCE,keySource.name()),
             Map.entry(KryptoniteSettings.KMS_TYPE,kmsType.name()),
             Map.entry(KryptoniteSettings.KMS_CONFIG,kmsConfig),
+            Map.entry(KryptoniteSettings.KMS_REFRESH_INTERVAL_MS,String.valueOf(kmsRefreshIntervalMs)),
             Map.entry(KryptoniteSettings.KEK_TYPE,kekType.name()),
             Map.entry(KryptoniteSettings.KEK_CONFIG,kekConfig),
             Map.entry(KryptoniteSettings.KEK_URI,kekUri),
             Map.entry(KryptoniteSettings.PATH_DELIMITER,pathDelimiter),
             Map.entry(KryptoniteSettings.FIELD_MODE,fieldMode.name()),
-            Map.entry(KryptoniteSettings.CIPHER_ALGORITHM,cipherAlgorithm)
+            Map.entry(KryptoniteSettings.CIPHER_ALGORITHM,cipherAlgorithm),
+            Map.entry(KryptoniteSettings.CIPHER_TEXT_VERSION,cipherTextVersion),
+            Map.entry(KryptoniteSettings.METRICS_ENABLED,String.valueOf(metricsEnabled)),
+            Map.entry(KryptoniteSettings.METRICS_NAME,metricsName)
         );
     }
 }
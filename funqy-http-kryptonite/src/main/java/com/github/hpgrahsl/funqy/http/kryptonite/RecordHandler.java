@@ -16,16 +16,12 @@
 
 package com.github.hpgrahsl.funqy.http.kryptonite;
 
-import com.esotericsoftware.kryo.io.Input;
-import com.esotericsoftware.kryo.io.Output;
 import com.github.hpgrahsl.funqy.http.kryptonite.KryptoniteConfiguration.FieldMode;
 import com.github.hpgrahsl.kryptonite.*;
-import com.github.hpgrahsl.kryptonite.serdes.KryoInstance;
+import com.github.hpgrahsl.kryptonite.serdes.EncryptedFieldCodec;
 import com.github.hpgrahsl.kryptonite.serdes.SerdeProcessor;
 
-import java.io.ByteArrayOutputStream;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class RecordHandler {
 
@@ -87,17 +83,13 @@ public class RecordHandler {
     try {
       var fieldMetaData = determineFieldMetaData(objectOriginal,object,matchedPath);
       if (CipherMode.ENCRYPT == cipherMode) {
-        var valueBytes = serdeProcessor.objectToBytes(object);
-        var encryptedField = kryptonite.cipherField(valueBytes, PayloadMetaData.from(fieldMetaData));
-        var output = new Output(new ByteArrayOutputStream());
-        KryoInstance.get().writeObject(output,encryptedField);
-        var encodedField = Base64.getEncoder().encodeToString(output.toBytes());
+        var encryptedField = kryptonite.cipherField(object, serdeProcessor, PayloadMetaData.from(config.cipherTextVersion,fieldMetaData));
+        var encodedField = Base64.getEncoder().encodeToString(EncryptedFieldCodec.encode(encryptedField));
         return encodedField;
       } else {
         var decodedField = Base64.getDecoder().decode((String)object);
-        var encryptedField = KryoInstance.get().readObject(new Input(decodedField), EncryptedField.class);
-        var plaintext = kryptonite.decipherField(encryptedField);
-        var restoredField = serdeProcessor.bytesToObject(plaintext);
+        var encryptedField = EncryptedFieldCodec.decode(decodedField);
+        var restoredField = kryptonite.decipherField(encryptedField, serdeProcessor);
         return restoredField;
       }
     } catch (Exception e) {
@@ -106,14 +98,59 @@ public class RecordHandler {
   }
 
   public List<?> processListField(Map<String,Object> objectOriginal,List<?> list,String matchedPath) {
-    return list.stream().map(e -> {
-          if(e instanceof List)
-            return processListField(objectOriginal,(List<?>)e,matchedPath);
-          if(e instanceof Map)
-            return processMapField(objectOriginal,(Map<?,?>)e,matchedPath);
-          return processField(objectOriginal,e,matchedPath);
+    var processed = new ArrayList<Object>(list.size());
+    var leafPositions = new int[list.size()];
+    var leafValues = new Object[list.size()];
+    var leafCount = 0;
+    for (var e : list) {
+      if(e instanceof List) {
+        processed.add(processListField(objectOriginal,(List<?>)e,matchedPath));
+      } else if(e instanceof Map) {
+        processed.add(processMapField(objectOriginal,(Map<?,?>)e,matchedPath));
+      } else {
+        leafPositions[leafCount] = processed.size();
+        leafValues[leafCount++] = e;
+        processed.add(null);
+      }
+    }
+    var results = processFields(objectOriginal,Arrays.copyOf(leafValues,leafCount),matchedPath);
+    for (int i = 0; i < leafCount; i++) {
+      processed.set(leafPositions[i],results[i]);
+    }
+    return processed;
+  }
+
+  //NOTE: batch variant of processField for elements which share the same field path
+  public Object[] processFields(Map<String,Object> objectOriginal,Object[] objects,String matchedPath) {
+    var results = new Object[objects.length];
+    if (objects.length == 0) {
+      return results;
+    }
+    try {
+      if (CipherMode.ENCRYPT == cipherMode) {
+        var fieldMetaData = determineFieldMetaData(objectOriginal,null,matchedPath);
+        var valueBytes = new byte[objects.length][];
+        for (int i = 0; i < objects.length; i++) {
+          valueBytes[i] = serdeProcessor.objectToBytes(objects[i]);
+        }
+        var encryptedFields = kryptonite.cipherFields(valueBytes, PayloadMetaData.from(config.cipherTextVersion,fieldMetaData));
+        for (int i = 0; i < objects.length; i++) {
+          results[i] = Base64.getEncoder().encodeToString(EncryptedFieldCodec.encode(encryptedFields[i]));
+        }
+      } else {
+        var encryptedFields = new EncryptedField[objects.length];
+        for (int i = 0; i < objects.length; i++) {
+          encryptedFields[i] = EncryptedFieldCodec.decode(Base64.getDecoder().decode((String)objects[i]));
         }
-    ).collect(Collectors.toList());
+        var plaintexts = kryptonite.decipherFields(encryptedFields);
+        for (int i = 0; i < objects.length; i++) {
+          results[i] = serdeProcessor.bytesToObject(plaintexts[i]);
+        }
+      }
+      return results;
+    } catch (Exception e) {
+      throw new KryptoniteException("error: "+cipherMode+" of "+objects.length+" fields at path '"+matchedPath+"' failed unexpectedly",e);
+    }
   }
 
   public Map<?, ?> processMapField(Map<String,Object> objectOriginal,Map<?, ?> map,String matchedPath) {
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kryptonite.benchmarks;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+
+import com.github.hpgrahsl.kryptonite.Kryptonite;
+import com.github.hpgrahsl.kryptonite.config.ConfigReader;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.FieldMode;
+import com.github.hpgrahsl.kryptonite.keys.TinkKeyVault;
+import com.github.hpgrahsl.kryptonite.records.FieldConfig;
+
+public class BenchmarkFixtures {
+
+  public static final String CIPHER_DATA_KEYS_CONFIG = "["
+      + "{\"identifier\":\"keyA\","
+      + "\"material\":{"
+      + "\"primaryKeyId\":1000000001,"
+      + "\"key\":["
+      + "{\"keyData\":"
+      + "{\"typeUrl\":\"type.googleapis.com/google.crypto.tink.AesGcmKey\","
+      + "\"value\":\"GhDRulECKAC8/19NMXDjeCjK\","
+      + "\"keyMaterialType\":\"SYMMETRIC\"},"
+      + "\"status\":\"ENABLED\","
+      + "\"keyId\":1000000001,"
+      + "\"outputPrefixType\":\"TINK\""
+      + "}"
+      + "]"
+      + "}"
+      + "},"
+      + "{\"identifier\":\"key9\","
+      + "\"material\":{"
+      + "\"primaryKeyId\":1000000003,"
+      + "\"key\":["
+      + "{\"keyData\":"
+      + "{\"typeUrl\":\"type.googleapis.com/google.crypto.tink.AesSivKey\","
+      + "\"value\":\"EkByiHi3H9shy2FO5UWgStNMmgqF629esenhnm0wZZArUkEU1/9l9J3ajJQI0GxDwzM1WFZK587W0xVB8KK4dqnz\","
+      + "\"keyMaterialType\":\"SYMMETRIC\"},"
+      + "\"status\":\"ENABLED\","
+      + "\"keyId\":1000000003,"
+      + "\"outputPrefixType\":\"TINK\""
+      + "}"
+      + "]"
+      + "}"
+      + "}"
+      + "]";
+
+  public static final Schema OBJ_SCHEMA;
+  public static final Struct OBJ_STRUCT;
+  public static final Map<String, Object> OBJ_MAP;
+
+  static {
+    OBJ_SCHEMA = SchemaBuilder.struct()
+        .field("id", Schema.STRING_SCHEMA)
+        .field("myString", Schema.STRING_SCHEMA)
+        .field("myInt32", Schema.INT32_SCHEMA)
+        .field("myInt64", Schema.INT64_SCHEMA)
+        .field("myBoolean", Schema.BOOLEAN_SCHEMA)
+        .field("mySubDoc1", SchemaBuilder.struct().field("myString", Schema.STRING_SCHEMA).build())
+        .field("myArray1", SchemaBuilder.array(Schema.STRING_SCHEMA).build())
+        .field("mySubDoc2", SchemaBuilder.map(Schema.STRING_SCHEMA, Schema.INT32_SCHEMA).build())
+        .field("myBytes", Schema.BYTES_SCHEMA)
+        .build();
+
+    OBJ_STRUCT = new Struct(OBJ_SCHEMA)
+        .put("id", "1234567890")
+        .put("myString", "some foo bla text")
+        .put("myInt32", 42)
+        .put("myInt64", 4294967294L)
+        .put("myBoolean", true)
+        .put("mySubDoc1", new Struct(OBJ_SCHEMA.field("mySubDoc1").schema())
+            .put("myString", "hello json"))
+        .put("myArray1", List.of("str_1", "str_2", "...", "str_N"))
+        .put("mySubDoc2", Map.of("k1", 9, "k2", 8, "k3", 7))
+        .put("myBytes", new byte[] {75, 97, 102, 107, 97, 32, 114, 111, 99, 107, 115, 33});
+
+    OBJ_MAP = new LinkedHashMap<>();
+    OBJ_MAP.put("id", "1234567890");
+    OBJ_MAP.put("myString", "some foo bla text");
+    OBJ_MAP.put("myInt32", 42);
+    OBJ_MAP.put("myInt64", 4294967294L);
+    OBJ_MAP.put("myBoolean", true);
+    OBJ_MAP.put("mySubDoc1", Map.of("myString", "hello json"));
+    OBJ_MAP.put("myArray1", List.of("str_1", "str_2", "...", "str_N"));
+    OBJ_MAP.put("mySubDoc2", Map.of("k1", 9, "k2", 8, "k3", 7));
+    OBJ_MAP.put("myBytes", new byte[] {75, 97, 102, 107, 97, 32, 114, 111, 99, 107, 115, 33});
+  }
+
+  public static Kryptonite kryptonite() {
+    return new Kryptonite(new TinkKeyVault(ConfigReader.tinkKeyConfigFromJsonString(CIPHER_DATA_KEYS_CONFIG)));
+  }
+
+  //NOTE: mixes primitive, struct, array and map fields processed with the configured default field mode
+  //and carries the schema info needed to rewrite the encrypted fields back during decryption
+  public static Map<String, FieldConfig> fieldConfig() {
+    return Stream.of(
+        new FieldConfig("myString", null, null, Map.of("type", "STRING"), null),
+        new FieldConfig("myInt32", null, null, Map.of("type", "INT32"), null),
+        new FieldConfig("myBoolean", null, null, Map.of("type", "BOOLEAN"), null),
+        new FieldConfig("mySubDoc1", null, null,
+            Map.of("type", "STRUCT", "fields", List.of(Map.of("name", "myString", "schema", Map.of("type", "STRING")))),
+            FieldMode.OBJECT),
+        new FieldConfig("myArray1", null, null,
+            Map.of("type", "ARRAY", "valueSchema", Map.of("type", "STRING")), null),
+        new FieldConfig("mySubDoc2", null, null,
+            Map.of("type", "MAP", "keySchema", Map.of("type", "STRING"), "valueSchema", Map.of("type", "INT32")), null),
+        new FieldConfig("myBytes", null, null, Map.of("type", "BYTES"), null)
+    ).collect(Collectors.toMap(FieldConfig::getName, Function.identity()));
+  }
+
+}
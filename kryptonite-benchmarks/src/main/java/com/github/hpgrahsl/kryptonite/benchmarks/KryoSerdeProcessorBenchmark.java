@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kryptonite.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.connect.data.Struct;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.StructSchemaMode;
+import com.github.hpgrahsl.kryptonite.serdes.KryoSerdeProcessor;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.util=ALL-UNNAMED")
+public class KryoSerdeProcessorBenchmark {
+
+  @Param({"EMBEDDED", "FINGERPRINT"})
+  private StructSchemaMode structSchemaMode;
+
+  private KryoSerdeProcessor serdeProcessor;
+
+  private String primitive;
+  private List<?> list;
+  private Map<?, ?> map;
+  private Struct struct;
+
+  private byte[] primitiveBytes;
+  private byte[] listBytes;
+  private byte[] mapBytes;
+  private byte[] structBytes;
+
+  @Setup
+  public void setup() {
+    serdeProcessor = new KryoSerdeProcessor(structSchemaMode);
+    primitive = (String)BenchmarkFixtures.OBJ_MAP.get("myString");
+    list = (List<?>)BenchmarkFixtures.OBJ_MAP.get("myArray1");
+    map = BenchmarkFixtures.OBJ_MAP;
+    struct = BenchmarkFixtures.OBJ_STRUCT;
+    primitiveBytes = serdeProcessor.objectToBytes(primitive);
+    listBytes = serdeProcessor.objectToBytes(list);
+    mapBytes = serdeProcessor.objectToBytes(map);
+    structBytes = serdeProcessor.objectToBytes(struct);
+  }
+
+  @Benchmark
+  public byte[] primitiveToBytes() {
+    return serdeProcessor.objectToBytes(primitive);
+  }
+
+  @Benchmark
+  public Object bytesToPrimitive() {
+    return serdeProcessor.bytesToObject(primitiveBytes);
+  }
+
+  @Benchmark
+  public byte[] listToBytes() {
+    return serdeProcessor.objectToBytes(list);
+  }
+
+  @Benchmark
+  public Object bytesToList() {
+    return serdeProcessor.bytesToObject(listBytes);
+  }
+
+  @Benchmark
+  public byte[] mapToBytes() {
+    return serdeProcessor.objectToBytes(map);
+  }
+
+  @Benchmark
+  public Object bytesToMap() {
+    return serdeProcessor.bytesToObject(mapBytes);
+  }
+
+  @Benchmark
+  public byte[] structToBytes() {
+    return serdeProcessor.objectToBytes(struct);
+  }
+
+  @Benchmark
+  public Object bytesToStruct() {
+    return serdeProcessor.bytesToObject(structBytes);
+  }
+
+}
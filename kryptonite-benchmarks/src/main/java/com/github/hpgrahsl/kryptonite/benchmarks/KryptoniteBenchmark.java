@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kryptonite.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.hpgrahsl.kryptonite.EncryptedField;
+import com.github.hpgrahsl.kryptonite.Kryptonite;
+import com.github.hpgrahsl.kryptonite.PayloadMetaData;
+import com.github.hpgrahsl.kryptonite.serdes.EncryptedFieldCodec;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.util=ALL-UNNAMED")
+public class KryptoniteBenchmark {
+
+  @Param({"TINK/AES_GCM:keyA", "TINK/AES_GCM_SIV:key9"})
+  public String algorithmAndKeyId;
+
+  @Param({"k1", "k2"})
+  public String version;
+
+  @Param({"16", "256", "4096"})
+  public int plaintextSize;
+
+  private Kryptonite kryptonite;
+  private PayloadMetaData metaData;
+  private byte[] plaintext;
+  private EncryptedField encryptedField;
+  private byte[] encodedField;
+
+  @Setup
+  public void setup() {
+    var parts = algorithmAndKeyId.split(":");
+    kryptonite = BenchmarkFixtures.kryptonite();
+    metaData = PayloadMetaData.from(version, parts[0], parts[1]);
+    plaintext = new byte[plaintextSize];
+    var text = "kryptonite for kafka ".getBytes(StandardCharsets.UTF_8);
+    for (int i = 0; i < plaintextSize; i++) {
+      plaintext[i] = text[i % text.length];
+    }
+    encryptedField = kryptonite.cipherField(plaintext, metaData);
+    encodedField = EncryptedFieldCodec.encode(encryptedField);
+    if (!Arrays.equals(plaintext, kryptonite.decipherField(EncryptedFieldCodec.decode(encodedField)))) {
+      throw new IllegalStateException("benchmark setup failed due to roundtrip mismatch");
+    }
+  }
+
+  @Benchmark
+  public EncryptedField cipherField() {
+    return kryptonite.cipherField(plaintext, metaData);
+  }
+
+  @Benchmark
+  public byte[] decipherField() {
+    return kryptonite.decipherField(encryptedField);
+  }
+
+  @Benchmark
+  public byte[] cipherFieldAndEncode() {
+    return EncryptedFieldCodec.encode(kryptonite.cipherField(plaintext, metaData));
+  }
+
+  @Benchmark
+  public byte[] decodeAndDecipherField() {
+    return kryptonite.decipherField(EncryptedFieldCodec.decode(encodedField));
+  }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kryptonite.benchmarks;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.transforms.util.SimpleConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.hpgrahsl.kafka.connect.transforms.kryptonite.CipherField;
+import com.github.hpgrahsl.kafka.connect.transforms.kryptonite.ProcessingPlan;
+import com.github.hpgrahsl.kafka.connect.transforms.kryptonite.SchemaRewriter;
+import com.github.hpgrahsl.kafka.connect.transforms.kryptonite.SchemaawareRecordHandler;
+import com.github.hpgrahsl.kryptonite.CipherMode;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.CipherEncoding;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.FieldMode;
+import com.github.hpgrahsl.kryptonite.records.SchemalessRecordHandler;
+import com.github.hpgrahsl.kryptonite.serdes.KryoSerdeProcessor;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.util=ALL-UNNAMED")
+public class RecordHandlerBenchmark {
+
+  @Param({"ELEMENT", "OBJECT"})
+  public String fieldMode;
+
+  @Param({"TINK/AES_GCM:keyA", "TINK/AES_GCM_SIV:key9"})
+  public String algorithmAndKeyId;
+
+  @Param({"k1", "k2"})
+  public String version;
+
+  private SchemaawareRecordHandler schemaawareEncryptor;
+  private SchemaawareRecordHandler schemaawareDecryptor;
+  private SchemalessRecordHandler schemalessEncryptor;
+  private SchemalessRecordHandler schemalessDecryptor;
+
+  private Schema encryptedSchema;
+  private Schema decryptedSchema;
+  private ProcessingPlan encryptionPlan;
+  private ProcessingPlan decryptionPlan;
+  private Struct encryptedStruct;
+  private Map<String, Object> encryptedMap;
+
+  @Setup
+  public void setup() {
+    var kryptonite = BenchmarkFixtures.kryptonite();
+    var serdeProcessor = new KryoSerdeProcessor();
+    var fieldConfig = BenchmarkFixtures.fieldConfig();
+    var encryptConfig = createConfig(CipherMode.ENCRYPT);
+    var decryptConfig = createConfig(CipherMode.DECRYPT);
+
+    schemaawareEncryptor = new SchemaawareRecordHandler(encryptConfig, serdeProcessor, kryptonite, CipherMode.ENCRYPT, fieldConfig);
+    schemaawareDecryptor = new SchemaawareRecordHandler(decryptConfig, serdeProcessor, kryptonite, CipherMode.DECRYPT, fieldConfig);
+    schemalessEncryptor = new SchemalessRecordHandler(encryptConfig, serdeProcessor, kryptonite, CipherMode.ENCRYPT, fieldConfig);
+    schemalessDecryptor = new SchemalessRecordHandler(decryptConfig, serdeProcessor, kryptonite, CipherMode.DECRYPT, fieldConfig);
+
+    encryptedSchema = new SchemaRewriter(fieldConfig, FieldMode.valueOf(fieldMode), CipherMode.ENCRYPT,
+        KryptoniteSettings.PATH_DELIMITER_DEFAULT, CipherEncoding.BASE64)
+        .adaptSchema(BenchmarkFixtures.OBJ_SCHEMA, "");
+    decryptedSchema = new SchemaRewriter(fieldConfig, FieldMode.valueOf(fieldMode), CipherMode.DECRYPT,
+        KryptoniteSettings.PATH_DELIMITER_DEFAULT, CipherEncoding.BASE64)
+        .adaptSchema(encryptedSchema, "");
+    encryptionPlan = schemaawareEncryptor.compilePlan(BenchmarkFixtures.OBJ_SCHEMA, encryptedSchema);
+    decryptionPlan = schemaawareDecryptor.compilePlan(encryptedSchema, decryptedSchema);
+    encryptedStruct = encryptStruct();
+    encryptedMap = encryptMap();
+  }
+
+  private SimpleConfig createConfig(CipherMode cipherMode) {
+    var parts = algorithmAndKeyId.split(":");
+    var props = new HashMap<String, Object>();
+    props.put(KryptoniteSettings.CIPHER_MODE, cipherMode.name());
+    props.put(KryptoniteSettings.FIELD_MODE, fieldMode);
+    props.put(KryptoniteSettings.FIELD_CONFIG, "[{\"name\":\"myString\"}]");
+    props.put(KryptoniteSettings.CIPHER_ALGORITHM, parts[0]);
+    props.put(KryptoniteSettings.CIPHER_DATA_KEY_IDENTIFIER, parts[1]);
+    props.put(KryptoniteSettings.CIPHER_DATA_KEYS, BenchmarkFixtures.CIPHER_DATA_KEYS_CONFIG);
+    props.put(KryptoniteSettings.CIPHER_TEXT_VERSION, version);
+    return new SimpleConfig(CipherField.CONFIG_DEF, props);
+  }
+
+  @Benchmark
+  public Struct encryptStruct() {
+    return schemaawareEncryptor.applyPlan(encryptionPlan, BenchmarkFixtures.OBJ_STRUCT, new Struct(encryptedSchema));
+  }
+
+  @Benchmark
+  public Struct decryptStruct() {
+    return schemaawareDecryptor.applyPlan(decryptionPlan, encryptedStruct, new Struct(decryptedSchema));
+  }
+
+  @Benchmark
+  public Map<String, Object> encryptMap() {
+    return schemalessEncryptor.matchFields(BenchmarkFixtures.OBJ_MAP,
+        new LinkedHashMap<>(BenchmarkFixtures.OBJ_MAP), "");
+  }
+
+  @Benchmark
+  public Map<String, Object> decryptMap() {
+    return schemalessDecryptor.matchFields(encryptedMap,
+        new LinkedHashMap<>(encryptedMap), "");
+  }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kryptonite.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.connect.data.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.hpgrahsl.kafka.connect.transforms.kryptonite.SchemaRewriter;
+import com.github.hpgrahsl.kryptonite.CipherMode;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.CipherEncoding;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.FieldMode;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.util=ALL-UNNAMED")
+public class SchemaRewriterBenchmark {
+
+  @Param({"ELEMENT", "OBJECT"})
+  public String fieldMode;
+
+  @Param({"BASE64", "RAW_BYTES"})
+  public String cipherEncoding;
+
+  private SchemaRewriter encryptingRewriter;
+  private SchemaRewriter decryptingRewriter;
+  private Schema encryptedSchema;
+
+  @Setup
+  public void setup() {
+    var fieldConfig = BenchmarkFixtures.fieldConfig();
+    encryptingRewriter = new SchemaRewriter(fieldConfig, FieldMode.valueOf(fieldMode), CipherMode.ENCRYPT,
+        KryptoniteSettings.PATH_DELIMITER_DEFAULT, CipherEncoding.valueOf(cipherEncoding));
+    decryptingRewriter = new SchemaRewriter(fieldConfig, FieldMode.valueOf(fieldMode), CipherMode.DECRYPT,
+        KryptoniteSettings.PATH_DELIMITER_DEFAULT, CipherEncoding.valueOf(cipherEncoding));
+    encryptedSchema = encryptingRewriter.adaptSchema(BenchmarkFixtures.OBJ_SCHEMA, "");
+  }
+
+  @Benchmark
+  public Schema adaptSchemaForEncryption() {
+    return encryptingRewriter.adaptSchema(BenchmarkFixtures.OBJ_SCHEMA, "");
+  }
+
+  @Benchmark
+  public Schema adaptSchemaForDecryption() {
+    return decryptingRewriter.adaptSchema(encryptedSchema, "");
+  }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kafka.serdes.kryptonite;
+
+import com.github.hpgrahsl.kryptonite.CipherMode;
+import com.github.hpgrahsl.kryptonite.records.SchemalessRecordHandler;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+//NOTE: delegates to the inner deserializer and then decrypts the configured
+//fields of the resulting schemaless record data in-process
+public class KryptoniteDeserializer implements Deserializer<Map<String, Object>> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(KryptoniteDeserializer.class);
+
+  private Deserializer<Map<String, Object>> inner;
+  private SchemalessRecordHandler recordHandler;
+
+  public KryptoniteDeserializer() {
+  }
+
+  public KryptoniteDeserializer(Deserializer<Map<String, Object>> inner) {
+    this.inner = inner;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public void configure(Map<String, ?> configs, boolean isKey) {
+    var config = new KryptoniteSerdeConfig(configs, CipherMode.DECRYPT);
+    if (inner == null) {
+      inner = config.getConfiguredInstance(KryptoniteSerdeConfig.INNER_DESERIALIZER, Deserializer.class);
+    }
+    inner.configure(configs, isKey);
+    recordHandler = config.createRecordHandler();
+  }
+
+  @Override
+  public Map<String, Object> deserialize(String topic, byte[] data) {
+    return decryptFields(inner.deserialize(topic, data));
+  }
+
+  @Override
+  public Map<String, Object> deserialize(String topic, Headers headers, byte[] data) {
+    return decryptFields(inner.deserialize(topic, headers, data));
+  }
+
+  private Map<String, Object> decryptFields(Map<String, Object> data) {
+    if (data == null) {
+      return null;
+    }
+    var updated = recordHandler.processFields(data, "");
+    LOGGER.trace("decrypted record data {}", updated);
+    return updated;
+  }
+
+  @Override
+  public void close() {
+    if (recordHandler != null) {
+      recordHandler.close();
+      recordHandler.getKryptonite().close();
+    }
+    if (inner != null) {
+      inner.close();
+    }
+  }
+
+}
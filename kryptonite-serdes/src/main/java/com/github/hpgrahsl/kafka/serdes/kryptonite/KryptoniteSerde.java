@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kafka.serdes.kryptonite;
+
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.Map;
+
+//NOTE: kafka streams serde which writes records with encrypted fields
+//and reads them back with decrypted fields
+public class KryptoniteSerde implements Serde<Map<String, Object>> {
+
+  private final KryptoniteSerializer serializer;
+  private final KryptoniteDeserializer deserializer;
+
+  public KryptoniteSerde() {
+    this(new KryptoniteSerializer(), new KryptoniteDeserializer());
+  }
+
+  public KryptoniteSerde(Serde<Map<String, Object>> inner) {
+    this(new KryptoniteSerializer(inner.serializer()), new KryptoniteDeserializer(inner.deserializer()));
+  }
+
+  public KryptoniteSerde(KryptoniteSerializer serializer, KryptoniteDeserializer deserializer) {
+    this.serializer = serializer;
+    this.deserializer = deserializer;
+  }
+
+  @Override
+  public void configure(Map<String, ?> configs, boolean isKey) {
+    serializer.configure(configs, isKey);
+    deserializer.configure(configs, isKey);
+  }
+
+  @Override
+  public void close() {
+    serializer.close();
+    deserializer.close();
+  }
+
+  @Override
+  public Serializer<Map<String, Object>> serializer() {
+    return serializer;
+  }
+
+  @Override
+  public Deserializer<Map<String, Object>> deserializer() {
+    return deserializer;
+  }
+
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kafka.serdes.kryptonite;
+
+import static com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.*;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.hpgrahsl.kryptonite.CipherMode;
+import com.github.hpgrahsl.kryptonite.Kryptonite;
+import com.github.hpgrahsl.kryptonite.crypto.tink.TinkAesGcm;
+import com.github.hpgrahsl.kryptonite.crypto.tink.TinkAesGcmHkdfStreaming;
+import com.github.hpgrahsl.kryptonite.crypto.tink.TinkAesGcmSiv;
+import com.github.hpgrahsl.kryptonite.records.FieldConfig;
+import com.github.hpgrahsl.kryptonite.records.SchemalessRecordHandler;
+import com.github.hpgrahsl.kryptonite.serdes.KryoSerdeProcessor;
+import com.github.hpgrahsl.kryptonite.serdes.SerdeProcessor;
+import com.github.hpgrahsl.kryptonite.serdes.TaggedSerdeProcessor;
+import org.apache.kafka.common.config.AbstractConfig;
+import org.apache.kafka.common.config.ConfigDef;
+import org.apache.kafka.common.config.ConfigDef.NonEmptyString;
+import org.apache.kafka.common.config.ConfigDef.Type;
+import org.apache.kafka.common.config.ConfigDef.ValidString;
+import org.apache.kafka.common.config.ConfigException;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class KryptoniteSerdeConfig extends AbstractConfig {
+
+  public static final String INNER_SERIALIZER = "inner_serializer";
+  public static final String INNER_DESERIALIZER = "inner_deserializer";
+
+  public static final Class<?> INNER_SERIALIZER_DEFAULT = JsonMapSerializer.class;
+  public static final Class<?> INNER_DESERIALIZER_DEFAULT = JsonMapDeserializer.class;
+
+  //NOTE: the SMT's settings which apply to schemaless record data plus the inner (de)serializers
+  //which turn the processed maps into bytes and vice versa, detached payload meta-data needs a
+  //record header for every processed record which is only supported by the SMT for now
+  public static final ConfigDef CONFIG_DEF = new ConfigDef()
+      .define(FIELD_CONFIG, Type.STRING, ConfigDef.NO_DEFAULT_VALUE, new NonEmptyString(),
+          ConfigDef.Importance.HIGH, "JSON array with field config objects specifying which fields together with their settings should get either encrypted / decrypted")
+      .define(PATH_DELIMITER, Type.STRING, PATH_DELIMITER_DEFAULT, new NonEmptyString(), ConfigDef.Importance.LOW,
+          "path delimiter used as field name separator when referring to nested fields in the record data")
+      .define(FIELD_MODE, Type.STRING, FIELD_MODE_DEFAULT, ValidString.in(names(FieldMode.values())),
+          ConfigDef.Importance.MEDIUM, "defines how to process complex field types (maps, lists), either as full objects or element-wise")
+      .define(CIPHER_ALGORITHM, Type.STRING, CIPHER_ALGORITHM_DEFAULT,
+          ValidString.in(TinkAesGcm.CIPHER_ALGORITHM, TinkAesGcmSiv.CIPHER_ALGORITHM, TinkAesGcmHkdfStreaming.CIPHER_ALGORITHM),
+          ConfigDef.Importance.LOW, "cipher algorithm used for data encryption")
+      .define(CIPHER_DATA_KEYS, Type.PASSWORD, CIPHER_DATA_KEYS_DEFAULT,
+          ConfigDef.Importance.HIGH, "JSON array with data key objects specifying the key identifiers together with key sets for encryption / decryption which are defined in Tink's key specification format")
+      .define(CIPHER_DATA_KEY_IDENTIFIER, Type.STRING, CIPHER_DATA_KEY_IDENTIFIER_DEFAULT,
+          ConfigDef.Importance.HIGH, "secret key identifier to be used as default data encryption key for all fields which don't refer to a field-specific secret key identifier")
+      .define(CIPHER_TEXT_ENCODING, Type.STRING, CIPHER_TEXT_ENCODING_DEFAULT, ValidString.in(names(CipherEncoding.values())),
+          ConfigDef.Importance.LOW, "defines the encoding of the resulting ciphertext bytes, either 'BASE64' (string fields) or 'RAW_BYTES' (bytes fields)")
+      .define(CIPHER_TEXT_VERSION, Type.STRING, CIPHER_TEXT_VERSION_DEFAULT,
+          ValidString.in(Kryptonite.KRYPTONITE_VERSION_K1, Kryptonite.KRYPTONITE_VERSION_K2),
+          ConfigDef.Importance.LOW, "defines the serialization format of encrypted fields, either 'k1' (kryo-based) or 'k2' (compact binary envelope), decryption accepts both formats")
+      .define(CIPHER_MODE, Type.STRING, ConfigDef.NO_DEFAULT_VALUE, ValidString.in(names(CipherMode.values())),
+          ConfigDef.Importance.HIGH, "implied by either serializing (encrypt) or deserializing (decrypt) record data")
+      .define(KEY_SOURCE, Type.STRING, KEY_SOURCE_DEFAULT, ValidString.in(names(KeySource.values())), ConfigDef.Importance.HIGH,
+          "defines the origin of the Tink keysets which can be defined directly in the config or fetched from a remote/cloud KMS")
+      .define(KMS_TYPE, Type.STRING, KMS_TYPE_DEFAULT, ValidString.in(names(KmsType.values())),
+          ConfigDef.Importance.MEDIUM, "defines from which remote/cloud KMS keysets are resolved from")
+      .define(KMS_CONFIG, Type.PASSWORD, KMS_CONFIG_DEFAULT, ConfigDef.Importance.MEDIUM,
+          "JSON object specifying the KMS-specific client authentication settings")
+      .define(KMS_REFRESH_INTERVAL_MS, Type.LONG, Long.valueOf(KMS_REFRESH_INTERVAL_MS_DEFAULT), ConfigDef.Range.atLeast(0),
+          ConfigDef.Importance.LOW, "interval in milliseconds to refresh keysets fetched from a remote/cloud KMS in the background (0 disables refreshing)")
+      .define(KEK_TYPE, Type.STRING, KEK_TYPE_DEFAULT, ValidString.in(names(KekType.values())),
+          ConfigDef.Importance.LOW, "defines which remote/cloud KMS is used for data key encryption")
+      .define(KEK_CONFIG, Type.PASSWORD, KEK_CONFIG_DEFAULT, ConfigDef.Importance.LOW,
+          "JSON object specifying the KMS-specific client authentication settings for data key encryption")
+      .define(KEK_URI, Type.PASSWORD, KEK_URI_DEFAULT, ConfigDef.Importance.LOW,
+          "remote/cloud KMS-specific URI to refer to the key encryption key if applicable")
+      .define(FIELD_PARALLELISM, Type.INT, FIELD_PARALLELISM_DEFAULT, ConfigDef.Range.atLeast(1),
+          ConfigDef.Importance.LOW, "max number of threads used to (de)cipher elements of a single list/map in parallel (1 disables parallel processing)")
+      .define(FIELD_PARALLELISM_THRESHOLD, Type.INT, FIELD_PARALLELISM_THRESHOLD_DEFAULT, ConfigDef.Range.atLeast(1),
+          ConfigDef.Importance.LOW, "min number of elements in a list/map before they get processed in parallel")
+      .define(SERDE_TYPE, Type.STRING, SERDE_TYPE_DEFAULT, ValidString.in(names(SerdeType.values())),
+          ConfigDef.Importance.LOW, "defines how plaintext field values are serialized before encryption, either 'KRYO' or 'TAGGED', decryption accepts both formats")
+      .define(DETERMINISTIC_CACHE_MAX_ENTRIES, Type.INT, DETERMINISTIC_CACHE_MAX_ENTRIES_DEFAULT, ConfigDef.Range.atLeast(1),
+          ConfigDef.Importance.LOW, "max number of memoized deterministic cipher results per direction for fields which opt-in via 'memoize' in their field config")
+      .define(DETERMINISTIC_CACHE_MAX_BYTES, Type.LONG, DETERMINISTIC_CACHE_MAX_BYTES_DEFAULT, ConfigDef.Range.atLeast(1),
+          ConfigDef.Importance.LOW, "max number of bytes (inputs plus results) of memoized deterministic cipher results per direction")
+      .define(BLIND_INDEX_KEY_IDENTIFIER, Type.STRING, BLIND_INDEX_KEY_IDENTIFIER_DEFAULT,
+          ConfigDef.Importance.MEDIUM, "keyset identifier of a Tink PRF keyset used as default to compute blind indexes for all fields which enable 'blindIndex' in their field config without referring to a field-specific 'blindIndexKeyId'")
+      .define(BLIND_INDEX_FIELD_SUFFIX, Type.STRING, BLIND_INDEX_FIELD_SUFFIX_DEFAULT, new NonEmptyString(),
+          ConfigDef.Importance.LOW, "suffix appended to a field's name to derive the name of its blind index companion field")
+      .define(BLIND_INDEX_LENGTH, Type.INT, BLIND_INDEX_LENGTH_DEFAULT, ConfigDef.Range.between(BLIND_INDEX_LENGTH_MIN, BLIND_INDEX_LENGTH_MAX),
+          ConfigDef.Importance.LOW, "number of bytes of computed blind indexes")
+      .define(COMPRESSION_TYPE, Type.STRING, COMPRESSION_TYPE_DEFAULT, ValidString.in(names(CompressionType.values())),
+          ConfigDef.Importance.LOW, "defines whether serialized plaintexts get compressed before encryption, either 'NONE' or 'DEFLATE', only applies to the 'k2' cipher text version")
+      .define(COMPRESSION_THRESHOLD, Type.INT, COMPRESSION_THRESHOLD_DEFAULT, ConfigDef.Range.atLeast(0),
+          ConfigDef.Importance.LOW, "min number of bytes of a serialized plaintext before it gets compressed")
+      .define(PAYLOAD_METADATA_MODE, Type.STRING, PAYLOAD_METADATA_MODE_DEFAULT, ValidString.in(PayloadMetaDataMode.EMBEDDED.name()),
+          ConfigDef.Importance.LOW, "payload meta-data (version, algorithm, key id) is always kept within every encrypted field")
+      .define(METRICS_ENABLED, Type.BOOLEAN, METRICS_ENABLED_DEFAULT,
+          ConfigDef.Importance.LOW, "whether counts, bytes and latencies of cipher operations, serdes, key cache lookups and KMS fetches are recorded and exposed as JMX MBean")
+      .define(METRICS_NAME, Type.STRING, METRICS_NAME_DEFAULT, new NonEmptyString(),
+          ConfigDef.Importance.LOW, "value of the 'name' key property of the JMX MBean's object name if 'metrics_enabled' is true")
+      .define(INNER_SERIALIZER, Type.CLASS, INNER_SERIALIZER_DEFAULT, ConfigDef.Importance.MEDIUM,
+          "serializer class which is applied to the record data after matching fields got encrypted")
+      .define(INNER_DESERIALIZER, Type.CLASS, INNER_DESERIALIZER_DEFAULT, ConfigDef.Importance.MEDIUM,
+          "deserializer class which is applied to the record bytes before matching fields get decrypted");
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  public KryptoniteSerdeConfig(Map<String, ?> props, CipherMode cipherMode) {
+    super(CONFIG_DEF, withCipherMode(props, cipherMode));
+  }
+
+  public SchemalessRecordHandler createRecordHandler() {
+    try {
+      var fieldPathMap =
+          OBJECT_MAPPER
+              .readValue(getString(FIELD_CONFIG), new TypeReference<Set<FieldConfig>>() {})
+              .stream().collect(Collectors.toMap(FieldConfig::getName, Function.identity()));
+      if (fieldPathMap.isEmpty()) {
+        throw new ConfigException(FIELD_CONFIG, getString(FIELD_CONFIG),
+            "there must be at least 1 valid field path definition entry");
+      }
+      var kryptonite = Kryptonite.createFromConfig(adaptToNormalizedStringsMap());
+      //NOTE: schemaless record data never contains connect structs hence the struct schema mode doesn't apply
+      SerdeProcessor serdeProcessor = SerdeType.TAGGED == SerdeType.valueOf(getString(SERDE_TYPE))
+          ? new TaggedSerdeProcessor()
+          : new KryoSerdeProcessor();
+      return new SchemalessRecordHandler(this, serdeProcessor, kryptonite,
+          CipherMode.valueOf(getString(CIPHER_MODE)), fieldPathMap);
+    } catch (JsonProcessingException e) {
+      throw new ConfigException(e.getMessage());
+    }
+  }
+
+  public Map<String, String> adaptToNormalizedStringsMap() {
+    return Map.ofEntries(
+        Map.entry(FIELD_CONFIG, getString(FIELD_CONFIG)),
+        Map.entry(PATH_DELIMITER, getString(PATH_DELIMITER)),
+        Map.entry(FIELD_MODE, getString(FIELD_MODE)),
+        Map.entry(CIPHER_ALGORITHM, getString(CIPHER_ALGORITHM)),
+        Map.entry(CIPHER_DATA_KEYS, getPassword(CIPHER_DATA_KEYS).value()),
+        Map.entry(CIPHER_DATA_KEY_IDENTIFIER, getString(CIPHER_DATA_KEY_IDENTIFIER)),
+        Map.entry(CIPHER_TEXT_ENCODING, getString(CIPHER_TEXT_ENCODING)),
+        Map.entry(CIPHER_TEXT_VERSION, getString(CIPHER_TEXT_VERSION)),
+        Map.entry(CIPHER_MODE, getString(CIPHER_MODE)),
+        Map.entry(KEY_SOURCE, getString(KEY_SOURCE)),
+        Map.entry(KMS_TYPE, getString(KMS_TYPE)),
+        Map.entry(KMS_CONFIG, getPassword(KMS_CONFIG).value()),
+        Map.entry(KMS_REFRESH_INTERVAL_MS, String.valueOf(getLong(KMS_REFRESH_INTERVAL_MS))),
+        Map.entry(KEK_TYPE, getString(KEK_TYPE)),
+        Map.entry(KEK_CONFIG, getPassword(KEK_CONFIG).value()),
+        Map.entry(KEK_URI, getPassword(KEK_URI).value()),
+        Map.entry(COMPRESSION_TYPE, getString(COMPRESSION_TYPE)),
+        Map.entry(COMPRESSION_THRESHOLD, String.valueOf(getInt(COMPRESSION_THRESHOLD))),
+        Map.entry(METRICS_ENABLED, String.valueOf(getBoolean(METRICS_ENABLED))),
+        Map.entry(METRICS_NAME, getString(METRICS_NAME))
+    );
+  }
+
+  private static String[] names(Enum<?>[] values) {
+    return Arrays.stream(values).map(Enum::name).toArray(String[]::new);
+  }
+
+  private static Map<String, Object> withCipherMode(Map<String, ?> props, CipherMode cipherMode) {
+    var adapted = new HashMap<String, Object>(props);
+    adapted.put(CIPHER_MODE, cipherMode.name());
+    return adapted;
+  }
+
+}
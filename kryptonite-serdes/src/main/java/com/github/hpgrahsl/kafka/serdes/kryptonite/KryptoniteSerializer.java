@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kafka.serdes.kryptonite;
+
+import com.github.hpgrahsl.kryptonite.CipherMode;
+import com.github.hpgrahsl.kryptonite.records.SchemalessRecordHandler;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+//NOTE: encrypts the configured fields of schemaless record data in-process
+//with the same field_config semantics as the SMT and then delegates to the inner serializer
+public class KryptoniteSerializer implements Serializer<Map<String, Object>> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(KryptoniteSerializer.class);
+
+  private Serializer<Map<String, Object>> inner;
+  private SchemalessRecordHandler recordHandler;
+
+  public KryptoniteSerializer() {
+  }
+
+  public KryptoniteSerializer(Serializer<Map<String, Object>> inner) {
+    this.inner = inner;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public void configure(Map<String, ?> configs, boolean isKey) {
+    var config = new KryptoniteSerdeConfig(configs, CipherMode.ENCRYPT);
+    if (inner == null) {
+      inner = config.getConfiguredInstance(KryptoniteSerdeConfig.INNER_SERIALIZER, Serializer.class);
+    }
+    inner.configure(configs, isKey);
+    recordHandler = config.createRecordHandler();
+  }
+
+  @Override
+  public byte[] serialize(String topic, Map<String, Object> data) {
+    return inner.serialize(topic, encryptFields(data));
+  }
+
+  @Override
+  public byte[] serialize(String topic, Headers headers, Map<String, Object> data) {
+    return inner.serialize(topic, headers, encryptFields(data));
+  }
+
+  private Map<String, Object> encryptFields(Map<String, Object> data) {
+    if (data == null) {
+      return null;
+    }
+    var updated = recordHandler.processFields(data, "");
+    LOGGER.trace("encrypted record data {}", updated);
+    return updated;
+  }
+
+  @Override
+  public void close() {
+    if (recordHandler != null) {
+      recordHandler.close();
+      recordHandler.getKryptonite().close();
+    }
+    if (inner != null) {
+      inner.close();
+    }
+  }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kafka.serdes.kryptonite;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class KryptoniteSerdeTest {
+
+  @ParameterizedTest
+  @MethodSource("com.github.hpgrahsl.kafka.serdes.kryptonite.KryptoniteSerdeTest#generateValidParams")
+  @DisplayName("apply serde deserialize(serialize(data)) = data for schemaless record with param combinations")
+  void serializeDeserializeRoundTripTest(String fieldMode, String cipherTextVersion, String serdeType) {
+    var configs = Map.of(
+        KryptoniteSettings.CIPHER_DATA_KEYS, TestFixtures.CIPHER_DATA_KEYS_CONFIG,
+        KryptoniteSettings.CIPHER_DATA_KEY_IDENTIFIER, "keyA",
+        KryptoniteSettings.FIELD_CONFIG, TestFixtures.FIELD_CONFIG,
+        KryptoniteSettings.FIELD_MODE, fieldMode,
+        KryptoniteSettings.CIPHER_TEXT_VERSION, cipherTextVersion,
+        KryptoniteSettings.SERDE_TYPE, serdeType
+    );
+    try (var serde = new KryptoniteSerde()) {
+      serde.configure(configs, false);
+      var serialized = serde.serializer().serialize("topic", TestFixtures.TEST_OBJ_MAP_1);
+      var encrypted = new JsonMapDeserializer().deserialize("topic", serialized);
+      var deserialized = serde.deserializer().deserialize("topic", serialized);
+      assertAll(
+          () -> assertInstanceOf(String.class, encrypted.get("id")),
+          () -> assertNotEquals(TestFixtures.TEST_OBJ_MAP_1.get("id"), encrypted.get("id")),
+          () -> assertNotEquals(TestFixtures.TEST_OBJ_MAP_1.get("myString"), encrypted.get("myString")),
+          () -> assertEquals(TestFixtures.TEST_OBJ_MAP_1.get("myInt"), encrypted.get("myInt")),
+          () -> assertInstanceOf(String.class, encrypted.get("mySubDoc1")),
+          () -> assertEquals(8, ((Map<?, ?>) encrypted.get("mySubDoc2")).get("k2")),
+          () -> assertEquals(TestFixtures.TEST_OBJ_MAP_1, deserialized),
+          () -> assertNull(serde.serializer().serialize("topic", null)),
+          () -> assertNull(serde.deserializer().deserialize("topic", null))
+      );
+    }
+  }
+
+  static List<Arguments> generateValidParams() {
+    return List.of(
+        Arguments.of("ELEMENT", "k1", "KRYO"),
+        Arguments.of("OBJECT", "k1", "KRYO"),
+        Arguments.of("ELEMENT", "k2", "TAGGED"),
+        Arguments.of("OBJECT", "k2", "TAGGED")
+    );
+  }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kafka.serdes.kryptonite;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TestFixtures {
+
+    public static final String CIPHER_DATA_KEYS_CONFIG = "["
+            + "{\"identifier\":\"keyA\","
+            + "\"material\":{"
+            + "\"primaryKeyId\":1000000001,"
+            + "\"key\":["
+            + "{\"keyData\":"
+            + "{\"typeUrl\":\"type.googleapis.com/google.crypto.tink.AesGcmKey\","
+            + "\"value\":\"GhDRulECKAC8/19NMXDjeCjK\","
+            + "\"keyMaterialType\":\"SYMMETRIC\"},"
+            + "\"status\":\"ENABLED\","
+            + "\"keyId\":1000000001,"
+            + "\"outputPrefixType\":\"TINK\""
+            + "}"
+            + "]"
+            + "}"
+            + "},"
+            + "{\"identifier\":\"key9\","
+            + "\"material\":{"
+            + "\"primaryKeyId\":1000000003,"
+            + "\"key\":["
+            + "{\"keyData\":"
+            + "{\"typeUrl\":\"type.googleapis.com/google.crypto.tink.AesSivKey\","
+            + "\"value\":\"EkByiHi3H9shy2FO5UWgStNMmgqF629esenhnm0wZZArUkEU1/9l9J3ajJQI0GxDwzM1WFZK587W0xVB8KK4dqnz\","
+            + "\"keyMaterialType\":\"SYMMETRIC\"},"
+            + "\"status\":\"ENABLED\","
+            + "\"keyId\":1000000003,"
+            + "\"outputPrefixType\":\"TINK\""
+            + "}"
+            + "]"
+            + "}"
+            + "}"
+            + "]";
+
+    public static final String FIELD_CONFIG = "["
+            + "{\"name\":\"id\"},"
+            + "{\"name\":\"myString\",\"algorithm\":\"TINK/AES_GCM_SIV\",\"keyId\":\"key9\"},"
+            + "{\"name\":\"myArray1\"},"
+            + "{\"name\":\"mySubDoc1\",\"fieldMode\":\"OBJECT\"}"
+            + "]";
+
+    public static final Map<String, Object> TEST_OBJ_MAP_1;
+
+    static {
+        TEST_OBJ_MAP_1 = new LinkedHashMap<>();
+        TEST_OBJ_MAP_1.put("id", "1234567890");
+        TEST_OBJ_MAP_1.put("myString", "some foo bla text");
+        TEST_OBJ_MAP_1.put("myInt", 42);
+        TEST_OBJ_MAP_1.put("myBoolean", true);
+        TEST_OBJ_MAP_1.put("myArray1", List.of("str_1", "str_2", "...", "str_N"));
+        TEST_OBJ_MAP_1.put("mySubDoc1", new LinkedHashMap<>(Map.of("myString", "hello json")));
+        TEST_OBJ_MAP_1.put("mySubDoc2", new LinkedHashMap<>(Map.of("k1", 9, "k2", 8)));
+    }
+
+}
@@ -23,6 +23,10 @@ public class EncryptedField implements Cipherable {
   private PayloadMetaData metaData;
   private byte[] ciphertext;
 
+  //NOTE: transient since only the k2 envelope carries flags whereas
+  //the kryo based k1 format must stay unchanged
+  private transient byte flags;
+
   public EncryptedField() {
   }
 
@@ -31,9 +35,15 @@ public class EncryptedField implements Cipherable {
     this.ciphertext = ciphertext;
   }
 
+  public EncryptedField(PayloadMetaData metaData, byte[] ciphertext, byte flags) {
+    this.metaData = metaData;
+    this.ciphertext = ciphertext;
+    this.flags = flags;
+  }
+
   @Override
   public byte[] associatedData() {
-    return metaData != null ? metaData.asBytes() : null;
+    return metaData != null ? metaData.asBytes(flags) : null;
   }
 
   @Override
@@ -45,10 +55,15 @@ public class EncryptedField implements Cipherable {
     return metaData;
   }
 
+  public byte getFlags() {
+    return flags;
+  }
+
   @Override
   public String toString() {
     return "EncryptedField{" +
         "metaData=" + metaData +
+        ", flags=" + flags +
         ", ciphertext=" + Arrays.toString(ciphertext) +
         '}';
   }
@@ -23,12 +23,17 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.hpgrahsl.kryptonite.config.ConfigurationException;
 import com.github.hpgrahsl.kryptonite.config.DataKeyConfig;
 import com.github.hpgrahsl.kryptonite.config.DataKeyConfigEncrypted;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.CompressionType;
 import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.KekType;
 import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.KeySource;
 import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.KmsType;
 import com.github.hpgrahsl.kryptonite.crypto.CryptoAlgorithm;
+import com.github.hpgrahsl.kryptonite.crypto.DeterministicCipherCache;
+import com.github.hpgrahsl.kryptonite.crypto.StreamingCryptoAlgorithm;
 import com.github.hpgrahsl.kryptonite.crypto.tink.TinkAesGcm;
+import com.github.hpgrahsl.kryptonite.crypto.tink.TinkAesGcmHkdfStreaming;
 import com.github.hpgrahsl.kryptonite.crypto.tink.TinkAesGcmSiv;
+import com.github.hpgrahsl.kryptonite.crypto.tink.TinkHmacPrf;
 import com.github.hpgrahsl.kryptonite.keys.AbstractKeyVault;
 import com.github.hpgrahsl.kryptonite.keys.TinkKeyVault;
 import com.github.hpgrahsl.kryptonite.keys.TinkKeyVaultEncrypted;
@@ -37,9 +42,21 @@ import com.github.hpgrahsl.kryptonite.kms.azure.AzureKeyVault;
 import com.github.hpgrahsl.kryptonite.kms.azure.AzureKeyVaultEncrypted;
 import com.github.hpgrahsl.kryptonite.kms.azure.AzureSecretResolver;
 import com.github.hpgrahsl.kryptonite.kms.gcp.GcpKeyEncryption;
+import com.github.hpgrahsl.kryptonite.metrics.KryptoniteMetrics;
+import com.github.hpgrahsl.kryptonite.serdes.DeflateCompression;
+import com.github.hpgrahsl.kryptonite.serdes.EncryptedFieldCodec;
+import com.github.hpgrahsl.kryptonite.serdes.SerdeProcessor;
+import com.github.hpgrahsl.kryptonite.serdes.TaggedSerdeProcessor;
 import com.google.crypto.tink.aead.AeadConfig;
 import com.google.crypto.tink.daead.DeterministicAeadConfig;
+import com.google.crypto.tink.prf.PrfConfig;
+import com.google.crypto.tink.streamingaead.StreamingAeadConfig;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
 import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -59,23 +76,28 @@ public class Kryptonite {
     private final String type;
     private final String name;
     private final CryptoAlgorithm algorithm;
+    private final int hashCode;
 
     public CipherSpec(String type, String name, CryptoAlgorithm algorithm) {
       this.type = Objects.requireNonNull(type,"cipher spec type must not be null");
       this.name = Objects.requireNonNull(name, "cipher spec name must not be null");
       this.algorithm = Objects.requireNonNull(algorithm, "cipher spec algorithm must not be null");
+      this.hashCode = Objects.hash(type, name);
     }
 
+    private static final Map<String, CipherSpec> CIPHER_SPECS_BY_NAME = Map.of(
+        TinkAesGcm.CIPHER_ALGORITHM, new CipherSpec(CipherSpec.TYPE_TINK, TinkAesGcm.CIPHER_ALGORITHM, new TinkAesGcm()),
+        TinkAesGcmSiv.CIPHER_ALGORITHM, new CipherSpec(CipherSpec.TYPE_TINK, TinkAesGcmSiv.CIPHER_ALGORITHM, new TinkAesGcmSiv()),
+        TinkAesGcmHkdfStreaming.CIPHER_ALGORITHM, new CipherSpec(CipherSpec.TYPE_TINK, TinkAesGcmHkdfStreaming.CIPHER_ALGORITHM, new TinkAesGcmHkdfStreaming())
+    );
+
     public static CipherSpec fromName(String name) {
       Objects.requireNonNull(name,"name must not be null");
-      switch(name) {
-        case TinkAesGcm.CIPHER_ALGORITHM:
-          return new CipherSpec(CipherSpec.TYPE_TINK, TinkAesGcm.CIPHER_ALGORITHM, new TinkAesGcm());
-        case TinkAesGcmSiv.CIPHER_ALGORITHM:
-          return new CipherSpec(CipherSpec.TYPE_TINK, TinkAesGcmSiv.CIPHER_ALGORITHM, new TinkAesGcmSiv());
-        default:
-          throw new IllegalArgumentException("invalid name "+name+" to create CipherSpec");
+      var cipherSpec = CIPHER_SPECS_BY_NAME.get(name);
+      if (cipherSpec == null) {
+        throw new IllegalArgumentException("invalid name "+name+" to create CipherSpec");
       }
+      return cipherSpec;
     }
 
     public String getType() {
@@ -104,7 +126,7 @@ public class Kryptonite {
 
     @Override
     public int hashCode() {
-      return Objects.hash(type, name);
+      return hashCode;
     }
 
     @Override
@@ -117,28 +139,58 @@ public class Kryptonite {
 
   }
 
-  public static final String KRYPTONITE_VERSION = "k1";
+  public static final String KRYPTONITE_VERSION_K1 = "k1";
+  public static final String KRYPTONITE_VERSION_K2 = "k2";
+  public static final String KRYPTONITE_VERSION = KRYPTONITE_VERSION_K1;
 
   public static final Map<CipherSpec,String> CIPHERSPEC_ID_LUT = Map.of(
       CipherSpec.fromName(TinkAesGcm.CIPHER_ALGORITHM),"02",
-      CipherSpec.fromName(TinkAesGcmSiv.CIPHER_ALGORITHM),"03"
+      CipherSpec.fromName(TinkAesGcmSiv.CIPHER_ALGORITHM),"03",
+      CipherSpec.fromName(TinkAesGcmHkdfStreaming.CIPHER_ALGORITHM),"04"
   );
 
   public static final Map<String,CipherSpec> ID_CIPHERSPEC_LUT = Map.of(
       "02", CipherSpec.fromName(TinkAesGcm.CIPHER_ALGORITHM),
-      "03", CipherSpec.fromName(TinkAesGcmSiv.CIPHER_ALGORITHM)
+      "03", CipherSpec.fromName(TinkAesGcmSiv.CIPHER_ALGORITHM),
+      "04", CipherSpec.fromName(TinkAesGcmHkdfStreaming.CIPHER_ALGORITHM)
+  );
+
+  public static final Map<String,String> CIPHERNAME_ID_LUT = Map.of(
+      TinkAesGcm.CIPHER_ALGORITHM, "02",
+      TinkAesGcmSiv.CIPHER_ALGORITHM, "03",
+      TinkAesGcmHkdfStreaming.CIPHER_ALGORITHM, "04"
   );
 
   private static final Logger LOGGER = LoggerFactory.getLogger(Kryptonite.class);
   private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final TinkHmacPrf BLIND_INDEX_PRF = new TinkHmacPrf();
+  private static final SerdeProcessor BLIND_INDEX_SERDE = new TaggedSerdeProcessor();
 
   private final AbstractKeyVault keyVault;
+  private final CompressionType compressionType;
+  private final int compressionThreshold;
+  private final KryptoniteMetrics metrics;
 
   public Kryptonite(AbstractKeyVault keyVault) {
+    this(keyVault, CompressionType.valueOf(COMPRESSION_TYPE_DEFAULT), COMPRESSION_THRESHOLD_DEFAULT);
+  }
+
+  public Kryptonite(AbstractKeyVault keyVault, CompressionType compressionType, int compressionThreshold) {
+    this(keyVault, compressionType, compressionThreshold, KryptoniteMetrics.DISABLED);
+  }
+
+  public Kryptonite(AbstractKeyVault keyVault, CompressionType compressionType, int compressionThreshold,
+      KryptoniteMetrics metrics) {
     this.keyVault = keyVault;
+    this.compressionType = Objects.requireNonNull(compressionType, "compression type must not be null");
+    this.compressionThreshold = compressionThreshold;
+    this.metrics = Objects.requireNonNull(metrics, "metrics must not be null");
+    keyVault.setMetrics(metrics);
     try {
       AeadConfig.register();
       DeterministicAeadConfig.register();
+      StreamingAeadConfig.register();
+      PrfConfig.register();
     } catch (GeneralSecurityException e) {
       throw new KryptoniteException(e);
     }
@@ -146,10 +198,12 @@ public class Kryptonite {
 
   public EncryptedField cipherField(byte[] plaintext, PayloadMetaData metadata) {
     try {
-      var cipherSpec = ID_CIPHERSPEC_LUT.get(metadata.getAlgorithmId());
-      return new EncryptedField(
-          metadata,
-          cipherSpec.getAlgorithm().cipher(plaintext, keyVault.readKeysetHandle(metadata.getKeyId()), metadata.asBytes())
+      var algorithm = ID_CIPHERSPEC_LUT.get(metadata.getAlgorithmId()).getAlgorithm();
+      return encrypt(
+          algorithm,
+          keyVault.readPrimitive(metadata.getKeyId(), algorithm.getPrimitiveClass()),
+          plaintext,
+          metadata
       );
     } catch (Exception e) {
       throw new KryptoniteException(e.getMessage(),e);
@@ -158,17 +212,311 @@ public class Kryptonite {
 
   public byte[] decipherField(EncryptedField encryptedField) {
     try {
-      var cipherSpec = ID_CIPHERSPEC_LUT.get(encryptedField.getMetaData().getAlgorithmId());
-      return cipherSpec.getAlgorithm().decipher(
-          encryptedField.ciphertext(),
-          keyVault.readKeysetHandle(encryptedField.getMetaData().getKeyId()),
-          encryptedField.associatedData()
+      //NOTE: deserialized metadata is resolved to its interned instance if there is one
+      //in order to benefit from the cached associated data bytes
+      var metadata = encryptedField.getMetaData().resolve();
+      var algorithm = ID_CIPHERSPEC_LUT.get(metadata.getAlgorithmId()).getAlgorithm();
+      return decrypt(
+          algorithm,
+          keyVault.readPrimitive(metadata.getKeyId(), algorithm.getPrimitiveClass()),
+          encryptedField,
+          metadata
+      );
+    } catch (Exception e) {
+      throw new KryptoniteException(e.getMessage(),e);
+    }
+  }
+
+  //NOTE: cache aware variants memoize results of deterministic algorithms so that
+  //repeated values skip the cipher operation, other algorithms bypass the cache
+  //and so do plaintexts which are subject to compression since the cache keeps no flags
+  public EncryptedField cipherField(byte[] plaintext, PayloadMetaData metadata, DeterministicCipherCache cache) {
+    var algorithm = ID_CIPHERSPEC_LUT.get(metadata.getAlgorithmId()).getAlgorithm();
+    if (cache == null || !algorithm.isDeterministic() || compresses(algorithm, plaintext, metadata)) {
+      return cipherField(plaintext, metadata);
+    }
+    var interned = metadata.intern();
+    var ciphertext = cache.getCiphertext(interned, plaintext);
+    if (ciphertext == null) {
+      ciphertext = cipherField(plaintext, interned).ciphertext();
+      cache.putCiphertext(interned, plaintext, ciphertext);
+    }
+    return new EncryptedField(metadata, ciphertext);
+  }
+
+  //NOTE: flagged fields bypass the cache as well since their flags are authenticated
+  //during decryption and a cached plaintext must never be served for differing flags
+  public byte[] decipherField(EncryptedField encryptedField, DeterministicCipherCache cache) {
+    var metadata = encryptedField.getMetaData().resolve();
+    var algorithm = ID_CIPHERSPEC_LUT.get(metadata.getAlgorithmId()).getAlgorithm();
+    if (cache == null || !algorithm.isDeterministic() || encryptedField.getFlags() != EncryptedFieldCodec.FLAGS_NONE) {
+      return decipherField(encryptedField);
+    }
+    var plaintext = cache.getPlaintext(metadata, encryptedField.ciphertext());
+    if (plaintext == null) {
+      plaintext = decipherField(encryptedField);
+      cache.putPlaintext(metadata, encryptedField.ciphertext(), plaintext);
+    }
+    return plaintext;
+  }
+
+  public EncryptedField[] cipherFields(byte[][] plaintexts, PayloadMetaData metadata, DeterministicCipherCache cache) {
+    var algorithm = ID_CIPHERSPEC_LUT.get(metadata.getAlgorithmId()).getAlgorithm();
+    if (cache == null || !algorithm.isDeterministic()) {
+      return cipherFields(plaintexts, metadata);
+    }
+    var encryptedFields = new EncryptedField[plaintexts.length];
+    for (int i = 0; i < plaintexts.length; i++) {
+      encryptedFields[i] = cipherField(plaintexts[i], metadata, cache);
+    }
+    return encryptedFields;
+  }
+
+  public byte[][] decipherFields(EncryptedField[] encryptedFields, DeterministicCipherCache cache) {
+    if (cache == null) {
+      return decipherFields(encryptedFields);
+    }
+    var plaintexts = new byte[encryptedFields.length][];
+    for (int i = 0; i < encryptedFields.length; i++) {
+      plaintexts[i] = decipherField(encryptedFields[i], cache);
+    }
+    return plaintexts;
+  }
+
+  //NOTE: serde aware variants let streaming algorithms (de)serialize field values directly
+  //into / out of the cipher streams so that large values are processed segment-wise
+  //without materializing their complete serialized plaintext first
+  public EncryptedField cipherField(Object object, SerdeProcessor serdeProcessor, PayloadMetaData metadata) {
+    var algorithm = ID_CIPHERSPEC_LUT.get(metadata.getAlgorithmId()).getAlgorithm();
+    if (!(algorithm instanceof StreamingCryptoAlgorithm)) {
+      var start = metrics.start();
+      var plaintext = serdeProcessor.objectToBytes(object);
+      metrics.recordSerialization(start);
+      return cipherField(plaintext, metadata);
+    }
+    //NOTE: streamed values are serialized while being encrypted hence neither serde time
+    //nor plaintext bytes can be told apart and the total time is recorded as encryption
+    var start = metrics.start();
+    try {
+      var streamingAlgorithm = (StreamingCryptoAlgorithm) algorithm;
+      var ciphertext = new ByteArrayOutputStream(
+          streamingAlgorithm.expectedCiphertextSize(object instanceof byte[] ? ((byte[])object).length + 16 : 0));
+      try (var encrypting = streamingAlgorithm.newEncryptingStream(ciphertext,
+          keyVault.readPrimitive(metadata.getKeyId(), algorithm.getPrimitiveClass()), metadata.asBytes())) {
+        serdeProcessor.objectToStream(object, encrypting);
+      }
+      var encryptedField = new EncryptedField(metadata, ciphertext.toByteArray());
+      metrics.recordEncryption(metadata, 0, encryptedField.ciphertext().length, start);
+      return encryptedField;
+    } catch (Exception e) {
+      metrics.recordFailure(metadata);
+      throw new KryptoniteException(e.getMessage(),e);
+    }
+  }
+
+  //NOTE: flagged fields can only be inflated after decrypting them as a whole
+  //which is why they never take the segment-wise decrypting stream
+  public Object decipherField(EncryptedField encryptedField, SerdeProcessor serdeProcessor) {
+    var metadata = encryptedField.getMetaData().resolve();
+    var algorithm = ID_CIPHERSPEC_LUT.get(metadata.getAlgorithmId()).getAlgorithm();
+    if (!(algorithm instanceof StreamingCryptoAlgorithm) || encryptedField.getFlags() != EncryptedFieldCodec.FLAGS_NONE) {
+      var plaintext = decipherField(encryptedField);
+      var start = metrics.start();
+      var object = serdeProcessor.bytesToObject(plaintext);
+      metrics.recordDeserialization(start);
+      return object;
+    }
+    var start = metrics.start();
+    try (var decrypting = ((StreamingCryptoAlgorithm) algorithm).newDecryptingStream(
+        new ByteArrayInputStream(encryptedField.ciphertext()),
+        keyVault.readPrimitive(metadata.getKeyId(), algorithm.getPrimitiveClass()), metadata.asBytes())) {
+      var object = serdeProcessor.streamToObject(decrypting);
+      metrics.recordDecryption(metadata, encryptedField.ciphertext().length, 0, start);
+      return object;
+    } catch (Exception e) {
+      metrics.recordFailure(metadata);
+      throw new KryptoniteException(e.getMessage(),e);
+    }
+  }
+
+  //NOTE: batch variants resolve algorithm, key and primitive only once per batch
+  //and write their results into pre-sized arrays instead of per-field lookups
+  public List<EncryptedField> cipherFields(List<byte[]> plaintexts, PayloadMetaData metadata) {
+    return Arrays.asList(cipherFields(plaintexts.toArray(new byte[0][]), metadata));
+  }
+
+  public EncryptedField[] cipherFields(ByteBuffer[] plaintexts, PayloadMetaData metadata) {
+    var bytes = new byte[plaintexts.length][];
+    for (int i = 0; i < plaintexts.length; i++) {
+      bytes[i] = toBytes(plaintexts[i]);
+    }
+    return cipherFields(bytes, metadata);
+  }
+
+  public EncryptedField[] cipherFields(byte[][] plaintexts, PayloadMetaData metadata) {
+    var encryptedFields = new EncryptedField[plaintexts.length];
+    if (plaintexts.length == 0) {
+      return encryptedFields;
+    }
+    try {
+      var algorithm = ID_CIPHERSPEC_LUT.get(metadata.getAlgorithmId()).getAlgorithm();
+      var primitive = keyVault.readPrimitive(metadata.getKeyId(), algorithm.getPrimitiveClass());
+      for (int i = 0; i < plaintexts.length; i++) {
+        encryptedFields[i] = encrypt(algorithm, primitive, plaintexts[i], metadata);
+      }
+      return encryptedFields;
+    } catch (Exception e) {
+      throw new KryptoniteException(e.getMessage(),e);
+    }
+  }
+
+  public List<byte[]> decipherFields(List<EncryptedField> encryptedFields) {
+    return Arrays.asList(decipherFields(encryptedFields.toArray(new EncryptedField[0])));
+  }
+
+  public ByteBuffer[] decipherFieldsToBuffers(EncryptedField[] encryptedFields) {
+    var plaintexts = decipherFields(encryptedFields);
+    var buffers = new ByteBuffer[plaintexts.length];
+    for (int i = 0; i < plaintexts.length; i++) {
+      buffers[i] = ByteBuffer.wrap(plaintexts[i]);
+    }
+    return buffers;
+  }
+
+  public byte[][] decipherFields(EncryptedField[] encryptedFields) {
+    var plaintexts = new byte[encryptedFields.length][];
+    try {
+      PayloadMetaData current = null;
+      CryptoAlgorithm algorithm = null;
+      Object primitive = null;
+      for (int i = 0; i < encryptedFields.length; i++) {
+        var metadata = encryptedFields[i].getMetaData().resolve();
+        //NOTE: fields of a batch typically share their metadata which allows
+        //to skip algorithm and primitive resolution for all but the first field
+        if (!metadata.equals(current)) {
+          algorithm = ID_CIPHERSPEC_LUT.get(metadata.getAlgorithmId()).getAlgorithm();
+          primitive = keyVault.readPrimitive(metadata.getKeyId(), algorithm.getPrimitiveClass());
+          current = metadata;
+        }
+        plaintexts[i] = decrypt(algorithm, primitive, encryptedFields[i], metadata);
+      }
+      return plaintexts;
+    } catch (Exception e) {
+      throw new KryptoniteException(e.getMessage(),e);
+    }
+  }
+
+  //NOTE: blind indexes are fixed-size keyed tokens of the plaintext which are equal for
+  //equal inputs under the same key, they cannot be reversed and thus never replace
+  //ciphertexts that need to be decrypted later on
+  public byte[] blindIndex(byte[] plaintext, String keyId) {
+    return blindIndex(plaintext, keyId, BLIND_INDEX_LENGTH_DEFAULT);
+  }
+
+  public byte[] blindIndex(byte[] plaintext, String keyId, int outputLength) {
+    try {
+      return BLIND_INDEX_PRF.compute(
+          plaintext,
+          keyVault.readPrimitive(keyId, BLIND_INDEX_PRF.getPrimitiveClass()),
+          outputLength
       );
     } catch (Exception e) {
       throw new KryptoniteException(e.getMessage(),e);
     }
   }
 
+  //NOTE: values are always encoded with the tagged serde regardless of the configured
+  //serde type so that equal values result in equal tokens across all modules and configs
+  public byte[] blindIndexValue(Object value, String keyId, int outputLength) {
+    return blindIndex(BLIND_INDEX_SERDE.objectToBytes(value), keyId, outputLength);
+  }
+
+  public byte[][] blindIndexes(byte[][] plaintexts, String keyId, int outputLength) {
+    var indexes = new byte[plaintexts.length][];
+    if (plaintexts.length == 0) {
+      return indexes;
+    }
+    try {
+      var primitive = keyVault.readPrimitive(keyId, BLIND_INDEX_PRF.getPrimitiveClass());
+      for (int i = 0; i < plaintexts.length; i++) {
+        indexes[i] = BLIND_INDEX_PRF.compute(plaintexts[i], primitive, outputLength);
+      }
+      return indexes;
+    } catch (Exception e) {
+      throw new KryptoniteException(e.getMessage(),e);
+    }
+  }
+
+  //NOTE: compression is only applied to k2 payloads because the flag which marks
+  //compressed plaintexts lives in the k2 envelope, k1 payloads are never compressed
+  //and neither are payloads of streaming algorithms which get decrypted segment-wise
+  private boolean compresses(CryptoAlgorithm algorithm, byte[] plaintext, PayloadMetaData metadata) {
+    return compressionType == CompressionType.DEFLATE
+        && plaintext.length >= compressionThreshold
+        && KRYPTONITE_VERSION_K2.equals(metadata.getVersion())
+        && !(algorithm instanceof StreamingCryptoAlgorithm);
+  }
+
+  private EncryptedField encrypt(CryptoAlgorithm algorithm, Object primitive, byte[] plaintext, PayloadMetaData metadata)
+      throws Exception {
+    var start = metrics.start();
+    try {
+      var input = plaintext;
+      var flags = EncryptedFieldCodec.FLAGS_NONE;
+      if (compresses(algorithm, plaintext, metadata)) {
+        var compressed = DeflateCompression.compress(plaintext);
+        if (compressed != null) {
+          input = compressed;
+          flags = EncryptedFieldCodec.FLAG_DEFLATE;
+        }
+      }
+      var ciphertext = algorithm.cipher(input, primitive, metadata.asBytes(flags));
+      metrics.recordEncryption(metadata, plaintext.length, ciphertext.length, start);
+      return new EncryptedField(metadata, ciphertext, flags);
+    } catch (Exception e) {
+      metrics.recordFailure(metadata);
+      throw e;
+    }
+  }
+
+  //NOTE: decryption honours the flags of each field regardless of the configured
+  //compression settings so that consumers need no compression specific settings
+  private byte[] decrypt(CryptoAlgorithm algorithm, Object primitive, EncryptedField encryptedField, PayloadMetaData metadata)
+      throws Exception {
+    var start = metrics.start();
+    try {
+      var flags = encryptedField.getFlags();
+      var plaintext = algorithm.decipher(encryptedField.ciphertext(), primitive, metadata.asBytes(flags));
+      if ((flags & EncryptedFieldCodec.FLAG_DEFLATE) != 0) {
+        plaintext = DeflateCompression.decompress(plaintext);
+      }
+      metrics.recordDecryption(metadata, encryptedField.ciphertext().length, plaintext.length, start);
+      return plaintext;
+    } catch (Exception e) {
+      metrics.recordFailure(metadata);
+      throw e;
+    }
+  }
+
+  private static byte[] toBytes(ByteBuffer buffer) {
+    if (buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.position() == 0
+        && buffer.remaining() == buffer.array().length) {
+      return buffer.array();
+    }
+    var bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return bytes;
+  }
+
+  public KryptoniteMetrics getMetrics() {
+    return metrics;
+  }
+
+  public void close() {
+    metrics.unregisterMBean();
+    keyVault.close();
+  }
+
   public static Kryptonite createFromConfig(Map<String,String> config) {
     try {
       var keySource = KeySource.valueOf(config.get(KEY_SOURCE));
@@ -199,7 +547,7 @@ public class Kryptonite {
     );
     var keyConfigs = dataKeyConfig.stream().collect(
         Collectors.toMap(DataKeyConfig::getIdentifier, DataKeyConfig::getMaterial));
-    return new Kryptonite(new TinkKeyVault(keyConfigs));
+    return create(new TinkKeyVault(keyConfigs), config);
   }
 
   private static Kryptonite withTinkKeyVaultEncrypted(Map<String,String> config)
@@ -210,7 +558,7 @@ public class Kryptonite {
     );
     var keyConfigs = dataKeyConfig.stream().collect(
         Collectors.toMap(DataKeyConfigEncrypted::getIdentifier, DataKeyConfigEncrypted::getMaterial));
-    return new Kryptonite(new TinkKeyVaultEncrypted(keyConfigs, configureKmsKeyEncryption(config)));
+    return create(new TinkKeyVaultEncrypted(keyConfigs, configureKmsKeyEncryption(config)), config);
   }
 
   private static Kryptonite withKmsKeyVault(Map<String,String> config) {
@@ -218,7 +566,7 @@ public class Kryptonite {
     var kmsConfig = config.get(KMS_CONFIG);
     switch (kmsType) {
       case AZ_KV_SECRETS:
-        return new Kryptonite(new AzureKeyVault(new AzureSecretResolver(kmsConfig), true));
+        return create(new AzureKeyVault(new AzureSecretResolver(kmsConfig), true, kmsRefreshIntervalMillis(config)), config);
       default:
         throw new ConfigurationException(
             "error: configuration for a KMS backed tink key vault failed with param '"
@@ -231,14 +579,33 @@ public class Kryptonite {
     var kmsConfig = config.get(KMS_CONFIG);
     switch (kmsType) {
       case AZ_KV_SECRETS:
-        return new Kryptonite(
-            new AzureKeyVaultEncrypted(configureKmsKeyEncryption(config), new AzureSecretResolver(kmsConfig), true));
+        return create(
+            new AzureKeyVaultEncrypted(configureKmsKeyEncryption(config), new AzureSecretResolver(kmsConfig), true,
+                kmsRefreshIntervalMillis(config)), config);
       default:
         throw new ConfigurationException(
             "error: configuration for a KMS backed tink key vault failed with param '" + KMS_TYPE + "' -> " + kmsType);
     }
   }
 
+  private static Kryptonite create(AbstractKeyVault keyVault, Map<String,String> config) {
+    var metrics = KryptoniteMetrics.DISABLED;
+    if (Boolean.parseBoolean(config.getOrDefault(METRICS_ENABLED, String.valueOf(METRICS_ENABLED_DEFAULT)))) {
+      metrics = new KryptoniteMetrics();
+      metrics.registerMBean(config.getOrDefault(METRICS_NAME, METRICS_NAME_DEFAULT));
+    }
+    return new Kryptonite(
+        keyVault,
+        CompressionType.valueOf(config.getOrDefault(COMPRESSION_TYPE, COMPRESSION_TYPE_DEFAULT)),
+        Integer.parseInt(config.getOrDefault(COMPRESSION_THRESHOLD, String.valueOf(COMPRESSION_THRESHOLD_DEFAULT))),
+        metrics
+    );
+  }
+
+  private static long kmsRefreshIntervalMillis(Map<String,String> config) {
+    return Long.parseLong(config.getOrDefault(KMS_REFRESH_INTERVAL_MS, KMS_REFRESH_INTERVAL_MS_DEFAULT));
+  }
+
   private static KmsKeyEncryption configureKmsKeyEncryption(Map<String,String> config) {
     var kekType = KekType.valueOf(config.get(KEK_TYPE));
     var kekConfig = config.get(KEK_CONFIG);
@@ -16,17 +16,30 @@
 
 package com.github.hpgrahsl.kryptonite;
 
-import com.github.hpgrahsl.kryptonite.Kryptonite.CipherSpec;
 import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class PayloadMetaData {
 
+  //NOTE: interned instances per version -> algorithm id -> key id
+  //so that hot paths can share immutable metadata without allocating,
+  //only metadata built from trusted settings is ever interned
+  private static final Map<String, Map<String, Map<String, PayloadMetaData>>> INTERNED = new ConcurrentHashMap<>();
+
   private String version;
   private String algorithmId;
   private String keyId;
 
+  //NOTE: lazily computed and cached associated data which is shared by all fields
+  //referring to an interned instance and thus published safely across threads,
+  //eager computation isn't an option since instances may be populated after construction
+  private transient volatile byte[] associatedData;
+  private transient volatile byte[] flaggedAssociatedData;
+
   public PayloadMetaData() {
   }
 
@@ -37,11 +50,59 @@ public class PayloadMetaData {
   }
 
   public static PayloadMetaData from(FieldMetaData fieldMetaData) {
-    return new PayloadMetaData(
-        Kryptonite.KRYPTONITE_VERSION,
-        Kryptonite.CIPHERSPEC_ID_LUT.get(CipherSpec.fromName(fieldMetaData.getAlgorithm())),
-        fieldMetaData.getKeyId()
-    );
+    return from(fieldMetaData.getAlgorithm(), fieldMetaData.getKeyId());
+  }
+
+  public static PayloadMetaData from(String version, FieldMetaData fieldMetaData) {
+    return from(version, fieldMetaData.getAlgorithm(), fieldMetaData.getKeyId());
+  }
+
+  public static PayloadMetaData from(String algorithm, String keyId) {
+    return from(Kryptonite.KRYPTONITE_VERSION, algorithm, keyId);
+  }
+
+  public static PayloadMetaData from(String version, String algorithm, String keyId) {
+    var algorithmId = Kryptonite.CIPHERNAME_ID_LUT.get(Objects.requireNonNull(algorithm,"algorithm must not be null"));
+    if (algorithmId == null) {
+      throw new IllegalArgumentException("invalid cipher algorithm "+algorithm+" to create PayloadMetaData");
+    }
+    return of(version, algorithmId, keyId);
+  }
+
+  public static PayloadMetaData of(String version, String algorithmId, String keyId) {
+    var byAlgorithmId = INTERNED.get(version);
+    if (byAlgorithmId == null) {
+      byAlgorithmId = INTERNED.computeIfAbsent(Objects.requireNonNull(version), v -> new ConcurrentHashMap<>());
+    }
+    var byKeyId = byAlgorithmId.get(algorithmId);
+    if (byKeyId == null) {
+      byKeyId = byAlgorithmId.computeIfAbsent(Objects.requireNonNull(algorithmId), a -> new ConcurrentHashMap<>());
+    }
+    var metadata = byKeyId.get(keyId);
+    if (metadata == null) {
+      metadata = byKeyId.computeIfAbsent(Objects.requireNonNull(keyId), k -> new PayloadMetaData(version, algorithmId, k));
+    }
+    return metadata;
+  }
+
+  //NOTE: metadata of deserialized payloads is resolved to an already interned instance
+  //but never interned itself since arbitrary key ids of untrusted records would
+  //otherwise grow the interned instances without bound
+  public static PayloadMetaData lookup(String version, String algorithmId, String keyId) {
+    var interned = interned(version, algorithmId, keyId);
+    return interned != null ? interned : new PayloadMetaData(version, algorithmId, keyId);
+  }
+
+  private static PayloadMetaData interned(String version, String algorithmId, String keyId) {
+    if (version == null || algorithmId == null || keyId == null) {
+      return null;
+    }
+    var byAlgorithmId = INTERNED.get(version);
+    if (byAlgorithmId == null) {
+      return null;
+    }
+    var byKeyId = byAlgorithmId.get(algorithmId);
+    return byKeyId != null ? byKeyId.get(keyId) : null;
   }
 
   public String getVersion() {
@@ -56,12 +117,58 @@ public class PayloadMetaData {
     return keyId;
   }
 
+  //NOTE: the returned array is cached and shared hence it must not be modified by callers
   public byte[] asBytes() {
-    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-    baos.writeBytes(version.getBytes(StandardCharsets.UTF_8));
-    baos.writeBytes(algorithmId.getBytes(StandardCharsets.UTF_8));
-    baos.writeBytes(keyId.getBytes(StandardCharsets.UTF_8));
-    return baos.toByteArray();
+    var bytes = associatedData;
+    if (bytes == null) {
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      baos.writeBytes(version.getBytes(StandardCharsets.UTF_8));
+      baos.writeBytes(algorithmId.getBytes(StandardCharsets.UTF_8));
+      baos.writeBytes(keyId.getBytes(StandardCharsets.UTF_8));
+      bytes = baos.toByteArray();
+      associatedData = bytes;
+    }
+    return bytes;
+  }
+
+  //NOTE: flags are bound into the associated data so that tampering with
+  //them in the envelope fails authentication instead of misinterpreting the plaintext
+  public byte[] asBytes(byte flags) {
+    if (flags == 0) {
+      return asBytes();
+    }
+    var bytes = flaggedAssociatedData;
+    if (bytes == null || bytes[bytes.length - 1] != flags) {
+      var plain = asBytes();
+      bytes = Arrays.copyOf(plain, plain.length + 1);
+      bytes[plain.length] = flags;
+      flaggedAssociatedData = bytes;
+    }
+    return bytes;
+  }
+
+  public PayloadMetaData intern() {
+    return of(version, algorithmId, keyId);
+  }
+
+  public PayloadMetaData resolve() {
+    var interned = interned(version, algorithmId, keyId);
+    return interned != null ? interned : this;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof PayloadMetaData)) return false;
+    var that = (PayloadMetaData) o;
+    return Objects.equals(version, that.version)
+        && Objects.equals(algorithmId, that.algorithmId)
+        && Objects.equals(keyId, that.keyId);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(version, algorithmId, keyId);
   }
 
   @Override
@@ -19,6 +19,41 @@ public class KryptoniteSettings {
     GCP
   }
 
+  public enum SerdeType {
+    KRYO,
+    TAGGED
+  }
+
+  public enum StructSchemaMode {
+    EMBEDDED,
+    FINGERPRINT
+  }
+
+  public enum CompressionType {
+    NONE,
+    DEFLATE
+  }
+
+  public enum PayloadMetaDataMode {
+    EMBEDDED,
+    HEADER
+  }
+
+  public enum CipherEncoding {
+    BASE64,
+    RAW_BYTES
+  }
+
+  public enum FieldMode {
+    ELEMENT,
+    OBJECT
+  }
+
+  public enum BlindIndexMode {
+    COMPANION,
+    ONLY
+  }
+
   public static final String FIELD_CONFIG = "field_config";
   public static final String PATH_DELIMITER = "path_delimiter";
   public static final String FIELD_MODE = "field_mode";
@@ -26,13 +61,32 @@ public class KryptoniteSettings {
   public static final String CIPHER_DATA_KEY_IDENTIFIER = "cipher_data_key_identifier";
   public static final String CIPHER_DATA_KEYS = "cipher_data_keys";
   public static final String CIPHER_TEXT_ENCODING = "cipher_text_encoding";
+  public static final String CIPHER_TEXT_VERSION = "cipher_text_version";
   public static final String CIPHER_MODE = "cipher_mode";
   public static final String KEY_SOURCE = "key_source";
   public static final String KMS_TYPE = "kms_type";
   public static final String KMS_CONFIG = "kms_config";
+  public static final String KMS_REFRESH_INTERVAL_MS = "kms_refresh_interval_ms";
   public static final String KEK_TYPE = "kek_type";
   public static final String KEK_CONFIG = "kek_config";
   public static final String KEK_URI = "kek_uri";
+  public static final String SCHEMA_CACHE_SIZE = "schema_cache_size";
+  public static final String SCHEMA_CACHE_EXPIRY_MS = "schema_cache_expiry_ms";
+  public static final String STRUCT_SCHEMA_MODE = "struct_schema_mode";
+  public static final String SERDE_TYPE = "serde_type";
+  public static final String FIELD_PARALLELISM = "field_parallelism";
+  public static final String FIELD_PARALLELISM_THRESHOLD = "field_parallelism_threshold";
+  public static final String DETERMINISTIC_CACHE_MAX_ENTRIES = "deterministic_cache_max_entries";
+  public static final String DETERMINISTIC_CACHE_MAX_BYTES = "deterministic_cache_max_bytes";
+  public static final String BLIND_INDEX_KEY_IDENTIFIER = "blind_index_key_identifier";
+  public static final String BLIND_INDEX_FIELD_SUFFIX = "blind_index_field_suffix";
+  public static final String BLIND_INDEX_LENGTH = "blind_index_length";
+  public static final String COMPRESSION_TYPE = "compression_type";
+  public static final String COMPRESSION_THRESHOLD = "compression_threshold";
+  public static final String PAYLOAD_METADATA_MODE = "payload_metadata_mode";
+  public static final String PAYLOAD_METADATA_HEADER = "payload_metadata_header";
+  public static final String METRICS_ENABLED = "metrics_enabled";
+  public static final String METRICS_NAME = "metrics_name";
 
   public static final String PATH_DELIMITER_DEFAULT = ".";
   public static final String FIELD_MODE_DEFAULT = "ELEMENT";
@@ -40,11 +94,32 @@ public class KryptoniteSettings {
   public static final String CIPHER_DATA_KEY_IDENTIFIER_DEFAULT = "";
   public static final String CIPHER_DATA_KEYS_DEFAULT = "[]";
   public static final String CIPHER_TEXT_ENCODING_DEFAULT = "BASE64";
+  public static final String CIPHER_TEXT_VERSION_DEFAULT = "k1";
   public static final String KEY_SOURCE_DEFAULT = "CONFIG";
   public static final String KMS_TYPE_DEFAULT = "NONE";
   public static final String KMS_CONFIG_DEFAULT = "{}";
+  public static final String KMS_REFRESH_INTERVAL_MS_DEFAULT = "0";
   public static final String KEK_TYPE_DEFAULT = "NONE";
   public static final String KEK_CONFIG_DEFAULT = "{}";
   public static final String KEK_URI_DEFAULT = "xyz-kms://";
+  public static final int SCHEMA_CACHE_SIZE_DEFAULT = 16;
+  public static final long SCHEMA_CACHE_EXPIRY_MS_DEFAULT = 0L;
+  public static final String STRUCT_SCHEMA_MODE_DEFAULT = "EMBEDDED";
+  public static final String SERDE_TYPE_DEFAULT = "KRYO";
+  public static final int FIELD_PARALLELISM_DEFAULT = 1;
+  public static final int FIELD_PARALLELISM_THRESHOLD_DEFAULT = 16;
+  public static final int DETERMINISTIC_CACHE_MAX_ENTRIES_DEFAULT = 10000;
+  public static final long DETERMINISTIC_CACHE_MAX_BYTES_DEFAULT = 16L * 1024 * 1024;
+  public static final String BLIND_INDEX_KEY_IDENTIFIER_DEFAULT = "";
+  public static final String BLIND_INDEX_FIELD_SUFFIX_DEFAULT = "_bidx";
+  public static final int BLIND_INDEX_LENGTH_DEFAULT = 16;
+  public static final int BLIND_INDEX_LENGTH_MIN = 8;
+  public static final int BLIND_INDEX_LENGTH_MAX = 64;
+  public static final String COMPRESSION_TYPE_DEFAULT = "NONE";
+  public static final int COMPRESSION_THRESHOLD_DEFAULT = 512;
+  public static final String PAYLOAD_METADATA_MODE_DEFAULT = "EMBEDDED";
+  public static final String PAYLOAD_METADATA_HEADER_DEFAULT = "k4k-payload-metadata";
+  public static final boolean METRICS_ENABLED_DEFAULT = false;
+  public static final String METRICS_NAME_DEFAULT = "kryptonite";
 
 }
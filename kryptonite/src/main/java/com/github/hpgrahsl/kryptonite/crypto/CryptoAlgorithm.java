@@ -32,4 +32,16 @@ public interface CryptoAlgorithm {
 
   byte[] decipher(byte[] ciphertext, KeysetHandle keysetHandle, byte[] associatedData) throws Exception;
 
+  Class<?> getPrimitiveClass();
+
+  byte[] cipher(byte[] plaintext, Object primitive, byte[] associatedData) throws Exception;
+
+  byte[] decipher(byte[] ciphertext, Object primitive, byte[] associatedData) throws Exception;
+
+  //NOTE: deterministic algorithms always produce the same output for the same
+  //input, key and associated data which allows to memoize their results
+  default boolean isDeterministic() {
+    return false;
+  }
+
 }
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kryptonite.crypto;
+
+import com.github.hpgrahsl.kryptonite.PayloadMetaData;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+//NOTE: bounded memoization of deterministic cipher results per payload meta-data
+//and input bytes, lookups hash the input once and verify hits by full equality of the bytes,
+//entry and byte limits apply to each direction (encryption, decryption) separately
+public class DeterministicCipherCache {
+
+  private static final int MAX_SEGMENTS = 16;
+  private static final int MIN_ENTRIES_PER_SEGMENT = 64;
+
+  private final Segment[] ciphertexts;
+  private final Segment[] plaintexts;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public DeterministicCipherCache(int maxEntries, long maxBytes) {
+    if (maxEntries <= 0 || maxBytes <= 0) {
+      throw new IllegalArgumentException("cache limits must be positive but were "
+          + maxEntries + " entries and " + maxBytes + " bytes");
+    }
+    var numSegments = 1;
+    while (numSegments < MAX_SEGMENTS && numSegments * 2 * MIN_ENTRIES_PER_SEGMENT <= maxEntries) {
+      numSegments *= 2;
+    }
+    this.ciphertexts = createSegments(numSegments, maxEntries, maxBytes);
+    this.plaintexts = createSegments(numSegments, maxEntries, maxBytes);
+  }
+
+  public byte[] getCiphertext(PayloadMetaData metadata, byte[] plaintext) {
+    return get(ciphertexts, new Key(metadata, plaintext));
+  }
+
+  public void putCiphertext(PayloadMetaData metadata, byte[] plaintext, byte[] ciphertext) {
+    put(ciphertexts, new Key(metadata, plaintext), ciphertext);
+  }
+
+  public byte[] getPlaintext(PayloadMetaData metadata, byte[] ciphertext) {
+    return get(plaintexts, new Key(metadata, ciphertext));
+  }
+
+  public void putPlaintext(PayloadMetaData metadata, byte[] ciphertext, byte[] plaintext) {
+    put(plaintexts, new Key(metadata, ciphertext), plaintext);
+  }
+
+  public long getHits() {
+    return hits.sum();
+  }
+
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "DeterministicCipherCache{" +
+        "hits=" + getHits() +
+        ", misses=" + getMisses() +
+        ", evictions=" + getEvictions() +
+        '}';
+  }
+
+  private byte[] get(Segment[] segments, Key key) {
+    var segment = segmentFor(segments, key);
+    byte[] value;
+    synchronized (segment) {
+      value = segment.get(key);
+    }
+    if (value == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return value;
+  }
+
+  private void put(Segment[] segments, Key key, byte[] value) {
+    var segment = segmentFor(segments, key);
+    synchronized (segment) {
+      var previous = segment.put(key, value);
+      if (previous != null) {
+        segment.bytes -= key.bytes.length + previous.length;
+      }
+      segment.bytes += key.bytes.length + value.length;
+      var eldest = segment.entrySet().iterator();
+      while ((segment.size() > segment.maxEntries || segment.bytes > segment.maxBytes) && eldest.hasNext()) {
+        var e = eldest.next();
+        segment.bytes -= e.getKey().bytes.length + e.getValue().length;
+        eldest.remove();
+        evictions.increment();
+      }
+    }
+  }
+
+  private static Segment segmentFor(Segment[] segments, Key key) {
+    var h = key.hash;
+    h ^= (h >>> 16);
+    return segments[h & (segments.length - 1)];
+  }
+
+  private static Segment[] createSegments(int numSegments, int maxEntries, long maxBytes) {
+    var segments = new Segment[numSegments];
+    for (int s = 0; s < numSegments; s++) {
+      segments[s] = new Segment(Math.max(1, maxEntries / numSegments), Math.max(1, maxBytes / numSegments));
+    }
+    return segments;
+  }
+
+  private static final class Key {
+
+    private final PayloadMetaData metadata;
+    private final byte[] bytes;
+    private final int hash;
+
+    private Key(PayloadMetaData metadata, byte[] bytes) {
+      this.metadata = metadata;
+      this.bytes = bytes;
+      this.hash = 31 * metadata.hashCode() + Arrays.hashCode(bytes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof Key)) return false;
+      var that = (Key) o;
+      return hash == that.hash && metadata.equals(that.metadata) && Arrays.equals(bytes, that.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+  }
+
+  private static final class Segment extends LinkedHashMap<Key, byte[]> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private long bytes;
+
+    private Segment(int maxEntries, long maxBytes) {
+      super(16, 0.75f, true);
+      this.maxEntries = maxEntries;
+      this.maxBytes = maxBytes;
+    }
+
+  }
+
+}
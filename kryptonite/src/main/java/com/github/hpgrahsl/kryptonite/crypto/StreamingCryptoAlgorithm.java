@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.hpgrahsl.kryptonite.crypto;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+//NOTE: algorithms which process their payloads segment-wise so that
+//large field values never need to be fully materialized as plaintext
+public interface StreamingCryptoAlgorithm extends CryptoAlgorithm {
+
+  OutputStream newEncryptingStream(OutputStream ciphertext, Object primitive, byte[] associatedData) throws Exception;
+
+  InputStream newDecryptingStream(InputStream ciphertext, Object primitive, byte[] associatedData) throws Exception;
+
+  int expectedCiphertextSize(int plaintextSize);
+
+}
@@ -26,13 +26,28 @@ public class TinkAesGcm implements CryptoAlgorithm {
 
   @Override
   public byte[] cipher(byte[] plaintext, KeysetHandle keysetHandle, byte[] associatedData) throws Exception {
-    Aead aead = keysetHandle.getPrimitive(Aead.class);
-    return aead.encrypt(plaintext, associatedData);
+    return cipher(plaintext, keysetHandle.getPrimitive(Aead.class), associatedData);
   }
 
   @Override
   public byte[] decipher(byte[] ciphertext, KeysetHandle keysetHandle, byte[] associatedData) throws Exception {
-    Aead aead = keysetHandle.getPrimitive(Aead.class);
+    return decipher(ciphertext, keysetHandle.getPrimitive(Aead.class), associatedData);
+  }
+
+  @Override
+  public Class<Aead> getPrimitiveClass() {
+    return Aead.class;
+  }
+
+  @Override
+  public byte[] cipher(byte[] plaintext, Object primitive, byte[] associatedData) throws Exception {
+    Aead aead = (Aead) primitive;
+    return aead.encrypt(plaintext, associatedData);
+  }
+
+  @Override
+  public byte[] decipher(byte[] ciphertext, Object primitive, byte[] associatedData) throws Exception {
+    Aead aead = (Aead) primitive;
     return aead.decrypt(ciphertext, associatedData);
   }
 
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.hpgrahsl.kryptonite.crypto.tink;
+
+import com.github.hpgrahsl.kryptonite.crypto.StreamingCryptoAlgorithm;
+import com.google.crypto.tink.KeysetHandle;
+import com.google.crypto.tink.StreamingAead;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public class TinkAesGcmHkdfStreaming implements StreamingCryptoAlgorithm {
+
+  public static final String CIPHER_ALGORITHM = "TINK/AES_GCM_HKDF_STREAMING";
+
+  //NOTE: rough upper bound for header plus per segment tags of tink's default 4KB segments
+  private static final int SEGMENT_SIZE = 4096;
+  private static final int CIPHERTEXT_OVERHEAD = 64;
+  private static final int SEGMENT_OVERHEAD = 16;
+
+  private static final byte[] NO_ASSOCIATED_DATA = new byte[0];
+
+  @Override
+  public byte[] cipher(byte[] plaintext, KeysetHandle keysetHandle, byte[] associatedData) throws Exception {
+    return cipher(plaintext, keysetHandle.getPrimitive(StreamingAead.class), associatedData);
+  }
+
+  @Override
+  public byte[] decipher(byte[] ciphertext, KeysetHandle keysetHandle, byte[] associatedData) throws Exception {
+    return decipher(ciphertext, keysetHandle.getPrimitive(StreamingAead.class), associatedData);
+  }
+
+  @Override
+  public Class<StreamingAead> getPrimitiveClass() {
+    return StreamingAead.class;
+  }
+
+  @Override
+  public byte[] cipher(byte[] plaintext, Object primitive, byte[] associatedData) throws Exception {
+    var ciphertext = new ByteArrayOutputStream(expectedCiphertextSize(plaintext.length));
+    try (var encrypting = newEncryptingStream(ciphertext, primitive, associatedData)) {
+      encrypting.write(plaintext);
+    }
+    return ciphertext.toByteArray();
+  }
+
+  @Override
+  public byte[] decipher(byte[] ciphertext, Object primitive, byte[] associatedData) throws Exception {
+    try (var decrypting = newDecryptingStream(new ByteArrayInputStream(ciphertext), primitive, associatedData)) {
+      return decrypting.readAllBytes();
+    }
+  }
+
+  @Override
+  public OutputStream newEncryptingStream(OutputStream ciphertext, Object primitive, byte[] associatedData) throws Exception {
+    StreamingAead saead = (StreamingAead) primitive;
+    return saead.newEncryptingStream(ciphertext, associatedData != null ? associatedData : NO_ASSOCIATED_DATA);
+  }
+
+  @Override
+  public InputStream newDecryptingStream(InputStream ciphertext, Object primitive, byte[] associatedData) throws Exception {
+    StreamingAead saead = (StreamingAead) primitive;
+    return saead.newDecryptingStream(ciphertext, associatedData != null ? associatedData : NO_ASSOCIATED_DATA);
+  }
+
+  @Override
+  public int expectedCiphertextSize(int plaintextSize) {
+    return plaintextSize + CIPHERTEXT_OVERHEAD + (plaintextSize / SEGMENT_SIZE + 1) * SEGMENT_OVERHEAD;
+  }
+
+}
@@ -26,14 +26,34 @@ public class TinkAesGcmSiv implements CryptoAlgorithm {
 
   @Override
   public byte[] cipher(byte[] plaintext, KeysetHandle keysetHandle, byte[] associatedData) throws Exception {
-    DeterministicAead daead = keysetHandle.getPrimitive(DeterministicAead.class);
-    return daead.encryptDeterministically(plaintext, associatedData);
+    return cipher(plaintext, keysetHandle.getPrimitive(DeterministicAead.class), associatedData);
   }
 
   @Override
   public byte[] decipher(byte[] ciphertext, KeysetHandle keysetHandle, byte[] associatedData) throws Exception {
-    DeterministicAead daead = keysetHandle.getPrimitive(DeterministicAead.class);
+    return decipher(ciphertext, keysetHandle.getPrimitive(DeterministicAead.class), associatedData);
+  }
+
+  @Override
+  public Class<DeterministicAead> getPrimitiveClass() {
+    return DeterministicAead.class;
+  }
+
+  @Override
+  public byte[] cipher(byte[] plaintext, Object primitive, byte[] associatedData) throws Exception {
+    DeterministicAead daead = (DeterministicAead) primitive;
+    return daead.encryptDeterministically(plaintext, associatedData);
+  }
+
+  @Override
+  public byte[] decipher(byte[] ciphertext, Object primitive, byte[] associatedData) throws Exception {
+    DeterministicAead daead = (DeterministicAead) primitive;
     return daead.decryptDeterministically(ciphertext, associatedData);
   }
 
+  @Override
+  public boolean isDeterministic() {
+    return true;
+  }
+
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2021. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kryptonite.crypto.tink;
+
+import com.google.crypto.tink.KeysetHandle;
+import com.google.crypto.tink.prf.PrfSet;
+
+//NOTE: keyed pseudo-random function used to derive compact blind index tokens
+//which allow equality lookups and joins on encrypted fields without decryption
+public class TinkHmacPrf {
+
+  public static final String BLIND_INDEX_ALGORITHM = "TINK/HMAC_PRF";
+
+  public byte[] compute(byte[] input, KeysetHandle keysetHandle, int outputLength) throws Exception {
+    return compute(input, keysetHandle.getPrimitive(PrfSet.class), outputLength);
+  }
+
+  public Class<PrfSet> getPrimitiveClass() {
+    return PrfSet.class;
+  }
+
+  public byte[] compute(byte[] input, Object primitive, int outputLength) throws Exception {
+    PrfSet prfSet = (PrfSet) primitive;
+    return prfSet.computePrimary(input, outputLength);
+  }
+
+}
@@ -17,9 +17,11 @@
 package com.github.hpgrahsl.kryptonite.keys;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.hpgrahsl.kryptonite.config.TinkKeyConfig;
 import com.github.hpgrahsl.kryptonite.config.TinkKeyConfigEncrypted;
+import com.github.hpgrahsl.kryptonite.metrics.KryptoniteMetrics;
 import com.google.crypto.tink.Aead;
 import com.google.crypto.tink.CleartextKeysetHandle;
 import com.google.crypto.tink.JsonKeysetReader;
@@ -31,10 +33,21 @@ public abstract class AbstractKeyVault implements KeyVault {
 
   protected final Map<String, KeysetHandle> keysetHandles;
 
+  //NOTE: primitives are cached per primitive class and key identifier
+  //together with the keyset handle they were obtained from which allows
+  //to detect replaced keysets and transparently re-create the primitive
+  private final Map<Class<?>, Map<String, CachedPrimitive>> primitives = new ConcurrentHashMap<>();
+
+  protected volatile KryptoniteMetrics metrics = KryptoniteMetrics.DISABLED;
+
   public AbstractKeyVault(Map<String, KeysetHandle> keysetHandles) {
     this.keysetHandles = keysetHandles;
   }  
 
+  public void setMetrics(KryptoniteMetrics metrics) {
+    this.metrics = metrics;
+  }
+
   @Override
   public int numKeysetHandles() {
     return keysetHandles.size();
@@ -50,6 +63,33 @@ public abstract class AbstractKeyVault implements KeyVault {
     return keysetHandle;
   }
 
+  @Override
+  public <P> P readPrimitive(String identifier, Class<P> primitiveClass) {
+    var keysetHandle = readKeysetHandle(identifier);
+    var cache = primitives.get(primitiveClass);
+    if (cache == null) {
+      cache = primitives.computeIfAbsent(primitiveClass, k -> new ConcurrentHashMap<>());
+    }
+    var cached = cache.get(identifier);
+    if (cached == null || cached.keysetHandle != keysetHandle) {
+      metrics.recordKeyCacheMiss();
+      try {
+        cached = new CachedPrimitive(keysetHandle, keysetHandle.getPrimitive(primitiveClass));
+      } catch (Exception exc) {
+        throw new KeyException("failed to obtain primitive "+primitiveClass.getName()
+            +" for key set handle with identifier '"+identifier+"'", exc);
+      }
+      cache.put(identifier, cached);
+    } else {
+      metrics.recordKeyCacheHit();
+    }
+    return primitiveClass.cast(cached.primitive);
+  }
+
+  protected void invalidatePrimitives(String identifier) {
+    primitives.values().forEach(cache -> cache.remove(identifier));
+  }
+
   protected static KeysetHandle createKeysetHandle(TinkKeyConfig tinkKeyConfig) {
     try {
       return CleartextKeysetHandle.read(
@@ -70,4 +110,16 @@ public abstract class AbstractKeyVault implements KeyVault {
     }
   }
 
+  private static final class CachedPrimitive {
+
+    private final KeysetHandle keysetHandle;
+    private final Object primitive;
+
+    private CachedPrimitive(KeysetHandle keysetHandle, Object primitive) {
+      this.keysetHandle = keysetHandle;
+      this.primitive = primitive;
+    }
+
+  }
+
 }
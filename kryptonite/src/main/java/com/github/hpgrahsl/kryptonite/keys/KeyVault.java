@@ -18,10 +18,15 @@ package com.github.hpgrahsl.kryptonite.keys;
 
 import com.google.crypto.tink.KeysetHandle;
 
-public interface KeyVault {
+public interface KeyVault extends AutoCloseable {
 
   KeysetHandle readKeysetHandle(String identifier);
 
+  <P> P readPrimitive(String identifier, Class<P> primitiveClass);
+
   int numKeysetHandles();
 
+  @Override
+  default void close() {}
+
 }
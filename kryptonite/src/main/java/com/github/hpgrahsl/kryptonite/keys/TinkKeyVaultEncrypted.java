@@ -34,7 +34,7 @@ public class TinkKeyVaultEncrypted extends AbstractKeyVault {
 
   protected static Map<String,KeysetHandle> createKeysetHandles(Map<String, TinkKeyConfigEncrypted> keyConfigsEncrypted, KmsKeyEncryption kmsKeyEncryption) {
     try {
-      Aead kekAead = kmsKeyEncryption.getKeyEnryptionKeyHandle().getPrimitive(Aead.class);
+      Aead kekAead = kmsKeyEncryption.getKeyEncryptionKeyAead();
       return keyConfigsEncrypted.entrySet().stream()
         .map(me -> Map.entry(me.getKey(), createKeysetHandle(me.getValue(), kekAead)))
         .collect(Collectors.toMap(Entry::getKey,Entry::getValue));
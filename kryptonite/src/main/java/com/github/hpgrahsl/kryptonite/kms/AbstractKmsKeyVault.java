@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kryptonite.kms;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.hpgrahsl.kryptonite.keys.AbstractKeyVault;
+import com.github.hpgrahsl.kryptonite.keys.KeyException;
+import com.google.crypto.tink.KeysetHandle;
+
+public abstract class AbstractKmsKeyVault extends AbstractKeyVault {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AbstractKmsKeyVault.class);
+
+  //NOTE: pending remote fetches per key identifier so that concurrent
+  //cache misses for the same key share one single KMS round-trip
+  private final Map<String, CompletableFuture<KeysetHandle>> inFlightFetches = new ConcurrentHashMap<>();
+
+  private volatile ScheduledExecutorService keyCacheRefresher;
+
+  public AbstractKmsKeyVault() {
+    super(new ConcurrentHashMap<>());
+  }
+
+  @Override
+  public KeysetHandle readKeysetHandle(String identifier) {
+    var keysetHandle = keysetHandles.get(identifier);
+    if (keysetHandle != null) {
+      return keysetHandle;
+    }
+    var fetch = new CompletableFuture<KeysetHandle>();
+    var inFlight = inFlightFetches.putIfAbsent(identifier, fetch);
+    if (inFlight != null) {
+      return awaitFetch(inFlight);
+    }
+    try {
+      //NOTE: re-check since another fetch might have completed in between
+      keysetHandle = keysetHandles.get(identifier);
+      if (keysetHandle == null) {
+        keysetHandle = timedFetchKeysetHandle(identifier);
+        keysetHandles.put(identifier, keysetHandle);
+        invalidatePrimitives(identifier);
+      }
+      fetch.complete(keysetHandle);
+      return keysetHandle;
+    } catch (RuntimeException exc) {
+      fetch.completeExceptionally(exc);
+      throw exc;
+    } finally {
+      inFlightFetches.remove(identifier, fetch);
+    }
+  }
+
+  protected void warmUpKeyCache(Collection<String> identifiers) {
+    identifiers.forEach(this::readKeysetHandle);
+  }
+
+  //NOTE: refresh-ahead of all cached key set handles on a background thread
+  //which keeps remote calls off the record path and picks up key rotations
+  protected void scheduleKeyCacheRefresh(long refreshIntervalMillis) {
+    if (refreshIntervalMillis <= 0) {
+      return;
+    }
+    keyCacheRefresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      var thread = new Thread(runnable, "kryptonite-kms-key-refresh");
+      thread.setDaemon(true);
+      return thread;
+    });
+    keyCacheRefresher.scheduleWithFixedDelay(
+        this::refreshKeyCache, refreshIntervalMillis, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  protected void refreshKeyCache() {
+    for (var identifier : keysetHandles.keySet()) {
+      try {
+        var keysetHandle = timedFetchKeysetHandle(identifier);
+        //NOTE: only replace changed keysets to keep cached primitives of unchanged ones
+        if (!keysetHandle.equalsKeyset(keysetHandles.get(identifier))) {
+          keysetHandles.put(identifier, keysetHandle);
+          invalidatePrimitives(identifier);
+        }
+      } catch (Exception exc) {
+        //NOTE: serve stale key set handle until a later refresh succeeds
+        LOGGER.warn("failed to refresh key set handle for identifier '{}' -> keeping previously fetched one",
+            identifier, exc);
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    var refresher = keyCacheRefresher;
+    if (refresher != null) {
+      refresher.shutdownNow();
+    }
+  }
+
+  protected abstract KeysetHandle fetchKeysetHandle(String identifier);
+
+  private KeysetHandle timedFetchKeysetHandle(String identifier) {
+    var start = metrics.start();
+    var succeeded = false;
+    try {
+      var keysetHandle = fetchKeysetHandle(identifier);
+      succeeded = true;
+      return keysetHandle;
+    } finally {
+      metrics.recordKmsFetch(start, succeeded);
+    }
+  }
+
+  private static KeysetHandle awaitFetch(CompletableFuture<KeysetHandle> fetch) {
+    try {
+      return fetch.join();
+    } catch (CompletionException exc) {
+      if (exc.getCause() instanceof RuntimeException) {
+        throw (RuntimeException)exc.getCause();
+      }
+      throw new KeyException("failed to fetch key set handle", exc.getCause());
+    }
+  }
+
+}
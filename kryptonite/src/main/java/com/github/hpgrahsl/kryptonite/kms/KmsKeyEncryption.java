@@ -16,10 +16,12 @@
 
 package com.github.hpgrahsl.kryptonite.kms;
 
-import com.google.crypto.tink.KeysetHandle;
+import java.security.GeneralSecurityException;
+
+import com.google.crypto.tink.Aead;
 
 public interface KmsKeyEncryption {
-    
-    KeysetHandle getKeyEnryptionKeyHandle();
+
+    Aead getKeyEncryptionKeyAead() throws GeneralSecurityException;
 
 }
@@ -17,14 +17,13 @@
 package com.github.hpgrahsl.kryptonite.kms.azure;
 
 import com.github.hpgrahsl.kryptonite.config.TinkKeyConfig;
-import com.github.hpgrahsl.kryptonite.keys.AbstractKeyVault;
 import com.github.hpgrahsl.kryptonite.keys.KeyException;
 import com.github.hpgrahsl.kryptonite.keys.KeyMaterialResolver;
 import com.github.hpgrahsl.kryptonite.keys.KeyNotFoundException;
+import com.github.hpgrahsl.kryptonite.kms.AbstractKmsKeyVault;
 import com.google.crypto.tink.KeysetHandle;
-import java.util.HashMap;
 
-public class AzureKeyVault extends AbstractKeyVault {
+public class AzureKeyVault extends AbstractKmsKeyVault {
 
   private final KeyMaterialResolver keyMaterialResolver;
   
@@ -33,31 +32,22 @@ public class AzureKeyVault extends AbstractKeyVault {
   }
 
   public AzureKeyVault(KeyMaterialResolver keyMaterialResolver, boolean prefetch) {
-    super(new HashMap<>());
+    this(keyMaterialResolver,prefetch,0);
+  }
+
+  public AzureKeyVault(KeyMaterialResolver keyMaterialResolver, boolean prefetch, long refreshIntervalMillis) {
     this.keyMaterialResolver = keyMaterialResolver;
     if (prefetch) {
-      warmUpKeyCache();
+      warmUpKeyCache(keyMaterialResolver.resolveIdentifiers());
     }
+    scheduleKeyCacheRefresh(refreshIntervalMillis);
   }
 
   @Override
-  public KeysetHandle readKeysetHandle(String identifier) {
-    var keysetHandle = keysetHandles.get(identifier);
-    if(keysetHandle == null) {
-      fetchIntoKeyCache(identifier);
-      keysetHandle = keysetHandles.get(identifier);
-    }
-    return keysetHandle;
-  }
-
-  private void warmUpKeyCache() {
-    keyMaterialResolver.resolveIdentifiers().forEach(this::fetchIntoKeyCache);
-  }
-
-  private void fetchIntoKeyCache(String identifier) {
+  protected KeysetHandle fetchKeysetHandle(String identifier) {
     try {
       String keyConfig = keyMaterialResolver.resolveKeyset(identifier);
-      keysetHandles.put(identifier, createKeysetHandle(OBJECT_MAPPER.readValue(keyConfig,TinkKeyConfig.class)));
+      return createKeysetHandle(OBJECT_MAPPER.readValue(keyConfig,TinkKeyConfig.class));
     } catch (KeyNotFoundException e) {
       throw new KeyNotFoundException("could not find key set handle for identifier '"
           +identifier+"' in "+ AzureKeyVault.class.getName() + " key vault",e);
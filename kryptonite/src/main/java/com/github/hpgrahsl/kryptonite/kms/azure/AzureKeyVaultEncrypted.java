@@ -18,17 +18,15 @@ package com.github.hpgrahsl.kryptonite.kms.azure;
 
 import com.github.hpgrahsl.kryptonite.KryptoniteException;
 import com.github.hpgrahsl.kryptonite.config.TinkKeyConfigEncrypted;
-import com.github.hpgrahsl.kryptonite.keys.AbstractKeyVault;
 import com.github.hpgrahsl.kryptonite.keys.KeyException;
 import com.github.hpgrahsl.kryptonite.keys.KeyMaterialResolver;
 import com.github.hpgrahsl.kryptonite.keys.KeyNotFoundException;
+import com.github.hpgrahsl.kryptonite.kms.AbstractKmsKeyVault;
 import com.github.hpgrahsl.kryptonite.kms.KmsKeyEncryption;
 import com.google.crypto.tink.Aead;
 import com.google.crypto.tink.KeysetHandle;
 
-import java.util.HashMap;
-
-public class AzureKeyVaultEncrypted extends AbstractKeyVault {
+public class AzureKeyVaultEncrypted extends AbstractKmsKeyVault {
 
   private final KeyMaterialResolver keyMaterialResolver;
   private final KmsKeyEncryption kmsKeyEncryption;
@@ -38,37 +36,29 @@ public class AzureKeyVaultEncrypted extends AbstractKeyVault {
   }
 
   public AzureKeyVaultEncrypted(KmsKeyEncryption kmsKeyEncryption, KeyMaterialResolver keyMaterialResolver, boolean prefetch) {
-    super(new HashMap<>());
+    this(kmsKeyEncryption,keyMaterialResolver,prefetch,0);
+  }
+
+  public AzureKeyVaultEncrypted(KmsKeyEncryption kmsKeyEncryption, KeyMaterialResolver keyMaterialResolver, boolean prefetch,
+      long refreshIntervalMillis) {
     try {
       this.kmsKeyEncryption = kmsKeyEncryption;
       this.keyMaterialResolver = keyMaterialResolver;
       if (prefetch) {
-        warmUpKeyCache();
+        warmUpKeyCache(keyMaterialResolver.resolveIdentifiers());
       }
+      scheduleKeyCacheRefresh(refreshIntervalMillis);
     } catch (Exception exc) {
       throw new KryptoniteException(exc.getMessage(),exc);
     }
   }
 
   @Override
-  public KeysetHandle readKeysetHandle(String identifier) {
-    var keysetHandle = keysetHandles.get(identifier);
-    if(keysetHandle == null) {
-      fetchIntoKeyCache(identifier);
-      keysetHandle = keysetHandles.get(identifier);
-    }
-    return keysetHandle;
-  }
-
-  private void warmUpKeyCache() {
-    keyMaterialResolver.resolveIdentifiers().forEach(this::fetchIntoKeyCache);
-  }
-
-  private void fetchIntoKeyCache(String identifier) {
+  protected KeysetHandle fetchKeysetHandle(String identifier) {
     try {
       String keyConfig = keyMaterialResolver.resolveKeyset(identifier);
-      Aead kekAead = kmsKeyEncryption.getKeyEnryptionKeyHandle().getPrimitive(Aead.class);
-      keysetHandles.put(identifier, createKeysetHandle(OBJECT_MAPPER.readValue(keyConfig, TinkKeyConfigEncrypted.class), kekAead));
+      Aead kekAead = kmsKeyEncryption.getKeyEncryptionKeyAead();
+      return createKeysetHandle(OBJECT_MAPPER.readValue(keyConfig, TinkKeyConfigEncrypted.class), kekAead);
     } catch (KeyNotFoundException e) {
       throw new KeyNotFoundException("could not find key set handle for identifier '"
           +identifier+"' in "+ AzureKeyVaultEncrypted.class.getName() + " key vault",e);
@@ -17,19 +17,24 @@
 package com.github.hpgrahsl.kryptonite.kms.gcp;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.github.hpgrahsl.kryptonite.KryptoniteException;
 import com.github.hpgrahsl.kryptonite.kms.KmsKeyEncryption;
 import com.google.auth.oauth2.GoogleCredentials;
-import com.google.crypto.tink.KeysetHandle;
-import com.google.crypto.tink.KmsClients;
-import com.google.crypto.tink.aead.AeadConfig;
-import com.google.crypto.tink.aead.KmsAeadKeyManager;
+import com.google.crypto.tink.Aead;
 import com.google.crypto.tink.integration.gcpkms.GcpKmsClient;
 
 public class GcpKeyEncryption implements KmsKeyEncryption {
 
+    //NOTE: KEK primitives are shared per kek URI and credentials across all instances
+    //so that instances using different credentials for the same kek URI never evict each other
+    private static final Map<KeyEncryptionKey, Aead> KEY_ENCRYPTION_KEYS = new ConcurrentHashMap<>();
+
     private final String kekUri;
     private final String credentialsConfig;
 
@@ -39,17 +44,52 @@ public class GcpKeyEncryption implements KmsKeyEncryption {
     }
 
     @Override
-    public KeysetHandle getKeyEnryptionKeyHandle() {
+    public Aead getKeyEncryptionKeyAead() {
+        return KEY_ENCRYPTION_KEYS.computeIfAbsent(
+            new KeyEncryptionKey(kekUri, credentialsConfig), kek -> createKeyEncryptionKeyAead()
+        );
+    }
+
+    private Aead createKeyEncryptionKeyAead() {
         try {
-            AeadConfig.register();
-            GoogleCredentials credentials = GoogleCredentials.fromStream(
-                new ByteArrayInputStream(credentialsConfig.getBytes(StandardCharsets.UTF_8))
-            );
-            KmsClients.add(new GcpKmsClient(kekUri).withCredentials(credentials));
-            return KeysetHandle.generateNew(KmsAeadKeyManager.createKeyTemplate(kekUri));
+            //NOTE: the Aead is obtained from a dedicated client bound to these credentials instead of
+            //the global KmsClients list which always resolves the first client registered for a kek URI
+            return new GcpKmsClient(kekUri).withCredentials(loadCredentials()).getAead(kekUri);
         } catch (Exception exc) {
             throw new KryptoniteException(exc.getMessage(), exc);   
         }
     }
 
+    private GoogleCredentials loadCredentials() throws IOException {
+        return GoogleCredentials.fromStream(
+            new ByteArrayInputStream(credentialsConfig.getBytes(StandardCharsets.UTF_8))
+        );
+    }
+
+    private static final class KeyEncryptionKey {
+
+        private final String kekUri;
+        private final String credentialsConfig;
+
+        private KeyEncryptionKey(String kekUri, String credentialsConfig) {
+            this.kekUri = kekUri;
+            this.credentialsConfig = credentialsConfig;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof KeyEncryptionKey)) return false;
+            var that = (KeyEncryptionKey) o;
+            return Objects.equals(kekUri, that.kekUri)
+                && Objects.equals(credentialsConfig, that.credentialsConfig);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kekUri, credentialsConfig);
+        }
+
+    }
+
 }
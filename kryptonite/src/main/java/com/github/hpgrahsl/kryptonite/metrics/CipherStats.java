@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.hpgrahsl.kryptonite.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+//NOTE: cipher operations of one payload meta-data, i.e. per algorithm and key identifier,
+//bytes in are the inputs (plaintexts resp. ciphertexts) and bytes out the results
+public class CipherStats {
+
+  private final LongAdder encryptions = new LongAdder();
+  private final LongAdder decryptions = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder bytesIn = new LongAdder();
+  private final LongAdder bytesOut = new LongAdder();
+  final LatencyHistogram encryptLatency = new LatencyHistogram();
+  final LatencyHistogram decryptLatency = new LatencyHistogram();
+
+  void recordEncryption(int inputLength, int outputLength, long nanos) {
+    encryptions.increment();
+    bytesIn.add(inputLength);
+    bytesOut.add(outputLength);
+    encryptLatency.record(nanos);
+  }
+
+  void recordDecryption(int inputLength, int outputLength, long nanos) {
+    decryptions.increment();
+    bytesIn.add(inputLength);
+    bytesOut.add(outputLength);
+    decryptLatency.record(nanos);
+  }
+
+  void recordFailure() {
+    failures.increment();
+  }
+
+  public long getEncryptions() {
+    return encryptions.sum();
+  }
+
+  public long getDecryptions() {
+    return decryptions.sum();
+  }
+
+  public long getFailures() {
+    return failures.sum();
+  }
+
+  public long getBytesIn() {
+    return bytesIn.sum();
+  }
+
+  public long getBytesOut() {
+    return bytesOut.sum();
+  }
+
+  public LatencySnapshot getEncryptLatency() {
+    return encryptLatency.snapshot();
+  }
+
+  public LatencySnapshot getDecryptLatency() {
+    return decryptLatency.snapshot();
+  }
+
+  @Override
+  public String toString() {
+    return "CipherStats{" +
+        "encryptions=" + getEncryptions() +
+        ", decryptions=" + getDecryptions() +
+        ", failures=" + getFailures() +
+        ", bytesIn=" + getBytesIn() +
+        ", bytesOut=" + getBytesOut() +
+        '}';
+  }
+
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.hpgrahsl.kryptonite.metrics;
+
+import com.github.hpgrahsl.kryptonite.PayloadMetaData;
+import com.github.hpgrahsl.kryptonite.serdes.EncryptedFieldCodec;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+//NOTE: opt-in instrumentation of the cryptographic hot path, the shared DISABLED instance
+//turns every recording into a no-op so that callers never need to check for null,
+//cipher stats are kept per payload meta-data up to a fixed number of distinct entries
+public class KryptoniteMetrics implements KryptoniteMetricsMXBean {
+
+  public static final String JMX_DOMAIN = "com.github.hpgrahsl.kryptonite";
+
+  public static final KryptoniteMetrics DISABLED = new KryptoniteMetrics(false);
+
+  public static final int MAX_CIPHER_STATS = 256;
+  public static final String OVERFLOW_CIPHER_STATS = "other";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(KryptoniteMetrics.class);
+  private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+  private final boolean enabled;
+  private final Map<PayloadMetaData, CipherStats> cipherStats = new ConcurrentHashMap<>();
+  private final CipherStats overflowStats = new CipherStats();
+  private final LatencyHistogram serializationLatency = new LatencyHistogram();
+  private final LatencyHistogram deserializationLatency = new LatencyHistogram();
+  private final LatencyHistogram kmsFetchLatency = new LatencyHistogram();
+  private final LongAdder keyCacheHits = new LongAdder();
+  private final LongAdder keyCacheMisses = new LongAdder();
+  private final LongAdder kmsFetchFailures = new LongAdder();
+
+  private ObjectName objectName;
+
+  public KryptoniteMetrics() {
+    this(true);
+  }
+
+  private KryptoniteMetrics(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public long start() {
+    return enabled ? System.nanoTime() : 0L;
+  }
+
+  public void recordEncryption(PayloadMetaData metadata, int inputLength, int outputLength, long start) {
+    if (enabled) {
+      statsFor(metadata).recordEncryption(inputLength, outputLength, System.nanoTime() - start);
+    }
+  }
+
+  public void recordDecryption(PayloadMetaData metadata, int inputLength, int outputLength, long start) {
+    if (enabled) {
+      statsFor(metadata).recordDecryption(inputLength, outputLength, System.nanoTime() - start);
+    }
+  }
+
+  public void recordFailure(PayloadMetaData metadata) {
+    if (enabled) {
+      statsFor(metadata).recordFailure();
+    }
+  }
+
+  public void recordSerialization(long start) {
+    if (enabled) {
+      serializationLatency.record(System.nanoTime() - start);
+    }
+  }
+
+  public void recordDeserialization(long start) {
+    if (enabled) {
+      deserializationLatency.record(System.nanoTime() - start);
+    }
+  }
+
+  public void recordKeyCacheHit() {
+    if (enabled) {
+      keyCacheHits.increment();
+    }
+  }
+
+  public void recordKeyCacheMiss() {
+    if (enabled) {
+      keyCacheMisses.increment();
+    }
+  }
+
+  public void recordKmsFetch(long start, boolean succeeded) {
+    if (enabled) {
+      kmsFetchLatency.record(System.nanoTime() - start);
+      if (!succeeded) {
+        kmsFetchFailures.increment();
+      }
+    }
+  }
+
+  @Override
+  public long getEncryptions() {
+    return allCipherStats().mapToLong(CipherStats::getEncryptions).sum();
+  }
+
+  @Override
+  public long getDecryptions() {
+    return allCipherStats().mapToLong(CipherStats::getDecryptions).sum();
+  }
+
+  @Override
+  public long getFailures() {
+    return allCipherStats().mapToLong(CipherStats::getFailures).sum();
+  }
+
+  @Override
+  public long getBytesIn() {
+    return allCipherStats().mapToLong(CipherStats::getBytesIn).sum();
+  }
+
+  @Override
+  public long getBytesOut() {
+    return allCipherStats().mapToLong(CipherStats::getBytesOut).sum();
+  }
+
+  @Override
+  public LatencySnapshot getEncryptLatency() {
+    return LatencyHistogram.merge(allCipherStats()
+        .map(s -> s.encryptLatency).toArray(LatencyHistogram[]::new));
+  }
+
+  @Override
+  public LatencySnapshot getDecryptLatency() {
+    return LatencyHistogram.merge(allCipherStats()
+        .map(s -> s.decryptLatency).toArray(LatencyHistogram[]::new));
+  }
+
+  @Override
+  public LatencySnapshot getSerializationLatency() {
+    return serializationLatency.snapshot();
+  }
+
+  @Override
+  public LatencySnapshot getDeserializationLatency() {
+    return deserializationLatency.snapshot();
+  }
+
+  @Override
+  public long getKeyCacheHits() {
+    return keyCacheHits.sum();
+  }
+
+  @Override
+  public long getKeyCacheMisses() {
+    return keyCacheMisses.sum();
+  }
+
+  @Override
+  public LatencySnapshot getKmsFetchLatency() {
+    return kmsFetchLatency.snapshot();
+  }
+
+  @Override
+  public long getKmsFetchFailures() {
+    return kmsFetchFailures.sum();
+  }
+
+  //NOTE: keyed by the textual form of the payload meta-data, i.e. version:algorithm id:key id,
+  //plus one overflow entry for all payload meta-data beyond the max number of distinct entries
+  @Override
+  public Map<String, CipherStats> getCipherStats() {
+    var stats = new TreeMap<String, CipherStats>();
+    cipherStats.forEach((metadata, s) -> stats.put(EncryptedFieldCodec.encodeMetaData(metadata), s));
+    if (cipherStats.size() >= MAX_CIPHER_STATS) {
+      stats.put(OVERFLOW_CIPHER_STATS, overflowStats);
+    }
+    return stats;
+  }
+
+  //NOTE: failing to (un)register the MBean must never affect processing hence it's only logged
+  public synchronized void registerMBean(String name) {
+    if (!enabled || objectName != null) {
+      return;
+    }
+    try {
+      var mbeanName = new ObjectName(JMX_DOMAIN + ":type=Kryptonite,name=" + ObjectName.quote(name)
+          + ",instance=" + INSTANCES.incrementAndGet());
+      ManagementFactory.getPlatformMBeanServer().registerMBean(this, mbeanName);
+      objectName = mbeanName;
+    } catch (JMException e) {
+      LOGGER.warn("failed to register kryptonite metrics MBean for '{}'", name, e);
+    }
+  }
+
+  public synchronized void unregisterMBean() {
+    if (objectName == null) {
+      return;
+    }
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+    } catch (JMException e) {
+      LOGGER.warn("failed to unregister kryptonite metrics MBean {}", objectName, e);
+    } finally {
+      objectName = null;
+    }
+  }
+
+  //NOTE: decrypted fields carry arbitrary key ids of untrusted records which is why
+  //distinct entries are capped and all further payload meta-data shares the overflow stats
+  private CipherStats statsFor(PayloadMetaData metadata) {
+    var stats = cipherStats.get(metadata);
+    if (stats == null) {
+      if (cipherStats.size() >= MAX_CIPHER_STATS) {
+        return overflowStats;
+      }
+      stats = cipherStats.computeIfAbsent(metadata, m -> new CipherStats());
+    }
+    return stats;
+  }
+
+  private Stream<CipherStats> allCipherStats() {
+    return Stream.concat(cipherStats.values().stream(), Stream.of(overflowStats));
+  }
+
+  @Override
+  public String toString() {
+    return "KryptoniteMetrics{" +
+        "encryptions=" + getEncryptions() +
+        ", decryptions=" + getDecryptions() +
+        ", failures=" + getFailures() +
+        ", encryptLatency=" + getEncryptLatency() +
+        ", decryptLatency=" + getDecryptLatency() +
+        ", keyCacheHits=" + getKeyCacheHits() +
+        ", keyCacheMisses=" + getKeyCacheMisses() +
+        '}';
+  }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.hpgrahsl.kryptonite.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+//NOTE: lock-free histogram of nanosecond latencies with power of two buckets, i.e. bucket i
+//counts values in [2^i, 2^(i+1)) which bounds percentile estimates to a factor of two
+//while recording stays a single bucket increment without any allocation
+public class LatencyHistogram {
+
+  static final int NUM_BUCKETS = 64;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(NUM_BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+  public void record(long nanos) {
+    var value = Math.max(0L, nanos);
+    buckets.incrementAndGet(63 - Long.numberOfLeadingZeros(value | 1L));
+    count.increment();
+    sum.add(value);
+    max.accumulate(value);
+  }
+
+  public LatencySnapshot snapshot() {
+    return merge(this);
+  }
+
+  public static LatencySnapshot merge(LatencyHistogram... histograms) {
+    var merged = new long[NUM_BUCKETS];
+    long count = 0L;
+    long sum = 0L;
+    long max = 0L;
+    for (var histogram : histograms) {
+      for (int i = 0; i < NUM_BUCKETS; i++) {
+        merged[i] += histogram.buckets.get(i);
+      }
+      count += histogram.count.sum();
+      sum += histogram.sum.sum();
+      max = Math.max(max, histogram.max.get());
+    }
+    return new LatencySnapshot(merged, count, sum, max);
+  }
+
+}
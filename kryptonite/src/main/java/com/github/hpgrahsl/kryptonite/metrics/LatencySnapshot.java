@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.hpgrahsl.kryptonite.metrics;
+
+//NOTE: point in time view of one or more latency histograms whose getters
+//make it a composite type when exposed via JMX
+public class LatencySnapshot {
+
+  private final long[] buckets;
+  private final long count;
+  private final long sum;
+  private final long max;
+
+  LatencySnapshot(long[] buckets, long count, long sum, long max) {
+    this.buckets = buckets;
+    this.count = count;
+    this.sum = sum;
+    this.max = max;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getTotalNanos() {
+    return sum;
+  }
+
+  public double getMeanNanos() {
+    return count > 0 ? (double) sum / count : 0.0;
+  }
+
+  public long getP50Nanos() {
+    return percentile(0.5);
+  }
+
+  public long getP99Nanos() {
+    return percentile(0.99);
+  }
+
+  public long getMaxNanos() {
+    return max;
+  }
+
+  //NOTE: estimates by the upper bound of the bucket holding the percentile
+  //which is capped by the max latency ever recorded
+  public long percentile(double quantile) {
+    var total = 0L;
+    for (var b : buckets) {
+      total += b;
+    }
+    if (total == 0L) {
+      return 0L;
+    }
+    var rank = (long) Math.ceil(quantile * total);
+    var cumulative = 0L;
+    for (int i = 0; i < buckets.length; i++) {
+      cumulative += buckets[i];
+      if (cumulative >= rank) {
+        return i < 62 ? Math.min(max, (1L << (i + 1)) - 1) : max;
+      }
+    }
+    return max;
+  }
+
+  @Override
+  public String toString() {
+    return "LatencySnapshot{" +
+        "count=" + count +
+        ", meanNanos=" + getMeanNanos() +
+        ", p50Nanos=" + getP50Nanos() +
+        ", p99Nanos=" + getP99Nanos() +
+        ", maxNanos=" + max +
+        '}';
+  }
+
+}
@@ -14,7 +14,10 @@
  * limitations under the License.
  */
 
-package com.github.hpgrahsl.kafka.connect.transforms.kryptonite;
+package com.github.hpgrahsl.kryptonite.records;
+
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.BlindIndexMode;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.FieldMode;
 
 import java.util.Map;
 import java.util.Objects;
@@ -27,18 +30,37 @@ public class FieldConfig {
   private String keyId;
   private Map<String,Object> schema;
 
-  private CipherField.FieldMode fieldMode;
+  private FieldMode fieldMode;
+
+  private Boolean memoize;
+
+  private BlindIndexMode blindIndex;
+  private String blindIndexKeyId;
 
   public FieldConfig() {
   }
 
   public FieldConfig(String name, String algorithm, String keyId,
-                     Map<String, Object> schema, CipherField.FieldMode fieldMode) {
+                     Map<String, Object> schema, FieldMode fieldMode) {
+    this(name, algorithm, keyId, schema, fieldMode, null);
+  }
+
+  public FieldConfig(String name, String algorithm, String keyId,
+                     Map<String, Object> schema, FieldMode fieldMode, Boolean memoize) {
+    this(name, algorithm, keyId, schema, fieldMode, memoize, null, null);
+  }
+
+  public FieldConfig(String name, String algorithm, String keyId,
+                     Map<String, Object> schema, FieldMode fieldMode, Boolean memoize,
+                     BlindIndexMode blindIndex, String blindIndexKeyId) {
     this.name = Objects.requireNonNull(name,"field config's name must not be null");
     this.algorithm = algorithm;
     this.keyId = keyId;
     this.schema = schema;
     this.fieldMode = fieldMode;
+    this.memoize = memoize;
+    this.blindIndex = blindIndex;
+    this.blindIndexKeyId = blindIndexKeyId;
   }
 
   public String getName() {
@@ -57,21 +79,33 @@ public class FieldConfig {
     return Optional.ofNullable(schema);
   }
 
-  public Optional<CipherField.FieldMode> getFieldMode() {
+  public Optional<FieldMode> getFieldMode() {
     return Optional.ofNullable(fieldMode);
   }
 
+  public Optional<Boolean> getMemoize() {
+    return Optional.ofNullable(memoize);
+  }
+
+  public Optional<BlindIndexMode> getBlindIndex() {
+    return Optional.ofNullable(blindIndex);
+  }
+
+  public Optional<String> getBlindIndexKeyId() {
+    return Optional.ofNullable(blindIndexKeyId);
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
     FieldConfig that = (FieldConfig) o;
-    return Objects.equals(name, that.name) && Objects.equals(algorithm, that.algorithm) && Objects.equals(keyId, that.keyId) && Objects.equals(schema, that.schema) && fieldMode == that.fieldMode;
+    return Objects.equals(name, that.name) && Objects.equals(algorithm, that.algorithm) && Objects.equals(keyId, that.keyId) && Objects.equals(schema, that.schema) && fieldMode == that.fieldMode && Objects.equals(memoize, that.memoize) && blindIndex == that.blindIndex && Objects.equals(blindIndexKeyId, that.blindIndexKeyId);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(name, algorithm, keyId, schema, fieldMode);
+    return Objects.hash(name, algorithm, keyId, schema, fieldMode, memoize, blindIndex, blindIndexKeyId);
   }
 
   @Override
@@ -82,6 +116,9 @@ public class FieldConfig {
             ", keyId='" + keyId + '\'' +
             ", schema=" + schema +
             ", fieldMode=" + fieldMode +
+            ", memoize=" + memoize +
+            ", blindIndex=" + blindIndex +
+            ", blindIndexKeyId='" + blindIndexKeyId + '\'' +
             '}';
   }
 
@@ -0,0 +1,487 @@
+/*
+ * Copyright (c) 2021. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kryptonite.records;
+
+import com.github.hpgrahsl.kryptonite.*;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.BlindIndexMode;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.CipherEncoding;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.FieldMode;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.PayloadMetaDataMode;
+import com.github.hpgrahsl.kryptonite.crypto.DeterministicCipherCache;
+import com.github.hpgrahsl.kryptonite.serdes.EncryptedFieldCodec;
+import com.github.hpgrahsl.kryptonite.serdes.SerdeProcessor;
+import org.apache.kafka.common.config.AbstractConfig;
+import org.apache.kafka.common.config.ConfigException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+//NOTE: field processing shared by the connect SMT and the kafka serdes
+//which is why it must not depend on any connect specific classes
+public abstract class RecordHandler {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RecordHandler.class);
+
+  private final AbstractConfig config;
+  private final SerdeProcessor serdeProcessor;
+  private final Kryptonite kryptonite;
+
+  protected final String pathDelimiter;
+  protected final String cipherTextVersion;
+  protected final CipherEncoding cipherEncoding;
+  protected final CipherMode cipherMode;
+  protected final FieldMode fieldMode;
+  protected final Map<String, FieldConfig> fieldConfig;
+
+  //NOTE: resolved payload meta-data per configured field path and for
+  //all other paths so that no meta-data needs to be derived per field
+  private final Map<String, PayloadMetaData> payloadMetaData = new ConcurrentHashMap<>();
+  private volatile PayloadMetaData defaultPayloadMetaData;
+
+  //NOTE: opt-in bounded pool to fan out independent field (de)cryptions
+  //of wide records or large element-wise lists/maps
+  protected final int fieldParallelism;
+  protected final int fieldParallelismThreshold;
+  private volatile ForkJoinPool fieldPool;
+
+  //NOTE: optional memoization of deterministic cipher results for
+  //field paths which opt-in via their field config
+  private final DeterministicCipherCache deterministicCache;
+  private final Map<String, Boolean> memoizedPaths = new ConcurrentHashMap<>();
+
+  //NOTE: keyed fixed-size tokens of plaintext field values emitted either next to
+  //or instead of the ciphertexts for fields which enable them via their field config
+  protected final String blindIndexFieldSuffix;
+  protected final int blindIndexLength;
+  private final String blindIndexKeyId;
+
+  //NOTE: detached payloads only keep flags and ciphertext per field since their shared
+  //payload meta-data is carried once per record (e.g. in a header) and passed in when decrypting
+  protected final boolean detachedPayloadMetaData;
+
+  public RecordHandler(AbstractConfig config,
+      SerdeProcessor serdeProcessor, Kryptonite kryptonite,
+      CipherMode cipherMode,
+      Map<String, FieldConfig> fieldConfig) {
+    this.config = config;
+    this.serdeProcessor = serdeProcessor;
+    this.kryptonite = kryptonite;
+    this.pathDelimiter = config.getString(KryptoniteSettings.PATH_DELIMITER);
+    this.cipherTextVersion = config.getString(KryptoniteSettings.CIPHER_TEXT_VERSION);
+    this.cipherEncoding = CipherEncoding.valueOf(config.getString(KryptoniteSettings.CIPHER_TEXT_ENCODING));
+    this.cipherMode = cipherMode;
+    this.fieldMode = FieldMode.valueOf(config.getString(KryptoniteSettings.FIELD_MODE));
+    this.fieldConfig = fieldConfig;
+    this.fieldParallelism = config.getInt(KryptoniteSettings.FIELD_PARALLELISM);
+    this.fieldParallelismThreshold = config.getInt(KryptoniteSettings.FIELD_PARALLELISM_THRESHOLD);
+    this.deterministicCache = fieldConfig.values().stream().anyMatch(fc -> fc.getMemoize().orElse(false))
+        ? new DeterministicCipherCache(config.getInt(KryptoniteSettings.DETERMINISTIC_CACHE_MAX_ENTRIES),
+            config.getLong(KryptoniteSettings.DETERMINISTIC_CACHE_MAX_BYTES))
+        : null;
+    this.blindIndexFieldSuffix = config.getString(KryptoniteSettings.BLIND_INDEX_FIELD_SUFFIX);
+    this.blindIndexLength = config.getInt(KryptoniteSettings.BLIND_INDEX_LENGTH);
+    this.blindIndexKeyId = config.getString(KryptoniteSettings.BLIND_INDEX_KEY_IDENTIFIER);
+    this.detachedPayloadMetaData = PayloadMetaDataMode.HEADER
+        == PayloadMetaDataMode.valueOf(config.getString(KryptoniteSettings.PAYLOAD_METADATA_MODE));
+    fieldConfig.values().stream()
+        .filter(fc -> CipherMode.ENCRYPT == cipherMode && fc.getBlindIndex().isPresent()
+            && fc.getBlindIndexKeyId().orElse(blindIndexKeyId).isEmpty())
+        .findFirst()
+        .ifPresent(fc -> {
+          throw new ConfigException("error: blind index for field path '" + fc.getName()
+              + "' needs either a 'blindIndexKeyId' in its field config or a default '"
+              + KryptoniteSettings.BLIND_INDEX_KEY_IDENTIFIER + "'");
+        });
+    if (detachedPayloadMetaData && CipherMode.ENCRYPT == cipherMode) {
+      var shared = resolvePayloadMetaData(null);
+      fieldConfig.values().stream()
+          .filter(fc -> resolvePayloadMetaData(fc) != shared)
+          .findFirst()
+          .ifPresent(fc -> {
+            throw new ConfigException("error: field path '" + fc.getName() + "' overrides the algorithm or key id"
+                + " which isn't supported when '" + KryptoniteSettings.PAYLOAD_METADATA_MODE + "' is "
+                + PayloadMetaDataMode.HEADER + " since all fields of a record share the same payload meta-data");
+          });
+    }
+  }
+
+  public AbstractConfig getConfig() {
+    return config;
+  }
+
+  public Kryptonite getKryptonite() {
+    return kryptonite;
+  }
+
+  public DeterministicCipherCache getDeterministicCache() {
+    return deterministicCache;
+  }
+
+  public boolean isDetachedPayloadMetaData() {
+    return detachedPayloadMetaData;
+  }
+
+  //NOTE: the payload meta-data shared by all fields when encrypting with detached payload meta-data
+  public PayloadMetaData getSharedPayloadMetaData() {
+    return payloadMetaDataFor(null);
+  }
+
+  public void close() {
+    if (deterministicCache != null) {
+      LOGGER.info("deterministic cache statistics on close {}",deterministicCache);
+    }
+    var pool = fieldPool;
+    if (pool != null) {
+      pool.shutdown();
+    }
+  }
+
+  protected boolean runsInParallel(int numTasks) {
+    return fieldParallelism > 1 && numTasks >= fieldParallelismThreshold;
+  }
+
+  //NOTE: runs the given tasks on the field pool and returns once all of them completed,
+  //callers write results by index so that output ordering is never affected
+  protected void runInParallel(int numTasks, IntConsumer task) {
+    var pool = fieldPool();
+    if (ForkJoinTask.inForkJoinPool() && ForkJoinTask.getPool() == pool) {
+      IntStream.range(0, numTasks).parallel().forEach(task);
+      return;
+    }
+    pool.submit(() -> IntStream.range(0, numTasks).parallel().forEach(task)).join();
+  }
+
+  private ForkJoinPool fieldPool() {
+    var pool = fieldPool;
+    if (pool == null) {
+      synchronized (this) {
+        pool = fieldPool;
+        if (pool == null) {
+          pool = new ForkJoinPool(fieldParallelism, p -> {
+            var worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            worker.setName("kryptonite-field-worker-" + worker.getPoolIndex());
+            worker.setDaemon(true);
+            return worker;
+          }, null, false);
+          fieldPool = pool;
+        }
+      }
+    }
+    return pool;
+  }
+
+  public Object processField(Object object,String matchedPath) {
+    return processField(object,matchedPath,payloadMetaDataFor(matchedPath));
+  }
+
+  public Object processField(Object object,String matchedPath,PayloadMetaData metaData) {
+    try {
+      LOGGER.debug("{} field {}",cipherMode,matchedPath);
+      if (CipherMode.ENCRYPT == cipherMode) {
+        LOGGER.trace("payload meta-data for path '{}' {}",matchedPath,metaData);
+        var cache = deterministicCacheFor(matchedPath);
+        var encryptedField = cache != null
+            ? kryptonite.cipherField(serialize(object), metaData, cache)
+            : kryptonite.cipherField(object, serdeProcessor, metaData);
+        LOGGER.debug("encrypted field: {}",encryptedField);
+        var serializedField = encode(encryptedField);
+        if (CipherEncoding.RAW_BYTES == cipherEncoding) {
+          return serializedField;
+        }
+        var encodedField = Base64.getEncoder().encodeToString(serializedField);
+        LOGGER.trace("encoded field: {}",encodedField);
+        return encodedField;
+      } else {
+        var decodedField = decodeField(object);
+        LOGGER.trace("decoded field: {}",decodedField);
+        var encryptedField = decode(decodedField, metaData);
+        var cache = deterministicCacheFor(matchedPath);
+        var restoredField = cache != null
+            ? deserialize(kryptonite.decipherField(encryptedField, cache))
+            : kryptonite.decipherField(encryptedField, serdeProcessor);
+        LOGGER.debug("restored field: {}",restoredField);
+        return restoredField;
+      }
+    } catch (Exception e) {
+      throw new KryptoniteException("error: "+cipherMode+" of field path '"+matchedPath+"' having data '"+object+ "' failed unexpectedly",e);
+    }
+  }
+
+  //NOTE: blind indexes are computed over the type tagged plaintext so that values of different
+  //types never collide and are encoded like ciphertexts according to the cipher text encoding
+  public Object blindIndexField(Object object,String matchedPath) {
+    if (object == null) {
+      return null;
+    }
+    try {
+      var keyId = fieldConfig.get(matchedPath).getBlindIndexKeyId().orElse(blindIndexKeyId);
+      var index = kryptonite.blindIndexValue(object, keyId, blindIndexLength);
+      if (CipherEncoding.RAW_BYTES == cipherEncoding) {
+        return index;
+      }
+      return Base64.getEncoder().encodeToString(index);
+    } catch (Exception e) {
+      throw new KryptoniteException("error: blind index of field path '"+matchedPath+"' having data '"+object+ "' failed unexpectedly",e);
+    }
+  }
+
+  protected BlindIndexMode blindIndexModeFor(String fieldPath) {
+    var fc = fieldConfig.get(fieldPath);
+    return fc != null ? fc.getBlindIndex().orElse(null) : null;
+  }
+
+  protected boolean emitsBlindIndexCompanion(String fieldPath) {
+    return CipherMode.ENCRYPT == cipherMode && BlindIndexMode.COMPANION == blindIndexModeFor(fieldPath);
+  }
+
+  private byte[] encode(EncryptedField encryptedField) {
+    return detachedPayloadMetaData
+        ? EncryptedFieldCodec.encodeDetached(encryptedField)
+        : EncryptedFieldCodec.encode(encryptedField);
+  }
+
+  //NOTE: fields are decoded as detached payloads whenever the record provides
+  //their payload meta-data and as self-contained payloads otherwise
+  private static EncryptedField decode(byte[] bytes, PayloadMetaData detachedMetaData) {
+    return detachedMetaData != null
+        ? EncryptedFieldCodec.decodeDetached(bytes, detachedMetaData)
+        : EncryptedFieldCodec.decode(bytes);
+  }
+
+  //NOTE: encryption resolves the payload meta-data per field path whereas decryption
+  //uses the detached payload meta-data of the record if there is any
+  protected PayloadMetaData payloadMetaDataFor(String fieldPath, PayloadMetaData detachedMetaData) {
+    return CipherMode.ENCRYPT == cipherMode ? payloadMetaDataFor(fieldPath) : detachedMetaData;
+  }
+
+  //NOTE: decryption accepts raw bytes as well as base64 encoded strings
+  //irrespective of the configured cipher text encoding
+  private static byte[] decodeField(Object object) {
+    if (object instanceof byte[]) {
+      return (byte[])object;
+    }
+    if (object instanceof ByteBuffer) {
+      var buffer = ((ByteBuffer)object).duplicate();
+      var bytes = new byte[buffer.remaining()];
+      buffer.get(bytes);
+      return bytes;
+    }
+    return Base64.getDecoder().decode((String)object);
+  }
+
+  public List<?> processListField(List<?> list,String matchedPath) {
+    return processListField(list,matchedPath,payloadMetaDataFor(matchedPath));
+  }
+
+  public List<?> processListField(List<?> list,String matchedPath,PayloadMetaData metaData) {
+    var processed = new ArrayList<Object>(list.size());
+    var leafPositions = new int[list.size()];
+    var leafValues = new Object[list.size()];
+    var leafCount = 0;
+    for (var e : list) {
+      if(e instanceof List) {
+        processed.add(processListField((List<?>)e,matchedPath,metaData));
+      } else if(e instanceof Map) {
+        processed.add(processMapField((Map<?,?>)e,matchedPath,metaData));
+      } else {
+        leafPositions[leafCount] = processed.size();
+        leafValues[leafCount++] = e;
+        processed.add(null);
+      }
+    }
+    var results = processFields(leafValues,leafCount,matchedPath,metaData);
+    for (int i = 0; i < leafCount; i++) {
+      processed.set(leafPositions[i],results[i]);
+    }
+    return processed;
+  }
+
+  public Map<?, ?> processMapField(Map<?, ?> map,String matchedPath) {
+    return processMapField(map,matchedPath,null);
+  }
+
+  public Map<?, ?> processMapField(Map<?, ?> map,String matchedPath,PayloadMetaData detachedMetaData) {
+    var processed = new LinkedHashMap<Object,Object>();
+    //NOTE: leaf values are grouped by their payload meta-data which typically
+    //is the same for all entries so that they get processed as a single batch
+    var leafBatches = new LinkedHashMap<PayloadMetaData,List<Map.Entry<?,?>>>();
+    var pathUpdates = new HashMap<Object,String>();
+    for (var e : map.entrySet()) {
+      var pathUpdate = matchedPath+pathDelimiter+e.getKey();
+      if(e.getValue() instanceof List) {
+        processed.put(e.getKey(),processListField((List<?>)e.getValue(),pathUpdate,payloadMetaDataFor(pathUpdate,detachedMetaData)));
+      } else if(e.getValue() instanceof Map) {
+        processed.put(e.getKey(),processMapField((Map<?,?>)e.getValue(),pathUpdate,detachedMetaData));
+      } else {
+        processed.put(e.getKey(),null);
+        pathUpdates.put(e.getKey(),pathUpdate);
+        leafBatches.computeIfAbsent(payloadMetaDataFor(pathUpdate,detachedMetaData),m -> new ArrayList<>()).add(e);
+      }
+    }
+    leafBatches.forEach((metaData,entries) -> {
+      var values = new Object[entries.size()];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = entries.get(i).getValue();
+      }
+      var path = entries.size() == 1 ? pathUpdates.get(entries.get(0).getKey()) : matchedPath;
+      var results = processFields(values,values.length,path,metaData);
+      for (int i = 0; i < results.length; i++) {
+        processed.put(entries.get(i).getKey(),results[i]);
+      }
+    });
+    return processed;
+  }
+
+  //NOTE: batch variant of processField for the first count objects which share
+  //the same payload meta-data when encrypting or the detached one when decrypting
+  protected Object[] processFields(Object[] objects,int count,String matchedPath,PayloadMetaData metaData) {
+    var results = new Object[count];
+    if (count == 0) {
+      return results;
+    }
+    if (runsInParallel(count)) {
+      var numChunks = Math.min(fieldParallelism, (count + fieldParallelismThreshold - 1) / fieldParallelismThreshold);
+      var chunkSize = (count + numChunks - 1) / numChunks;
+      runInParallel(numChunks, c -> {
+        var from = c * chunkSize;
+        var to = Math.min(count, from + chunkSize);
+        var chunk = processFieldsSequentially(Arrays.copyOfRange(objects, from, to), to - from, matchedPath, metaData);
+        System.arraycopy(chunk, 0, results, from, chunk.length);
+      });
+      return results;
+    }
+    return processFieldsSequentially(objects, count, matchedPath, metaData);
+  }
+
+  private Object[] processFieldsSequentially(Object[] objects,int count,String matchedPath,PayloadMetaData metaData) {
+    var results = new Object[count];
+    try {
+      LOGGER.debug("{} {} fields {}",cipherMode,count,matchedPath);
+      if (CipherMode.ENCRYPT == cipherMode) {
+        var valueBytes = new byte[count][];
+        for (int i = 0; i < count; i++) {
+          valueBytes[i] = serialize(objects[i]);
+        }
+        var encryptedFields = kryptonite.cipherFields(valueBytes, metaData, deterministicCacheFor(matchedPath));
+        for (int i = 0; i < count; i++) {
+          var serializedField = encode(encryptedFields[i]);
+          results[i] = CipherEncoding.RAW_BYTES == cipherEncoding
+              ? serializedField
+              : Base64.getEncoder().encodeToString(serializedField);
+        }
+      } else {
+        var encryptedFields = new EncryptedField[count];
+        for (int i = 0; i < count; i++) {
+          encryptedFields[i] = decode(decodeField(objects[i]), metaData);
+        }
+        var plaintexts = kryptonite.decipherFields(encryptedFields, deterministicCacheFor(matchedPath));
+        for (int i = 0; i < count; i++) {
+          results[i] = deserialize(plaintexts[i]);
+        }
+      }
+      return results;
+    } catch (Exception e) {
+      throw new KryptoniteException("error: "+cipherMode+" of "+count+" fields at path '"+matchedPath+"' failed unexpectedly",e);
+    }
+  }
+
+  private byte[] serialize(Object object) {
+    var metrics = kryptonite.getMetrics();
+    var start = metrics.start();
+    var bytes = serdeProcessor.objectToBytes(object);
+    metrics.recordSerialization(start);
+    return bytes;
+  }
+
+  private Object deserialize(byte[] bytes) {
+    var metrics = kryptonite.getMetrics();
+    var start = metrics.start();
+    var object = serdeProcessor.bytesToObject(bytes);
+    metrics.recordDeserialization(start);
+    return object;
+  }
+
+  //NOTE: a field path is memoized if its own field config or the one of
+  //any enclosing field path opts-in, e.g. for element-wise processed fields
+  protected DeterministicCipherCache deterministicCacheFor(String fieldPath) {
+    if (deterministicCache == null) {
+      return null;
+    }
+    var memoized = memoizedPaths.get(fieldPath);
+    if (memoized == null) {
+      memoized = memoizedPaths.computeIfAbsent(fieldPath, this::isMemoized);
+    }
+    return memoized ? deterministicCache : null;
+  }
+
+  private boolean isMemoized(String fieldPath) {
+    var path = fieldPath;
+    while (true) {
+      var fc = fieldConfig.get(path);
+      if (fc != null) {
+        return fc.getMemoize().orElse(false);
+      }
+      var idx = path.lastIndexOf(pathDelimiter);
+      if (idx <= 0) {
+        return false;
+      }
+      path = path.substring(0, idx);
+    }
+  }
+
+  protected PayloadMetaData payloadMetaDataFor(String fieldPath) {
+    if (CipherMode.ENCRYPT != cipherMode) {
+      return null;
+    }
+    var fc = fieldConfig.get(fieldPath);
+    if (fc == null) {
+      var metaData = defaultPayloadMetaData;
+      if (metaData == null) {
+        metaData = resolvePayloadMetaData(null);
+        defaultPayloadMetaData = metaData;
+      }
+      return metaData;
+    }
+    var metaData = payloadMetaData.get(fieldPath);
+    if (metaData == null) {
+      metaData = payloadMetaData.computeIfAbsent(fieldPath, p -> resolvePayloadMetaData(fc));
+    }
+    return metaData;
+  }
+
+  private PayloadMetaData resolvePayloadMetaData(FieldConfig fc) {
+    var algorithm = Optional.ofNullable(fc).flatMap(FieldConfig::getAlgorithm)
+        .orElseGet(() -> config.getString(KryptoniteSettings.CIPHER_ALGORITHM));
+    var keyId = Optional.ofNullable(fc).flatMap(FieldConfig::getKeyId)
+        .orElseGet(() -> config.getString(KryptoniteSettings.CIPHER_DATA_KEY_IDENTIFIER));
+    try {
+      return PayloadMetaData.from(cipherTextVersion, algorithm, keyId);
+    } catch (IllegalArgumentException exc) {
+      throw new KryptoniteException("error: invalid payload meta-data for field path '"
+          + (fc != null ? fc.getName() : "") + "'", exc);
+    }
+  }
+
+}
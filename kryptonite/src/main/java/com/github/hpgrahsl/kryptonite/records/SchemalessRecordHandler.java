@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2021. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kryptonite.records;
+
+import com.github.hpgrahsl.kryptonite.CipherMode;
+import com.github.hpgrahsl.kryptonite.Kryptonite;
+import com.github.hpgrahsl.kryptonite.PayloadMetaData;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.BlindIndexMode;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.FieldMode;
+import com.github.hpgrahsl.kryptonite.serdes.SerdeProcessor;
+import org.apache.kafka.common.config.AbstractConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SchemalessRecordHandler extends RecordHandler {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SchemalessRecordHandler.class);
+
+  public SchemalessRecordHandler(AbstractConfig config,
+                                 SerdeProcessor serdeProcessor, Kryptonite kryptonite,
+                                 CipherMode cipherMode,
+                                 Map<String, FieldConfig> fieldConfig) {
+    super(config, serdeProcessor, kryptonite, cipherMode, fieldConfig);
+  }
+
+  public Map<String, Object> matchFields(Map<String, Object> dataOriginal, Map<String, Object> dataNew,
+      String matchedPath) {
+    return matchFields(dataOriginal, dataNew, matchedPath, null);
+  }
+
+  public Map<String, Object> matchFields(Map<String, Object> dataOriginal, Map<String, Object> dataNew,
+      String matchedPath, PayloadMetaData detachedMetaData) {
+    LOGGER.debug("checking fields in record {}",dataOriginal);
+    //NOTE: companion fields are added after the traversal since
+    //dataNew might be the very map which is iterated over
+    Map<String, Object> companions = null;
+    for (var e : dataOriginal.entrySet()) {
+      var f = e.getKey();
+      var v = e.getValue();
+      var updatedPath = matchedPath.isEmpty() ? f : matchedPath+pathDelimiter+f;
+      var updated = processValue(v, updatedPath, detachedMetaData);
+      if (dataNew != dataOriginal || updated != v) {
+        dataNew.put(f, updated);
+      }
+      if (emitsBlindIndexCompanion(updatedPath)) {
+        if (companions == null) {
+          companions = new LinkedHashMap<>();
+        }
+        companions.put(f + blindIndexFieldSuffix, blindIndexField(v, updatedPath));
+      }
+    }
+    if (companions != null) {
+      dataNew.putAll(companions);
+    }
+    return dataNew;
+  }
+
+  //NOTE: copy-on-write traversal which only clones the record's map if any of its fields
+  //is matched and shares all non-matched values of the original data by reference,
+  //like before only top-level fields are matched against the configured field paths
+  public Map<String, Object> processFields(Map<String, Object> dataOriginal, String matchedPath) {
+    return processFields(dataOriginal, matchedPath, null);
+  }
+
+  public Map<String, Object> processFields(Map<String, Object> dataOriginal, String matchedPath,
+      PayloadMetaData detachedMetaData) {
+    LOGGER.debug("checking fields in record {}",dataOriginal);
+    Map<String, Object> dataNew = null;
+    for (var e : dataOriginal.entrySet()) {
+      var updatedPath = matchedPath.isEmpty() ? e.getKey() : matchedPath+pathDelimiter+e.getKey();
+      var updated = processValue(e.getValue(), updatedPath, detachedMetaData);
+      if (updated != e.getValue()) {
+        if (dataNew == null) {
+          dataNew = new LinkedHashMap<>(dataOriginal);
+        }
+        dataNew.put(e.getKey(), updated);
+      }
+      if (emitsBlindIndexCompanion(updatedPath)) {
+        if (dataNew == null) {
+          dataNew = new LinkedHashMap<>(dataOriginal);
+        }
+        dataNew.put(e.getKey() + blindIndexFieldSuffix, blindIndexField(e.getValue(), updatedPath));
+      }
+    }
+    return dataNew != null ? dataNew : dataOriginal;
+  }
+
+  private Object processValue(Object v, String updatedPath, PayloadMetaData detachedMetaData) {
+    var fc = fieldConfig.get(updatedPath);
+    if(fc != null) {
+      LOGGER.trace("matched field '{}'",updatedPath);
+      if(BlindIndexMode.ONLY == fc.getBlindIndex().orElse(null)) {
+        LOGGER.trace("replacing field by its blind index");
+        return CipherMode.ENCRYPT == cipherMode ? blindIndexField(v, updatedPath) : v;
+      }
+      if(FieldMode.ELEMENT == fc.getFieldMode().orElse(fieldMode)) {
+        if(v instanceof List) {
+          LOGGER.trace("processing {} field element-wise", List.class.getSimpleName());
+          return processListField((List<?>)v,updatedPath,payloadMetaDataFor(updatedPath,detachedMetaData));
+        }
+        if(v instanceof Map) {
+          LOGGER.trace("processing {} field element-wise", Map.class.getSimpleName());
+          return processMapField((Map<?,?>)v,updatedPath,detachedMetaData);
+        }
+        LOGGER.trace("processing primitive field");
+        return processField(v, updatedPath, payloadMetaDataFor(updatedPath, detachedMetaData));
+      }
+      LOGGER.trace("processing field");
+      return processField(v, updatedPath, payloadMetaDataFor(updatedPath, detachedMetaData));
+    }
+    LOGGER.trace("sharing non-matched field '{}'",updatedPath);
+    return v;
+  }
+
+}
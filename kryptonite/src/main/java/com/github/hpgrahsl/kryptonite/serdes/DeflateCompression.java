@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kryptonite.serdes;
+
+import com.github.hpgrahsl.kryptonite.KryptoniteException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+//NOTE: thread-confined reusable deflater/inflater instances since creating them per field
+//allocates native zlib state, compressed payloads carry the varint encoded length of the
+//original bytes upfront so that decompression writes into an exactly sized array
+public class DeflateCompression {
+
+  //NOTE: below this length the length prefix plus deflate block overhead never pays off
+  public static final int MIN_COMPRESSIBLE_LENGTH = 32;
+
+  private static final ThreadLocal<Deflater> DEFLATERS =
+      ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED, true));
+  private static final ThreadLocal<Inflater> INFLATERS =
+      ThreadLocal.withInitial(() -> new Inflater(true));
+
+  private DeflateCompression() {}
+
+  //NOTE: returns null if the compressed payload wouldn't be smaller than the input
+  //in which case callers are supposed to go on with the uncompressed input
+  public static byte[] compress(byte[] input) {
+    if (input.length < MIN_COMPRESSIBLE_LENGTH) {
+      return null;
+    }
+    var deflater = DEFLATERS.get();
+    try {
+      deflater.setInput(input);
+      deflater.finish();
+      var output = new byte[input.length];
+      var position = EncryptedFieldCodec.writeVarInt(output, 0, input.length);
+      while (!deflater.finished()) {
+        if (position == output.length) {
+          return null;
+        }
+        position += deflater.deflate(output, position, output.length - position);
+      }
+      return Arrays.copyOf(output, position);
+    } finally {
+      deflater.reset();
+    }
+  }
+
+  public static byte[] decompress(byte[] input) {
+    var length = 0;
+    var shift = 0;
+    var position = 0;
+    byte b;
+    do {
+      if (position >= input.length || shift > 28) {
+        throw new KryptoniteException("invalid compressed payload: malformed length");
+      }
+      b = input[position++];
+      length |= (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    if (length < 0) {
+      throw new KryptoniteException("invalid compressed payload: negative length "+length);
+    }
+    var inflater = INFLATERS.get();
+    try {
+      inflater.setInput(input, position, input.length - position);
+      var output = new byte[length];
+      var total = 0;
+      while (total < length) {
+        var inflated = inflater.inflate(output, total, length - total);
+        if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+          throw new KryptoniteException("invalid compressed payload: expected "+length+" bytes but got "+total);
+        }
+        total += inflated;
+      }
+      return output;
+    } catch (DataFormatException e) {
+      throw new KryptoniteException("invalid compressed payload: "+e.getMessage(), e);
+    } finally {
+      inflater.reset();
+    }
+  }
+
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kryptonite.serdes;
+
+import com.github.hpgrahsl.kryptonite.EncryptedField;
+import com.github.hpgrahsl.kryptonite.Kryptonite;
+import com.github.hpgrahsl.kryptonite.KryptoniteException;
+import com.github.hpgrahsl.kryptonite.PayloadMetaData;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * k1 payloads are kryo serialized EncryptedField instances whose first byte is the
+ * varint encoded length (+1) of the ciphertext. Since even the shortest Tink ciphertext
+ * is way longer than 0x02 this first byte never collides with the k2 version marker.
+ *
+ * k2 payloads use a compact binary envelope with the following layout:
+ *   [version (1 byte)][algorithm id (1 byte)][flags (1 byte)][key id length (varint)][key id (UTF-8)][ciphertext]
+ *
+ * Flags describe how the plaintext was transformed before encryption (e.g. FLAG_DEFLATE for
+ * compressed plaintexts). Since k1 payloads have no slot for them only unflagged fields can be k1 encoded.
+ *
+ * Detached payloads are used if the meta-data is carried separately once for many fields (e.g. in a record header):
+ *   [flags (1 byte)][ciphertext]
+ * with the meta-data in its textual form:
+ *   [version]:[algorithm id]:[key id]
+ */
+public class EncryptedFieldCodec {
+
+  public static final byte VERSION_K2 = 0x02;
+  public static final byte FLAGS_NONE = 0x00;
+  public static final byte FLAG_DEFLATE = 0x01;
+
+  private static final byte KNOWN_FLAGS = FLAG_DEFLATE;
+  private static final String METADATA_DELIMITER = ":";
+
+  private static final String[] ALGORITHM_IDS = new String[Byte.MAX_VALUE + 1];
+  private static final Map<String, byte[]> KEY_ID_BYTES = new ConcurrentHashMap<>();
+
+  static {
+    Kryptonite.ID_CIPHERSPEC_LUT.keySet().forEach(id -> ALGORITHM_IDS[Integer.parseInt(id)] = id);
+  }
+
+  public static byte[] encode(EncryptedField encryptedField) {
+    var metadata = encryptedField.getMetaData();
+    if (Kryptonite.KRYPTONITE_VERSION_K2.equals(metadata.getVersion())) {
+      return encodeK2(metadata, encryptedField.getFlags(), encryptedField.ciphertext());
+    }
+    if (encryptedField.getFlags() != FLAGS_NONE) {
+      throw new KryptoniteException("invalid k1 payload: flags "+encryptedField.getFlags()+" require the k2 envelope");
+    }
+    var output = KryoBufferPool.acquireOutput();
+    try {
+      KryoInstance.get().writeObject(output, encryptedField);
+      return output.toBytes();
+    } finally {
+      KryoBufferPool.releaseOutput(output);
+    }
+  }
+
+  public static EncryptedField decode(byte[] bytes) {
+    if (bytes.length > 0 && bytes[0] == VERSION_K2) {
+      return decodeK2(bytes);
+    }
+    var input = KryoBufferPool.acquireInput(bytes);
+    try {
+      return KryoInstance.get().readObject(input, EncryptedField.class);
+    } finally {
+      KryoBufferPool.releaseInput(input);
+    }
+  }
+
+  public static byte[] encodeDetached(EncryptedField encryptedField) {
+    var ciphertext = encryptedField.ciphertext();
+    var payload = new byte[1 + ciphertext.length];
+    payload[0] = encryptedField.getFlags();
+    System.arraycopy(ciphertext, 0, payload, 1, ciphertext.length);
+    return payload;
+  }
+
+  public static EncryptedField decodeDetached(byte[] payload, PayloadMetaData metadata) {
+    if (payload.length < 2) {
+      throw new KryptoniteException("invalid detached payload: too short ("+payload.length+" bytes)");
+    }
+    var flags = payload[0];
+    if ((flags & ~KNOWN_FLAGS) != 0) {
+      throw new KryptoniteException("invalid detached payload: unsupported flags "+flags);
+    }
+    var ciphertext = new byte[payload.length - 1];
+    System.arraycopy(payload, 1, ciphertext, 0, ciphertext.length);
+    return new EncryptedField(metadata, ciphertext, flags);
+  }
+
+  //NOTE: the key id comes last so that it may contain the delimiter itself
+  public static String encodeMetaData(PayloadMetaData metadata) {
+    return metadata.getVersion() + METADATA_DELIMITER + metadata.getAlgorithmId() + METADATA_DELIMITER + metadata.getKeyId();
+  }
+
+  public static PayloadMetaData decodeMetaData(String text) {
+    var parts = text.split(METADATA_DELIMITER, 3);
+    if (parts.length != 3 || !Kryptonite.ID_CIPHERSPEC_LUT.containsKey(parts[1])) {
+      throw new KryptoniteException("invalid payload meta-data '"+text+"'");
+    }
+    return PayloadMetaData.lookup(parts[0], parts[1], parts[2]);
+  }
+
+  private static byte[] encodeK2(PayloadMetaData metadata, byte flags, byte[] ciphertext) {
+    var keyId = metadata.getKeyId();
+    var keyIdBytes = KEY_ID_BYTES.get(keyId);
+    if (keyIdBytes == null) {
+      keyIdBytes = KEY_ID_BYTES.computeIfAbsent(keyId, k -> k.getBytes(StandardCharsets.UTF_8));
+    }
+    var headerLength = 3 + varIntLength(keyIdBytes.length) + keyIdBytes.length;
+    var envelope = new byte[headerLength + ciphertext.length];
+    envelope[0] = VERSION_K2;
+    envelope[1] = (byte) Integer.parseInt(metadata.getAlgorithmId());
+    envelope[2] = flags;
+    var position = writeVarInt(envelope, 3, keyIdBytes.length);
+    System.arraycopy(keyIdBytes, 0, envelope, position, keyIdBytes.length);
+    System.arraycopy(ciphertext, 0, envelope, headerLength, ciphertext.length);
+    return envelope;
+  }
+
+  private static EncryptedField decodeK2(byte[] envelope) {
+    if (envelope.length < 4) {
+      throw new KryptoniteException("invalid k2 envelope: too short ("+envelope.length+" bytes)");
+    }
+    var algorithmId = envelope[1] >= 0 ? ALGORITHM_IDS[envelope[1]] : null;
+    if (algorithmId == null) {
+      throw new KryptoniteException("invalid k2 envelope: unknown algorithm id "+envelope[1]);
+    }
+    var flags = envelope[2];
+    if ((flags & ~KNOWN_FLAGS) != 0) {
+      throw new KryptoniteException("invalid k2 envelope: unsupported flags "+envelope[2]);
+    }
+    var keyIdLength = 0;
+    var shift = 0;
+    var position = 3;
+    byte b;
+    do {
+      if (position >= envelope.length || shift > 28) {
+        throw new KryptoniteException("invalid k2 envelope: malformed key id length");
+      }
+      b = envelope[position++];
+      keyIdLength |= (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    if (keyIdLength < 0 || position + keyIdLength > envelope.length) {
+      throw new KryptoniteException("invalid k2 envelope: key id length "+keyIdLength+" exceeds payload");
+    }
+    var keyId = new String(envelope, position, keyIdLength, StandardCharsets.UTF_8);
+    position += keyIdLength;
+    var ciphertext = new byte[envelope.length - position];
+    System.arraycopy(envelope, position, ciphertext, 0, ciphertext.length);
+    return new EncryptedField(PayloadMetaData.lookup(Kryptonite.KRYPTONITE_VERSION_K2, algorithmId, keyId), ciphertext, flags);
+  }
+
+  private static int varIntLength(int value) {
+    var length = 1;
+    while ((value >>>= 7) != 0) {
+      length++;
+    }
+    return length;
+  }
+
+  static int writeVarInt(byte[] buffer, int position, int value) {
+    while ((value & ~0x7F) != 0) {
+      buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buffer[position++] = (byte) value;
+    return position;
+  }
+
+}
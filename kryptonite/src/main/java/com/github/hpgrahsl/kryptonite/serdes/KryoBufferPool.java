@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kryptonite.serdes;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+//NOTE: thread-confined reusable kryo buffers which avoid allocating fresh Output/Input
+//instances plus their backing arrays for every single (de)serialized field
+public class KryoBufferPool {
+
+  public static final int INITIAL_BUFFER_SIZE = 1024;
+  public static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+  private static final byte[] EMPTY = new byte[0];
+
+  private static final ThreadLocal<KryoBufferPool> POOLS = ThreadLocal.withInitial(KryoBufferPool::new);
+
+  private Output output = newOutput();
+  private final Input input = new Input(EMPTY);
+  private boolean outputInUse;
+  private boolean inputInUse;
+
+  private KryoBufferPool() {}
+
+  public static Output acquireOutput() {
+    var pool = POOLS.get();
+    if (pool.outputInUse) {
+      //NOTE: re-entrant use on the same thread falls back to a non-pooled buffer
+      return newOutput();
+    }
+    pool.outputInUse = true;
+    return pool.output;
+  }
+
+  public static void releaseOutput(Output output) {
+    var pool = POOLS.get();
+    if (output != pool.output) {
+      return;
+    }
+    //NOTE: shrink buffers which grew beyond the retained size due to occasional large payloads
+    if (output.getBuffer().length > MAX_RETAINED_BUFFER_SIZE) {
+      pool.output = newOutput();
+    } else {
+      output.reset();
+    }
+    pool.outputInUse = false;
+  }
+
+  public static Input acquireInput(byte[] bytes) {
+    var pool = POOLS.get();
+    if (pool.inputInUse) {
+      return new Input(bytes);
+    }
+    pool.inputInUse = true;
+    pool.input.setBuffer(bytes);
+    return pool.input;
+  }
+
+  public static void releaseInput(Input input) {
+    var pool = POOLS.get();
+    if (input != pool.input) {
+      return;
+    }
+    //NOTE: drop the reference to the payload so that it doesn't outlive the call
+    input.setBuffer(EMPTY);
+    pool.inputInUse = false;
+  }
+
+  private static Output newOutput() {
+    return new Output(INITIAL_BUFFER_SIZE, -1);
+  }
+
+}
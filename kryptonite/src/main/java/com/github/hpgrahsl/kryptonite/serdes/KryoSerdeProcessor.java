@@ -20,28 +20,44 @@ import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.StructSchemaMode;
 import org.apache.kafka.connect.data.ConnectSchema;
 import org.apache.kafka.connect.data.Field;
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.Schema.Type;
 import org.apache.kafka.connect.data.Struct;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
 import java.util.ArrayList;
 import java.util.Map;
 
 public class KryoSerdeProcessor implements SerdeProcessor {
 
-  public KryoSerdeProcessor() {}
+  private final StructSchemaMode structSchemaMode;
+
+  public KryoSerdeProcessor() {
+    this(StructSchemaMode.EMBEDDED);
+  }
+
+  public KryoSerdeProcessor(StructSchemaMode structSchemaMode) {
+    this.structSchemaMode = structSchemaMode;
+  }
 
   public byte[] objectToBytes(Object object,Class<?> clazz) {
     return objectToBytes(object);
   }
 
   public byte[] objectToBytes(Object object) {
-    var output = new Output(new ByteArrayOutputStream());
-    KryoInstance.get().writeClassAndObject(output,object);
-    return output.toBytes();
+    var output = KryoBufferPool.acquireOutput();
+    try {
+      KryoInstance.get(structSchemaMode).writeClassAndObject(output,object);
+      return output.toBytes();
+    } finally {
+      KryoBufferPool.releaseOutput(output);
+    }
   }
 
   public Object bytesToObject(byte[] bytes, Class<?> clazz) {
@@ -49,16 +65,61 @@ public class KryoSerdeProcessor implements SerdeProcessor {
   }
 
   public Object bytesToObject(byte[] bytes) {
-    var input = new Input(bytes);
-    return KryoInstance.get().readClassAndObject(input);
+    //NOTE: tagged payloads are understood irrespective of the configured serde type
+    if (TaggedSerdeProcessor.isTagged(bytes)) {
+      return TaggedSerdeProcessor.decode(bytes);
+    }
+    var input = KryoBufferPool.acquireInput(bytes);
+    try {
+      return KryoInstance.get(structSchemaMode).readClassAndObject(input);
+    } finally {
+      KryoBufferPool.releaseInput(input);
+    }
+  }
+
+  @Override
+  public void objectToStream(Object object, OutputStream outputStream) {
+    var output = new Output(outputStream, KryoBufferPool.INITIAL_BUFFER_SIZE);
+    KryoInstance.get(structSchemaMode).writeClassAndObject(output,object);
+    output.flush();
+  }
+
+  @Override
+  public Object streamToObject(InputStream inputStream) throws IOException {
+    var pushback = new PushbackInputStream(inputStream, 1);
+    var first = pushback.read();
+    if (first != -1) {
+      pushback.unread(first);
+      if (TaggedSerdeProcessor.isTag((byte)first)) {
+        return TaggedSerdeProcessor.decode(pushback);
+      }
+    }
+    var input = new Input(pushback, KryoBufferPool.INITIAL_BUFFER_SIZE);
+    return KryoInstance.get(structSchemaMode).readClassAndObject(input);
   }
 
   public static class StructSerializer extends Serializer<Struct> {
 
     private final SchemaSerializer schemaSerializer = new SchemaSerializer();
+    private final StructSchemaMode structSchemaMode;
+
+    public StructSerializer() {
+      this(StructSchemaMode.EMBEDDED);
+    }
+
+    public StructSerializer(StructSchemaMode structSchemaMode) {
+      this.structSchemaMode = structSchemaMode;
+    }
 
     public void write (Kryo kryo, Output output, Struct struct) {
-      kryo.writeObject(output,struct.schema(),schemaSerializer);
+      if(structSchemaMode == StructSchemaMode.FINGERPRINT) {
+        //NOTE: an embedded schema always starts with the non-null class of its type
+        //so a null class marker unambiguously announces a schema fingerprint instead
+        kryo.writeClass(output,null);
+        output.writeLong(StructSchemaCache.fingerprintOf(struct.schema()));
+      } else {
+        kryo.writeObject(output,struct.schema(),schemaSerializer);
+      }
       writeStructFieldObjects(kryo,output,struct);
     }
 
@@ -73,7 +134,15 @@ public class KryoSerdeProcessor implements SerdeProcessor {
     }
 
     public Struct read (Kryo kryo, Input input, Class<? extends Struct> type) {
-      var schema = kryo.readObject(input,Schema.class,schemaSerializer);
+      //NOTE: reading supports both forms irrespective of the configured mode
+      var registration = kryo.readClass(input);
+      Schema schema;
+      if(registration == null) {
+        schema = StructSchemaCache.resolve(input.readLong());
+      } else {
+        var schemaType = (Type)kryo.readObject(input,registration.getType());
+        schema = StructSchemaCache.intern(schemaSerializer.read(kryo,input,schemaType));
+      }
       return readStructFieldObjects(kryo,input, new Struct(schema));
     }
 
@@ -120,9 +189,12 @@ public class KryoSerdeProcessor implements SerdeProcessor {
 
     }
 
-    @SuppressWarnings("unchecked")
     public Schema read (Kryo kryo, Input input, Class<? extends Schema> type) {
-      var schemaType = (Type)kryo.readClassAndObject(input);
+      return read(kryo,input,(Type)kryo.readClassAndObject(input));
+    }
+
+    @SuppressWarnings("unchecked")
+    Schema read (Kryo kryo, Input input, Type schemaType) {
       var name = input.readString();
       var isOptional = input.readBoolean();
       var defaultValue = kryo.readObjectOrNull(input,Object.class);
@@ -16,6 +16,10 @@
 
 package com.github.hpgrahsl.kryptonite.serdes;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
 public interface SerdeProcessor {
 
   byte[] objectToBytes(Object object,Class<?> clazz);
@@ -26,4 +30,14 @@ public interface SerdeProcessor {
 
   Object bytesToObject(byte[] bytes);
 
+  //NOTE: stream based variants used together with streaming cipher algorithms,
+  //implementations override these to avoid materializing the serialized form
+  default void objectToStream(Object object, OutputStream outputStream) throws IOException {
+    outputStream.write(objectToBytes(object));
+  }
+
+  default Object streamToObject(InputStream inputStream) throws IOException {
+    return bytesToObject(inputStream.readAllBytes());
+  }
+
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kryptonite.serdes;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Schema.Type;
+
+import com.github.hpgrahsl.kryptonite.KryptoniteException;
+import com.github.hpgrahsl.kryptonite.util.StripedLruCache;
+
+//NOTE: in-process registry which maps struct schemas to stable 64-bit fingerprints and back
+//so that serialized structs can refer to their schema instead of embedding it for every value,
+//schemas seen while (de)serializing are kept in bounded LRU caches whereas schemas explicitly
+//registered by the reading side are pinned since only these are guaranteed to be resolvable
+public class StructSchemaCache {
+
+  static final int MAX_CACHED_SCHEMAS = 1024;
+
+  private static final StripedLruCache<Schema, Long> FINGERPRINTS = new StripedLruCache<>(MAX_CACHED_SCHEMAS);
+  private static final StripedLruCache<Long, Schema> SCHEMAS = new StripedLruCache<>(MAX_CACHED_SCHEMAS);
+  private static final Map<Long, Schema> REGISTERED = new ConcurrentHashMap<>();
+
+  private StructSchemaCache() {}
+
+  public static long fingerprintOf(Schema schema) {
+    var fingerprint = FINGERPRINTS.get(schema);
+    if (fingerprint != null) {
+      return fingerprint;
+    }
+    fingerprint = computeFingerprint(schema);
+    FINGERPRINTS.put(schema, fingerprint);
+    if (lookup(fingerprint) == null) {
+      SCHEMAS.put(fingerprint, schema);
+    }
+    return fingerprint;
+  }
+
+  //NOTE: there is no fallback for unknown fingerprints because the writing side cannot tell
+  //which schemas a reader knows, hence FINGERPRINT mode requires the reading side to either
+  //register the expected schemas or to run in the same process as the writing side,
+  //data written in FINGERPRINT mode is undecryptable for readers which never register schemas
+  public static Schema resolve(long fingerprint) {
+    var schema = lookup(fingerprint);
+    if (schema == null) {
+      throw new KryptoniteException("error: unknown struct schema fingerprint "
+          + Long.toHexString(fingerprint) + " - make sure the corresponding schema is registered"
+          + " on the reading side or use the embedded struct schema mode on the writing side");
+    }
+    return schema;
+  }
+
+  //NOTE: returns a previously seen equal schema instance if any which lets
+  //decrypted structs share schema objects and makes schema equality checks cheap
+  public static Schema intern(Schema schema) {
+    var fingerprint = fingerprintOf(schema);
+    var interned = lookup(fingerprint);
+    if (interned != null) {
+      return interned;
+    }
+    SCHEMAS.put(fingerprint, schema);
+    return schema;
+  }
+
+  //NOTE: registers the given schema together with all struct schemas nested within
+  //so that readers can resolve fingerprints which were written by other processes
+  public static void register(Schema schema) {
+    if (schema == null) {
+      return;
+    }
+    if (Type.STRUCT == schema.type()) {
+      REGISTERED.putIfAbsent(fingerprintOf(schema), schema);
+      schema.fields().forEach(f -> register(f.schema()));
+    } else if (Type.ARRAY == schema.type()) {
+      register(schema.valueSchema());
+    } else if (Type.MAP == schema.type()) {
+      register(schema.keySchema());
+      register(schema.valueSchema());
+    }
+  }
+
+  private static Schema lookup(long fingerprint) {
+    var schema = REGISTERED.get(fingerprint);
+    return schema != null ? schema : SCHEMAS.get(fingerprint);
+  }
+
+  static long computeFingerprint(Schema schema) {
+    try {
+      var canonical = new StringBuilder();
+      appendCanonical(canonical, schema);
+      var digest = MessageDigest.getInstance("SHA-256")
+          .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+      return ByteBuffer.wrap(digest, 0, Long.BYTES).getLong();
+    } catch (NoSuchAlgorithmException e) {
+      throw new KryptoniteException(e.getMessage(), e);
+    }
+  }
+
+  private static void appendCanonical(StringBuilder sb, Schema schema) {
+    sb.append('{').append(schema.type())
+        .append('|').append(schema.name())
+        .append('|').append(schema.isOptional())
+        .append('|').append(schema.version())
+        .append('|').append(schema.doc())
+        .append('|').append(canonicalValue(schema.defaultValue()))
+        .append('|').append(schema.parameters() != null ? new TreeMap<>(schema.parameters()) : null);
+    if (Type.STRUCT == schema.type()) {
+      schema.fields().forEach(f -> {
+        sb.append('|').append(f.index()).append(':').append(f.name()).append('=');
+        appendCanonical(sb, f.schema());
+      });
+    } else if (Type.ARRAY == schema.type()) {
+      sb.append('|');
+      appendCanonical(sb, schema.valueSchema());
+    } else if (Type.MAP == schema.type()) {
+      sb.append('|');
+      appendCanonical(sb, schema.keySchema());
+      sb.append('|');
+      appendCanonical(sb, schema.valueSchema());
+    }
+    sb.append('}');
+  }
+
+  private static String canonicalValue(Object value) {
+    if (value instanceof byte[]) {
+      return Arrays.toString((byte[]) value);
+    }
+    if (value instanceof ByteBuffer) {
+      var buffer = ((ByteBuffer) value).duplicate();
+      var bytes = new byte[buffer.remaining()];
+      buffer.get(bytes);
+      return Arrays.toString(bytes);
+    }
+    return String.valueOf(value);
+  }
+
+}
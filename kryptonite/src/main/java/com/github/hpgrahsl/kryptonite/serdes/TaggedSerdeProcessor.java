@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kryptonite.serdes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+
+import com.github.hpgrahsl.kryptonite.KryptoniteException;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.StructSchemaMode;
+
+/*
+ * Serializes connect primitive values as a one byte type tag followed by the raw value
+ * and falls back to kryo for all other types. Kryo payloads start with the varint encoded
+ * class registration id (+2), hence tags are taken from the range 0xF0..0xFF which kryo
+ * only ever emits as first byte for registration ids >= 238.
+ */
+public class TaggedSerdeProcessor implements SerdeProcessor {
+
+  public static final byte TAG_STRING = (byte) 0xF0;
+  public static final byte TAG_INT8 = (byte) 0xF1;
+  public static final byte TAG_INT16 = (byte) 0xF2;
+  public static final byte TAG_INT32 = (byte) 0xF3;
+  public static final byte TAG_INT64 = (byte) 0xF4;
+  public static final byte TAG_FLOAT32 = (byte) 0xF5;
+  public static final byte TAG_FLOAT64 = (byte) 0xF6;
+  public static final byte TAG_BOOLEAN = (byte) 0xF7;
+  public static final byte TAG_BYTES = (byte) 0xF8;
+  public static final byte TAG_DECIMAL = (byte) 0xF9;
+  public static final byte TAG_DATE = (byte) 0xFA;
+
+  static final int MAX_SAFE_KRYO_REGISTRATION_ID = 237;
+
+  private final KryoSerdeProcessor fallback;
+
+  public TaggedSerdeProcessor() {
+    this(StructSchemaMode.EMBEDDED);
+  }
+
+  public TaggedSerdeProcessor(StructSchemaMode structSchemaMode) {
+    this.fallback = new KryoSerdeProcessor(structSchemaMode);
+  }
+
+  @Override
+  public byte[] objectToBytes(Object object, Class<?> clazz) {
+    return objectToBytes(object);
+  }
+
+  @Override
+  public byte[] objectToBytes(Object object) {
+    var bytes = encode(object);
+    return bytes != null ? bytes : fallback.objectToBytes(object);
+  }
+
+  @Override
+  public Object bytesToObject(byte[] bytes, Class<?> clazz) {
+    return bytesToObject(bytes);
+  }
+
+  @Override
+  public Object bytesToObject(byte[] bytes) {
+    return fallback.bytesToObject(bytes);
+  }
+
+  @Override
+  public void objectToStream(Object object, OutputStream outputStream) throws IOException {
+    //NOTE: raw bytes are written as is behind their tag to avoid copying large values
+    if (object instanceof byte[]) {
+      outputStream.write(TAG_BYTES);
+      outputStream.write((byte[]) object);
+      return;
+    }
+    var bytes = encode(object);
+    if (bytes == null) {
+      fallback.objectToStream(object, outputStream);
+      return;
+    }
+    outputStream.write(bytes);
+  }
+
+  @Override
+  public Object streamToObject(InputStream inputStream) throws IOException {
+    return fallback.streamToObject(inputStream);
+  }
+
+  public static boolean isTagged(byte[] bytes) {
+    return bytes.length > 0 && isTag(bytes[0]);
+  }
+
+  public static boolean isTag(byte first) {
+    return (first & 0xF0) == 0xF0;
+  }
+
+  //NOTE: returns null for values without a tagged representation
+  public static byte[] encode(Object object) {
+    if (object instanceof String) {
+      return tagged(TAG_STRING, ((String) object).getBytes(StandardCharsets.UTF_8));
+    }
+    if (object instanceof Integer) {
+      return allocate(TAG_INT32, Integer.BYTES).putInt((Integer) object).array();
+    }
+    if (object instanceof Long) {
+      return allocate(TAG_INT64, Long.BYTES).putLong((Long) object).array();
+    }
+    if (object instanceof Boolean) {
+      return new byte[] {TAG_BOOLEAN, (byte) ((Boolean) object ? 1 : 0)};
+    }
+    if (object instanceof Double) {
+      return allocate(TAG_FLOAT64, Double.BYTES).putDouble((Double) object).array();
+    }
+    if (object instanceof Float) {
+      return allocate(TAG_FLOAT32, Float.BYTES).putFloat((Float) object).array();
+    }
+    if (object instanceof Short) {
+      return allocate(TAG_INT16, Short.BYTES).putShort((Short) object).array();
+    }
+    if (object instanceof Byte) {
+      return new byte[] {TAG_INT8, (Byte) object};
+    }
+    if (object instanceof byte[]) {
+      return tagged(TAG_BYTES, (byte[]) object);
+    }
+    if (object instanceof BigDecimal) {
+      var decimal = (BigDecimal) object;
+      var unscaled = decimal.unscaledValue().toByteArray();
+      return allocate(TAG_DECIMAL, Integer.BYTES + unscaled.length)
+          .putInt(decimal.scale()).put(unscaled).array();
+    }
+    //NOTE: only plain dates which is what connect uses for its Date, Time and Timestamp
+    //logical types, subclasses such as java.sql.* types are left to kryo
+    if (object != null && object.getClass() == Date.class) {
+      return allocate(TAG_DATE, Long.BYTES).putLong(((Date) object).getTime()).array();
+    }
+    return null;
+  }
+
+  public static Object decode(byte[] bytes) {
+    var buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+    try {
+      switch (bytes[0]) {
+        case TAG_STRING:
+          return new String(bytes, 1, bytes.length - 1, StandardCharsets.UTF_8);
+        case TAG_INT8:
+          return buffer.get();
+        case TAG_INT16:
+          return buffer.getShort();
+        case TAG_INT32:
+          return buffer.getInt();
+        case TAG_INT64:
+          return buffer.getLong();
+        case TAG_FLOAT32:
+          return buffer.getFloat();
+        case TAG_FLOAT64:
+          return buffer.getDouble();
+        case TAG_BOOLEAN:
+          return buffer.get() != 0;
+        case TAG_BYTES:
+          return Arrays.copyOfRange(bytes, 1, bytes.length);
+        case TAG_DECIMAL:
+          var scale = buffer.getInt();
+          return new BigDecimal(new BigInteger(Arrays.copyOfRange(bytes, 1 + Integer.BYTES, bytes.length)), scale);
+        case TAG_DATE:
+          return new Date(buffer.getLong());
+        default:
+          throw new KryptoniteException("error: unknown serde type tag " + bytes[0]);
+      }
+    } catch (RuntimeException exc) {
+      if (exc instanceof KryptoniteException) {
+        throw exc;
+      }
+      throw new KryptoniteException("error: malformed tagged payload", exc);
+    }
+  }
+
+  public static Object decode(InputStream inputStream) throws IOException {
+    var tag = inputStream.read();
+    if (tag == -1) {
+      throw new KryptoniteException("error: cannot decode tagged value from empty stream");
+    }
+    //NOTE: read() returns the tag as unsigned int hence the comparison against the unsigned tag
+    if (tag == (TAG_BYTES & 0xFF)) {
+      return inputStream.readAllBytes();
+    }
+    var remaining = inputStream.readAllBytes();
+    var bytes = new byte[1 + remaining.length];
+    bytes[0] = (byte) tag;
+    System.arraycopy(remaining, 0, bytes, 1, remaining.length);
+    return decode(bytes);
+  }
+
+  private static ByteBuffer allocate(byte tag, int length) {
+    return ByteBuffer.allocate(1 + length).put(tag);
+  }
+
+  private static byte[] tagged(byte tag, byte[] value) {
+    var bytes = new byte[1 + value.length];
+    bytes[0] = tag;
+    System.arraycopy(value, 0, bytes, 1, value.length);
+    return bytes;
+  }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kryptonite.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+//NOTE: lock-striped LRU cache with optional expiry after write so that
+//concurrent tasks only contend on the segment their key hashes into
+public class StripedLruCache<K, V> {
+
+  private static final int MAX_SEGMENTS = 16;
+  private static final int MIN_ENTRIES_PER_SEGMENT = 8;
+
+  private final Segment<K, V>[] segments;
+  private final long expiryNanos;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public StripedLruCache(int maxSize) {
+    this(maxSize, 0);
+  }
+
+  @SuppressWarnings("unchecked")
+  public StripedLruCache(int maxSize, long expiryMillis) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("cache size must be positive but was " + maxSize);
+    }
+    var numSegments = 1;
+    while (numSegments < MAX_SEGMENTS && numSegments * 2 * MIN_ENTRIES_PER_SEGMENT <= maxSize) {
+      numSegments *= 2;
+    }
+    segments = new Segment[numSegments];
+    for (int s = 0; s < numSegments; s++) {
+      //NOTE: spread remaining capacity so that segments sum up to the max size
+      segments[s] = new Segment<>(maxSize / numSegments + (s < maxSize % numSegments ? 1 : 0), evictions);
+    }
+    this.expiryNanos = expiryMillis > 0 ? expiryMillis * 1_000_000L : 0;
+  }
+
+  public V get(K key) {
+    var segment = segmentFor(key);
+    synchronized (segment) {
+      var entry = segment.get(key);
+      if (entry != null && expiryNanos > 0 && System.nanoTime() - entry.writtenAt > expiryNanos) {
+        segment.remove(key);
+        evictions.increment();
+        entry = null;
+      }
+      if (entry == null) {
+        misses.increment();
+        return null;
+      }
+      hits.increment();
+      return entry.value;
+    }
+  }
+
+  public void put(K key, V value) {
+    var segment = segmentFor(key);
+    synchronized (segment) {
+      segment.put(key, new Entry<>(value, System.nanoTime()));
+    }
+  }
+
+  public boolean remove(K key) {
+    var segment = segmentFor(key);
+    synchronized (segment) {
+      return segment.remove(key) != null;
+    }
+  }
+
+  public long size() {
+    long size = 0;
+    for (var segment : segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+    return size;
+  }
+
+  public long getHits() {
+    return hits.sum();
+  }
+
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "StripedLruCache{" +
+        "size=" + size() +
+        ", hits=" + getHits() +
+        ", misses=" + getMisses() +
+        ", evictions=" + getEvictions() +
+        '}';
+  }
+
+  private Segment<K, V> segmentFor(K key) {
+    var h = key.hashCode();
+    h ^= (h >>> 16);
+    return segments[h & (segments.length - 1)];
+  }
+
+  private static final class Entry<V> {
+
+    private final V value;
+    private final long writtenAt;
+
+    private Entry(V value, long writtenAt) {
+      this.value = value;
+      this.writtenAt = writtenAt;
+    }
+
+  }
+
+  private static final class Segment<K, V> extends LinkedHashMap<K, Entry<V>> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int maxSize;
+    private final LongAdder evictions;
+
+    private Segment(int maxSize, LongAdder evictions) {
+      super(16, 0.75f, true);
+      this.maxSize = maxSize;
+      this.evictions = evictions;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+      if (size() > maxSize) {
+        evictions.increment();
+        return true;
+      }
+      return false;
+    }
+
+  }
+
+}
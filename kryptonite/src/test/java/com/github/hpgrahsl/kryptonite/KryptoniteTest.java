@@ -1,10 +1,21 @@
 package com.github.hpgrahsl.kryptonite;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -12,7 +23,10 @@ import org.junit.jupiter.params.provider.MethodSource;
 
 import com.github.hpgrahsl.kryptonite.Kryptonite.CipherSpec;
 import com.github.hpgrahsl.kryptonite.config.ConfigReader;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.CompressionType;
+import com.github.hpgrahsl.kryptonite.crypto.DeterministicCipherCache;
 import com.github.hpgrahsl.kryptonite.crypto.tink.TinkAesGcm;
+import com.github.hpgrahsl.kryptonite.crypto.tink.TinkAesGcmHkdfStreaming;
 import com.github.hpgrahsl.kryptonite.crypto.tink.TinkAesGcmSiv;
 import com.github.hpgrahsl.kryptonite.keys.AbstractKeyVault;
 import com.github.hpgrahsl.kryptonite.keys.TinkKeyVault;
@@ -20,6 +34,10 @@ import com.github.hpgrahsl.kryptonite.keys.TinkKeyVaultEncrypted;
 import com.github.hpgrahsl.kryptonite.kms.azure.AzureKeyVault;
 import com.github.hpgrahsl.kryptonite.kms.azure.AzureKeyVaultEncrypted;
 import com.github.hpgrahsl.kryptonite.kms.azure.AzureSecretResolver;
+import com.github.hpgrahsl.kryptonite.metrics.KryptoniteMetrics;
+import com.github.hpgrahsl.kryptonite.serdes.EncryptedFieldCodec;
+import com.github.hpgrahsl.kryptonite.serdes.KryoSerdeProcessor;
+import com.github.hpgrahsl.kryptonite.serdes.TaggedSerdeProcessor;
 
 public class KryptoniteTest {
     
@@ -58,6 +76,236 @@ public class KryptoniteTest {
         assertArrayEquals(originalData,kryptonite.decipherField(kryptonite.cipherField(originalData, metaData)));
     }
 
+    @Test
+    @DisplayName("test payload metadata is interned per version, algorithm and key identifier")
+    void testPayloadMetaDataInterning() {
+        var metaDataA = PayloadMetaData.from(new FieldMetaData(TinkAesGcm.CIPHER_ALGORITHM,"String","keyA"));
+        assertAll(
+            () -> assertSame(metaDataA, PayloadMetaData.from(TinkAesGcm.CIPHER_ALGORITHM,"keyA")),
+            () -> assertSame(metaDataA, PayloadMetaData.of(Kryptonite.KRYPTONITE_VERSION,"02","keyA")),
+            () -> assertNotSame(metaDataA, PayloadMetaData.from(TinkAesGcmSiv.CIPHER_ALGORITHM,"keyA")),
+            () -> assertNotSame(metaDataA, PayloadMetaData.from(TinkAesGcm.CIPHER_ALGORITHM,"keyB")),
+            () -> assertSame(metaDataA, PayloadMetaData.lookup(Kryptonite.KRYPTONITE_VERSION,"02","keyA")),
+            () -> assertEquals(PayloadMetaData.lookup(Kryptonite.KRYPTONITE_VERSION,"02","keyUnknown"),
+                    PayloadMetaData.lookup(Kryptonite.KRYPTONITE_VERSION,"02","keyUnknown")),
+            () -> assertNotSame(PayloadMetaData.lookup(Kryptonite.KRYPTONITE_VERSION,"02","keyUnknown"),
+                    PayloadMetaData.lookup(Kryptonite.KRYPTONITE_VERSION,"02","keyUnknown")),
+            () -> assertSame(CipherSpec.fromName(TinkAesGcm.CIPHER_ALGORITHM), CipherSpec.fromName(TinkAesGcm.CIPHER_ALGORITHM))
+        );
+    }
+
+    @Test
+    @DisplayName("test associated data is computed once and shared across equal payload metadata")
+    void testPayloadMetaDataAssociatedDataCaching() {
+        var metaData = PayloadMetaData.from(TinkAesGcmSiv.CIPHER_ALGORITHM,"key9");
+        var detached = new PayloadMetaData(metaData.getVersion(),metaData.getAlgorithmId(),metaData.getKeyId());
+        assertAll(
+            () -> assertArrayEquals((Kryptonite.KRYPTONITE_VERSION+"03key9").getBytes(StandardCharsets.UTF_8), metaData.asBytes()),
+            () -> assertSame(metaData.asBytes(), metaData.asBytes()),
+            () -> assertSame(metaData.asBytes(), detached.intern().asBytes())
+        );
+    }
+
+    @Test
+    @DisplayName("test decipherFields(cipherFields(plaintexts)) == plaintexts for batches with mixed payload metadata")
+    void testBatchEncryptDecryptUsingLocalKeyVaultWithoutKeyEncryption() {
+        var kryptonite = new Kryptonite(new TinkKeyVault(ConfigReader.tinkKeyConfigFromJsonString(TestFixtures.CIPHER_DATA_KEYS_CONFIG)));
+        var plaintexts = List.of(
+            "alice".getBytes(StandardCharsets.UTF_8),
+            "bob".getBytes(StandardCharsets.UTF_8),
+            new byte[0]
+        );
+        var encryptedA = kryptonite.cipherFields(plaintexts, PayloadMetaData.from(TinkAesGcm.CIPHER_ALGORITHM,"keyA"));
+        var encrypted9 = kryptonite.cipherFields(
+            plaintexts.stream().map(ByteBuffer::wrap).toArray(ByteBuffer[]::new),
+            PayloadMetaData.from(TinkAesGcmSiv.CIPHER_ALGORITHM,"key9"));
+        var mixed = List.of(encryptedA.get(0), encrypted9[1], encryptedA.get(2), encrypted9[0]);
+        var decrypted = kryptonite.decipherFields(mixed);
+        assertAll(
+            () -> assertEquals(plaintexts.size(), encryptedA.size()),
+            () -> assertArrayEquals(plaintexts.get(1), kryptonite.decipherField(encryptedA.get(1))),
+            () -> assertArrayEquals(plaintexts.get(0), decrypted.get(0)),
+            () -> assertArrayEquals(plaintexts.get(1), decrypted.get(1)),
+            () -> assertArrayEquals(plaintexts.get(2), decrypted.get(2)),
+            () -> assertArrayEquals(plaintexts.get(0), decrypted.get(3)),
+            () -> assertArrayEquals(plaintexts.get(2),
+                    kryptonite.decipherFieldsToBuffers(new EncryptedField[] {encrypted9[2]})[0].array()),
+            () -> assertEquals(0, kryptonite.cipherFields(List.of(), PayloadMetaData.from(TinkAesGcm.CIPHER_ALGORITHM,"keyA")).size())
+        );
+    }
+
+    @Test
+    @DisplayName("test serde aware decrypt(encrypt(value)) == value for streaming and non-streaming algorithms")
+    void testSerdeAwareEncryptDecryptUsingLocalKeyVaultWithoutKeyEncryption() {
+        var kryptonite = new Kryptonite(new TinkKeyVault(ConfigReader.tinkKeyConfigFromJsonString(TestFixtures.CIPHER_DATA_KEYS_CONFIG_STREAMING)));
+        var largeValue = new byte[2 * 1024 * 1024];
+        new Random(42).nextBytes(largeValue);
+        var streaming = PayloadMetaData.from(TinkAesGcmHkdfStreaming.CIPHER_ALGORITHM,"keyS");
+        var nonStreaming = PayloadMetaData.from(TinkAesGcm.CIPHER_ALGORITHM,"keyA");
+        var kryo = new KryoSerdeProcessor();
+        var tagged = new TaggedSerdeProcessor();
+        assertAll(
+            () -> assertArrayEquals(largeValue, (byte[])kryptonite.decipherField(kryptonite.cipherField(largeValue, kryo, streaming), kryo)),
+            () -> assertArrayEquals(largeValue, (byte[])kryptonite.decipherField(kryptonite.cipherField(largeValue, tagged, streaming), tagged)),
+            () -> assertEquals("alice", kryptonite.decipherField(kryptonite.cipherField("alice", kryo, streaming), kryo)),
+            () -> assertEquals(List.of("a","b"), kryptonite.decipherField(kryptonite.cipherField(List.of("a","b"), tagged, streaming), tagged)),
+            () -> assertEquals(42, kryptonite.decipherField(kryptonite.cipherField(42, tagged, nonStreaming), tagged)),
+            () -> assertArrayEquals(largeValue,
+                    (byte[])kryo.bytesToObject(kryptonite.decipherField(kryptonite.cipherField(kryo.objectToBytes(largeValue), streaming))))
+        );
+    }
+
+    @Test
+    @DisplayName("test blind index is fixed-size and equal for equal plaintexts")
+    void testBlindIndexUsingLocalKeyVaultWithoutKeyEncryption() {
+        var kryptonite = new Kryptonite(new TinkKeyVault(ConfigReader.tinkKeyConfigFromJsonString(TestFixtures.CIPHER_DATA_KEYS_CONFIG_BLIND_INDEX)));
+        var alice = "alice".getBytes(StandardCharsets.UTF_8);
+        var bob = "bob".getBytes(StandardCharsets.UTF_8);
+        var index = kryptonite.blindIndex(alice, "keyH");
+        var batch = kryptonite.blindIndexes(new byte[][] {bob, alice}, "keyH", 16);
+        assertAll(
+            () -> assertEquals(16, index.length),
+            () -> assertEquals(32, kryptonite.blindIndex(alice, "keyH", 32).length),
+            () -> assertArrayEquals(index, kryptonite.blindIndex("alice".getBytes(StandardCharsets.UTF_8), "keyH")),
+            () -> assertArrayEquals(index, batch[1]),
+            () -> assertFalse(Arrays.equals(index, batch[0])),
+            () -> assertThrows(KryptoniteException.class, () -> kryptonite.blindIndex(alice, "keyS"))
+        );
+    }
+
+    @Test
+    @DisplayName("test memoized decrypt(encrypt(plaintext)) == plaintext with deterministic cache")
+    void testMemoizedEncryptDecryptUsingLocalKeyVaultWithoutKeyEncryption() {
+        var kryptonite = new Kryptonite(new TinkKeyVault(ConfigReader.tinkKeyConfigFromJsonString(TestFixtures.CIPHER_DATA_KEYS_CONFIG)));
+        var cache = new DeterministicCipherCache(16, 1024);
+        var deterministic = PayloadMetaData.from(TinkAesGcmSiv.CIPHER_ALGORITHM,"key9");
+        var probabilistic = PayloadMetaData.from(TinkAesGcm.CIPHER_ALGORITHM,"keyA");
+        var plaintext = "alice".getBytes(StandardCharsets.UTF_8);
+        var first = kryptonite.cipherField(plaintext, deterministic, cache);
+        var second = kryptonite.cipherField("alice".getBytes(StandardCharsets.UTF_8), deterministic, cache);
+        var other = kryptonite.cipherField("bob".getBytes(StandardCharsets.UTF_8), deterministic, cache);
+        assertAll(
+            () -> assertSame(first.ciphertext(), second.ciphertext()),
+            () -> assertArrayEquals(kryptonite.cipherField(plaintext, deterministic).ciphertext(), first.ciphertext()),
+            () -> assertArrayEquals("bob".getBytes(StandardCharsets.UTF_8), kryptonite.decipherField(other, cache)),
+            () -> assertArrayEquals(plaintext, kryptonite.decipherField(first, cache)),
+            () -> assertArrayEquals(plaintext, kryptonite.decipherField(first, cache)),
+            () -> assertNotSame(kryptonite.cipherField(plaintext, probabilistic, cache).ciphertext(),
+                    kryptonite.cipherField(plaintext, probabilistic, cache).ciphertext()),
+            () -> assertEquals(2, cache.getHits()),
+            () -> assertEquals(4, cache.getMisses())
+        );
+    }
+
+    @Test
+    @DisplayName("test memoized decrypt never serves cached plaintexts for fields with tampered flags")
+    void testMemoizedDecryptWithTamperedFlagsUsingLocalKeyVaultWithoutKeyEncryption() {
+        var kryptonite = new Kryptonite(new TinkKeyVault(ConfigReader.tinkKeyConfigFromJsonString(TestFixtures.CIPHER_DATA_KEYS_CONFIG)));
+        var cache = new DeterministicCipherCache(16, 1024);
+        var deterministic = PayloadMetaData.from(Kryptonite.KRYPTONITE_VERSION_K2, TinkAesGcmSiv.CIPHER_ALGORITHM, "key9");
+        var plaintext = "alice".getBytes(StandardCharsets.UTF_8);
+        var encrypted = kryptonite.cipherField(plaintext, deterministic, cache);
+        var tampered = new EncryptedField(encrypted.getMetaData(), encrypted.ciphertext(), EncryptedFieldCodec.FLAG_DEFLATE);
+        assertAll(
+            () -> assertArrayEquals(plaintext, kryptonite.decipherField(encrypted, cache)),
+            () -> assertThrows(KryptoniteException.class, () -> kryptonite.decipherField(tampered, cache))
+        );
+    }
+
+    @Test
+    @DisplayName("test decrypt(encrypt(plaintext)) == plaintext with compression of k2 payloads above the threshold")
+    void testCompressedEncryptDecryptUsingLocalKeyVaultWithoutKeyEncryption() {
+        var kryptonite = new Kryptonite(new TinkKeyVault(ConfigReader.tinkKeyConfigFromJsonString(TestFixtures.CIPHER_DATA_KEYS_CONFIG)),
+                CompressionType.DEFLATE, 64);
+        var metadataK2 = PayloadMetaData.from(Kryptonite.KRYPTONITE_VERSION_K2, TinkAesGcm.CIPHER_ALGORITHM, "keyA");
+        var metadataK1 = PayloadMetaData.from(Kryptonite.KRYPTONITE_VERSION_K1, TinkAesGcm.CIPHER_ALGORITHM, "keyA");
+        var compressible = "alice bob ".repeat(100).getBytes(StandardCharsets.UTF_8);
+        var small = "alice".getBytes(StandardCharsets.UTF_8);
+        var compressed = kryptonite.cipherField(compressible, metadataK2);
+        var uncompressedK1 = kryptonite.cipherField(compressible, metadataK1);
+        var belowThreshold = kryptonite.cipherField(small, metadataK2);
+        var decoded = EncryptedFieldCodec.decode(EncryptedFieldCodec.encode(compressed));
+        var tampered = new EncryptedField(compressed.getMetaData(), compressed.ciphertext(), EncryptedFieldCodec.FLAGS_NONE);
+        assertAll(
+            () -> assertEquals(EncryptedFieldCodec.FLAG_DEFLATE, compressed.getFlags()),
+            () -> assertTrue(compressed.ciphertext().length < compressible.length),
+            () -> assertEquals(EncryptedFieldCodec.FLAGS_NONE, uncompressedK1.getFlags()),
+            () -> assertEquals(EncryptedFieldCodec.FLAGS_NONE, belowThreshold.getFlags()),
+            () -> assertEquals(EncryptedFieldCodec.FLAG_DEFLATE, decoded.getFlags()),
+            () -> assertArrayEquals(compressible, kryptonite.decipherField(decoded)),
+            () -> assertArrayEquals(compressible, kryptonite.decipherField(uncompressedK1)),
+            () -> assertArrayEquals(small, kryptonite.decipherField(belowThreshold)),
+            () -> assertArrayEquals(new byte[][] {compressible, small},
+                    kryptonite.decipherFields(kryptonite.cipherFields(new byte[][] {compressible, small}, metadataK2))),
+            () -> assertThrows(KryptoniteException.class, () -> kryptonite.decipherField(tampered))
+        );
+    }
+
+    @Test
+    @DisplayName("test decrypt(encrypt(value)) == value across batch and serde aware paths for streaming algorithm with compression")
+    void testCompressedStreamingEncryptDecryptAcrossPathsUsingLocalKeyVaultWithoutKeyEncryption() {
+        var kryptonite = new Kryptonite(new TinkKeyVault(ConfigReader.tinkKeyConfigFromJsonString(TestFixtures.CIPHER_DATA_KEYS_CONFIG_STREAMING)),
+                CompressionType.DEFLATE, 64);
+        var streaming = PayloadMetaData.from(Kryptonite.KRYPTONITE_VERSION_K2, TinkAesGcmHkdfStreaming.CIPHER_ALGORITHM, "keyS");
+        var kryo = new KryoSerdeProcessor();
+        var compressible = "alice bob ".repeat(100);
+        var batchEncrypted = kryptonite.cipherFields(new byte[][] {kryo.objectToBytes(compressible)}, streaming)[0];
+        var streamEncrypted = kryptonite.cipherField(compressible, kryo, streaming);
+        assertAll(
+            () -> assertEquals(EncryptedFieldCodec.FLAGS_NONE, batchEncrypted.getFlags()),
+            () -> assertEquals(compressible, kryptonite.decipherField(batchEncrypted, kryo)),
+            () -> assertEquals(compressible, kryo.bytesToObject(kryptonite.decipherFields(new EncryptedField[] {streamEncrypted})[0]))
+        );
+    }
+
+    @Test
+    @DisplayName("apply encrypt/decrypt with metrics and verify recorded counts, bytes and key cache lookups")
+    void testEncryptDecryptWithMetricsUsingLocalKeyVaultWithoutKeyEncryption() {
+        var metrics = new KryptoniteMetrics();
+        var kryptonite = new Kryptonite(new TinkKeyVault(ConfigReader.tinkKeyConfigFromJsonString(TestFixtures.CIPHER_DATA_KEYS_CONFIG)),
+                CompressionType.NONE, 0, metrics);
+        var metadata = PayloadMetaData.from(Kryptonite.KRYPTONITE_VERSION_K2, TinkAesGcm.CIPHER_ALGORITHM, "keyA");
+        var plaintext = "alice".getBytes(StandardCharsets.UTF_8);
+        var encrypted = kryptonite.cipherField(plaintext, metadata);
+        var decrypted = kryptonite.decipherField(encrypted);
+        var tamperedCiphertext = encrypted.ciphertext().clone();
+        tamperedCiphertext[tamperedCiphertext.length - 1] ^= 1;
+        var tampered = new EncryptedField(encrypted.getMetaData(), tamperedCiphertext);
+        assertThrows(KryptoniteException.class, () -> kryptonite.decipherField(tampered));
+        var stats = metrics.getCipherStats().get(EncryptedFieldCodec.encodeMetaData(metadata));
+        assertAll(
+            () -> assertArrayEquals(plaintext, decrypted),
+            () -> assertSame(metrics, kryptonite.getMetrics()),
+            () -> assertEquals(1, metrics.getEncryptions()),
+            () -> assertEquals(1, metrics.getDecryptions()),
+            () -> assertEquals(1, metrics.getFailures()),
+            () -> assertEquals(plaintext.length + encrypted.ciphertext().length, metrics.getBytesIn()),
+            () -> assertEquals(encrypted.ciphertext().length + plaintext.length, metrics.getBytesOut()),
+            () -> assertEquals(1, metrics.getEncryptLatency().getCount()),
+            () -> assertEquals(1, metrics.getDecryptLatency().getCount()),
+            () -> assertEquals(1, metrics.getKeyCacheMisses()),
+            () -> assertEquals(2, metrics.getKeyCacheHits()),
+            () -> assertEquals(1, stats.getEncryptions()),
+            () -> assertEquals(1, stats.getFailures())
+        );
+    }
+
+    @Test
+    @DisplayName("apply metrics recording for more distinct key ids than tracked and verify they share the overflow stats")
+    void testMetricsOverflowForUnknownKeyIds() {
+        var metrics = new KryptoniteMetrics();
+        var unknownKeyIds = KryptoniteMetrics.MAX_CIPHER_STATS + 10;
+        for (int i = 0; i < unknownKeyIds; i++) {
+            metrics.recordFailure(PayloadMetaData.lookup(Kryptonite.KRYPTONITE_VERSION_K2, "02", "unknown" + i));
+        }
+        var stats = metrics.getCipherStats();
+        assertAll(
+            () -> assertEquals(KryptoniteMetrics.MAX_CIPHER_STATS + 1, stats.size()),
+            () -> assertEquals(10, stats.get(KryptoniteMetrics.OVERFLOW_CIPHER_STATS).getFailures()),
+            () -> assertEquals(unknownKeyIds, metrics.getFailures())
+        );
+    }
+
     static List<Arguments> provideValidInputParamsLocalKeyVaultNoKeyEncryption() {
         var tinkKeyVault = new TinkKeyVault(ConfigReader.tinkKeyConfigFromJsonString(TestFixtures.CIPHER_DATA_KEYS_CONFIG));
         return List.of(
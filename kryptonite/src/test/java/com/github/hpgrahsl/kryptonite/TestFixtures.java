@@ -92,6 +92,64 @@ public class TestFixtures {
                         + "}"
                         + "}";
         
+    public static final String CIPHER_DATA_KEY_CONFIG_KEY_S =
+                        "{\"primaryKeyId\":690635178,"
+                        + "\"key\":["
+                        + "{\"keyData\":"
+                        + "{\"typeUrl\":\"type.googleapis.com/google.crypto.tink.AesGcmHkdfStreamingKey\","
+                        + "\"value\":\"EgcIgCAQIBgDGiAP/W1RZubLbSm39sBmr1k+hAVQRFzH2rmE3VyAs6j++g==\","
+                        + "\"keyMaterialType\":\"SYMMETRIC\"},"
+                        + "\"status\":\"ENABLED\","
+                        + "\"keyId\":690635178,"
+                        + "\"outputPrefixType\":\"RAW\""
+                        + "}"
+                        + "]"
+                        + "}";
+
+    public static final String CIPHER_DATA_KEY_CONFIG_KEY_H =
+                        "{\"primaryKeyId\":1000000005,"
+                        + "\"key\":["
+                        + "{\"keyData\":"
+                        + "{\"typeUrl\":\"type.googleapis.com/google.crypto.tink.HmacPrfKey\","
+                        + "\"value\":\"EgIIAxog5d2xuJ99n3sDaK84qwZnGyISmEHpnsR0/0JDZVQ2dwM=\","
+                        + "\"keyMaterialType\":\"SYMMETRIC\"},"
+                        + "\"status\":\"ENABLED\","
+                        + "\"keyId\":1000000005,"
+                        + "\"outputPrefixType\":\"RAW\""
+                        + "}"
+                        + "]"
+                        + "}";
+
+    public static final String CIPHER_DATA_KEYS_CONFIG_BLIND_INDEX = "["
+            + "{\"identifier\":\"keyH\","
+            + "\"material\":" + CIPHER_DATA_KEY_CONFIG_KEY_H
+            + "},"
+            + "{\"identifier\":\"keyS\","
+            + "\"material\":" + CIPHER_DATA_KEY_CONFIG_KEY_S
+            + "}"
+            + "]";
+
+    public static final String CIPHER_DATA_KEYS_CONFIG_STREAMING = "["
+            + "{\"identifier\":\"keyS\","
+            + "\"material\":" + CIPHER_DATA_KEY_CONFIG_KEY_S
+            + "},"
+            + "{\"identifier\":\"keyA\","
+            + "\"material\":{"
+            + "\"primaryKeyId\":1000000001,"
+            + "\"key\":["
+            + "{\"keyData\":"
+            + "{\"typeUrl\":\"type.googleapis.com/google.crypto.tink.AesGcmKey\","
+            + "\"value\":\"GhDRulECKAC8/19NMXDjeCjK\","
+            + "\"keyMaterialType\":\"SYMMETRIC\"},"
+            + "\"status\":\"ENABLED\","
+            + "\"keyId\":1000000001,"
+            + "\"outputPrefixType\":\"TINK\""
+            + "}"
+            + "]"
+            + "}"
+            + "}"
+            + "]";
+
     public static final String CIPHER_DATA_KEYS_CONFIG = "["
             + "{\"identifier\":\"keyA\","
             + "\"material\":{"
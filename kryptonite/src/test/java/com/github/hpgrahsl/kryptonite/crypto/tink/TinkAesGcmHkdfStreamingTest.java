@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.hpgrahsl.kryptonite.crypto.tink;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.github.hpgrahsl.kryptonite.TestFixtures;
+import com.google.crypto.tink.CleartextKeysetHandle;
+import com.google.crypto.tink.JsonKeysetReader;
+import com.google.crypto.tink.StreamingAead;
+import com.google.crypto.tink.aead.AeadConfig;
+import com.google.crypto.tink.streamingaead.StreamingAeadConfig;
+
+public class TinkAesGcmHkdfStreamingTest {
+
+  static {
+    try {
+      AeadConfig.register();
+      StreamingAeadConfig.register();
+    } catch (GeneralSecurityException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("com.github.hpgrahsl.kryptonite.crypto.tink.TinkAesGcmHkdfStreamingTest#generateValidPlaintextAndAssociatedDataBytes")
+  @DisplayName("apply streaming decrypt(encrypt(plaintext)) = plaintext with valid input data")
+  void testStreamingEncryptDecryptValidInput(byte[] plaintext, byte[] associatedData) throws Exception {
+    var keysetHandle = CleartextKeysetHandle.read(
+        JsonKeysetReader.withString(TestFixtures.CIPHER_DATA_KEY_CONFIG_KEY_S));
+    var cryptoAlgo = new TinkAesGcmHkdfStreaming();
+    byte[] encrypted = cryptoAlgo.cipher(plaintext, keysetHandle, associatedData);
+    byte[] decrypted = cryptoAlgo.decipher(encrypted, keysetHandle, associatedData);
+    assertArrayEquals(plaintext, decrypted, "error: decryption did not result in original plaintext");
+  }
+
+  @Test
+  @DisplayName("apply streaming decrypt(encrypt(plaintext)) = plaintext segment-wise via cipher streams")
+  void testStreamingEncryptDecryptViaStreams() throws Exception {
+    var keysetHandle = CleartextKeysetHandle.read(
+        JsonKeysetReader.withString(TestFixtures.CIPHER_DATA_KEY_CONFIG_KEY_S));
+    var primitive = keysetHandle.getPrimitive(StreamingAead.class);
+    var cryptoAlgo = new TinkAesGcmHkdfStreaming();
+    var plaintext = randomBytes(100_000);
+    var associatedData = "meta data".getBytes(StandardCharsets.UTF_8);
+    var ciphertext = new ByteArrayOutputStream();
+    try (var encrypting = cryptoAlgo.newEncryptingStream(ciphertext, primitive, associatedData)) {
+      for (int offset = 0; offset < plaintext.length; offset += 1000) {
+        encrypting.write(plaintext, offset, Math.min(1000, plaintext.length - offset));
+      }
+    }
+    try (var decrypting = cryptoAlgo.newDecryptingStream(
+        new ByteArrayInputStream(ciphertext.toByteArray()), primitive, associatedData)) {
+      assertArrayEquals(plaintext, decrypting.readAllBytes(), "error: decryption did not result in original plaintext");
+    }
+  }
+
+  @Test
+  @DisplayName("apply streaming decrypt(ciphertext) with mismatching associated data")
+  void testStreamingDecryptMismatchingAssociatedData() throws Exception {
+    var keysetHandle = CleartextKeysetHandle.read(
+        JsonKeysetReader.withString(TestFixtures.CIPHER_DATA_KEY_CONFIG_KEY_S));
+    var cryptoAlgo = new TinkAesGcmHkdfStreaming();
+    var encrypted = cryptoAlgo.cipher("some data".getBytes(StandardCharsets.UTF_8), keysetHandle,
+        "meta data".getBytes(StandardCharsets.UTF_8));
+    assertThrows(Exception.class,
+      () -> {
+        cryptoAlgo.decipher(encrypted, keysetHandle, "other data".getBytes(StandardCharsets.UTF_8));
+      }
+    );
+  }
+
+  @Test
+  @DisplayName("apply streaming encrypt(plaintext) with incompatible keyset")
+  void testStreamingEncryptIncompatibleKeyset() throws Exception {
+    var keysetHandle = CleartextKeysetHandle.read(
+        JsonKeysetReader.withString(TestFixtures.CIPHER_DATA_KEY_CONFIG_KEY_A));
+    var cryptoAlgo = new TinkAesGcmHkdfStreaming();
+    assertThrows(GeneralSecurityException.class,
+      () -> {
+        cryptoAlgo.cipher(new byte[] {0x42,0x23}, keysetHandle, null);
+      }
+    );
+  }
+
+  static List<Arguments> generateValidPlaintextAndAssociatedDataBytes() {
+    return List.of(
+      Arguments.of("".getBytes(StandardCharsets.UTF_8),null),
+      Arguments.of("some data".getBytes(StandardCharsets.UTF_8),null),
+      Arguments.of("more data".getBytes(StandardCharsets.UTF_8),"meta data".getBytes(StandardCharsets.UTF_8)),
+      Arguments.of(randomBytes(4096),"meta data".getBytes(StandardCharsets.UTF_8)),
+      Arguments.of(randomBytes(1_000_000),"meta data".getBytes(StandardCharsets.UTF_8))
+    );
+  }
+
+  private static byte[] randomBytes(int length) {
+    var bytes = new byte[length];
+    new Random(42).nextBytes(bytes);
+    return bytes;
+  }
+
+}
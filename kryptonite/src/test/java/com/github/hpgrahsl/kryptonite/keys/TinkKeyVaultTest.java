@@ -19,6 +19,7 @@ package com.github.hpgrahsl.kryptonite.keys;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.List;
@@ -28,6 +29,10 @@ import org.junit.jupiter.api.function.Executable;
 
 import com.github.hpgrahsl.kryptonite.TestFixtures;
 import com.github.hpgrahsl.kryptonite.config.ConfigReader;
+import com.google.crypto.tink.Aead;
+import com.google.crypto.tink.DeterministicAead;
+import com.google.crypto.tink.aead.AeadConfig;
+import com.google.crypto.tink.daead.DeterministicAeadConfig;
 
 public class TinkKeyVaultTest {
 
@@ -50,4 +55,18 @@ public class TinkKeyVaultTest {
         );
     }
 
+    @Test
+    void tinkKeyVaultCachesPrimitivesPerIdentifierTest() throws Exception {
+        AeadConfig.register();
+        DeterministicAeadConfig.register();
+        var tinkKeyConfig = ConfigReader.tinkKeyConfigFromJsonString(TestFixtures.CIPHER_DATA_KEYS_CONFIG);
+        var tinkKeyVault = new TinkKeyVault(tinkKeyConfig);
+
+        assertAll(
+            () -> assertSame(tinkKeyVault.readPrimitive("keyA", Aead.class), tinkKeyVault.readPrimitive("keyA", Aead.class)),
+            () -> assertSame(tinkKeyVault.readPrimitive("key9", DeterministicAead.class), tinkKeyVault.readPrimitive("key9", DeterministicAead.class)),
+            () -> assertThrows(KeyNotFoundException.class,() -> tinkKeyVault.readPrimitive(UNKNOWN_KEYSET_IDENTIFIER, Aead.class))
+        );
+    }
+
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kryptonite.kms;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.hpgrahsl.kryptonite.TestFixtures;
+import com.github.hpgrahsl.kryptonite.keys.KeyMaterialResolver;
+import com.github.hpgrahsl.kryptonite.keys.KeyNotFoundException;
+import com.github.hpgrahsl.kryptonite.kms.azure.AzureKeyVault;
+import com.google.crypto.tink.KeysetHandle;
+
+public class AbstractKmsKeyVaultTest {
+
+    static final int NUM_THREADS = 16;
+
+    @Test
+    void concurrentCacheMissesResultInSingleFetchPerIdentifierTest() throws Exception {
+        var resolver = new CountingKeyMaterialResolver(Map.of("keyA",TestFixtures.CIPHER_DATA_KEY_CONFIG_KEY_A));
+        var keyVault = new AzureKeyVault(resolver,false);
+
+        var handles = new ArrayList<KeysetHandle>();
+        for (var f : readConcurrently(keyVault,"keyA")) {
+            handles.add(f.get(10, TimeUnit.SECONDS));
+        }
+
+        assertAll(
+            () -> assertEquals(1, resolver.fetches.get(), "error: expected exactly one remote fetch for identifier"),
+            () -> assertEquals(1, keyVault.numKeysetHandles()),
+            () -> handles.forEach(h -> assertSame(keyVault.readKeysetHandle("keyA"), h)),
+            () -> assertEquals(1, resolver.fetches.get(), "error: expected cached key set handle to be served")
+        );
+    }
+
+    @Test
+    void concurrentCacheMissesForUnknownIdentifierFailAndAreRetriedTest() throws Exception {
+        var resolver = new CountingKeyMaterialResolver(Map.of());
+        var keyVault = new AzureKeyVault(resolver,false);
+
+        var failures = new AtomicInteger();
+        for (var f : readConcurrently(keyVault,"keyA")) {
+            try {
+                f.get(10, TimeUnit.SECONDS);
+            } catch (ExecutionException exc) {
+                if (exc.getCause() instanceof KeyNotFoundException) {
+                    failures.incrementAndGet();
+                }
+            }
+        }
+        var fetchesBeforeRetry = resolver.fetches.get();
+
+        assertAll(
+            () -> assertEquals(NUM_THREADS, failures.get()),
+            () -> assertTrue(fetchesBeforeRetry >= 1 && fetchesBeforeRetry < NUM_THREADS,
+                "error: expected concurrent misses to share remote fetches"),
+            () -> assertEquals(0, keyVault.numKeysetHandles()),
+            () -> assertThrows(KeyNotFoundException.class, () -> keyVault.readKeysetHandle("keyA")),
+            () -> assertEquals(fetchesBeforeRetry+1, resolver.fetches.get(), "error: expected failed fetch to be retried")
+        );
+    }
+
+    @Test
+    void backgroundRefreshPicksUpRotatedKeysetsAndServesStaleOnFailureTest() throws Exception {
+        var resolver = new CountingKeyMaterialResolver(Map.of("keyA",TestFixtures.CIPHER_DATA_KEY_CONFIG_KEY_A),0);
+        try (var keyVault = new AzureKeyVault(resolver,true,50)) {
+            var initialHandle = keyVault.readKeysetHandle("keyA");
+
+            resolver.keysets.put("keyA",TestFixtures.CIPHER_DATA_KEY_CONFIG_KEY_B);
+            awaitFetches(resolver,resolver.fetches.get()+2);
+            var rotatedHandle = keyVault.readKeysetHandle("keyA");
+
+            resolver.keysets.remove("keyA");
+            awaitFetches(resolver,resolver.fetches.get()+2);
+            var staleHandle = keyVault.readKeysetHandle("keyA");
+
+            assertAll(
+                () -> assertNotSame(initialHandle, rotatedHandle, "error: expected key set handle to be refreshed"),
+                () -> assertEquals(1000000002, rotatedHandle.getPrimary().getId()),
+                () -> assertSame(rotatedHandle, staleHandle, "error: expected stale key set handle to be served on failure")
+            );
+        }
+    }
+
+    static void awaitFetches(CountingKeyMaterialResolver resolver, int expectedFetches) throws InterruptedException {
+        var deadline = System.currentTimeMillis() + 10_000;
+        while (resolver.fetches.get() < expectedFetches && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    static List<Future<KeysetHandle>> readConcurrently(AbstractKmsKeyVault keyVault, String identifier) throws InterruptedException {
+        var executor = Executors.newFixedThreadPool(NUM_THREADS);
+        try {
+            var start = new CountDownLatch(1);
+            var futures = new ArrayList<Future<KeysetHandle>>();
+            for (int t = 0; t < NUM_THREADS; t++) {
+                futures.add(executor.submit(() -> { start.await(); return keyVault.readKeysetHandle(identifier); }));
+            }
+            start.countDown();
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+            return futures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    static class CountingKeyMaterialResolver implements KeyMaterialResolver {
+
+        final Map<String,String> keysets;
+        final long latencyMillis;
+        final AtomicInteger fetches = new AtomicInteger();
+
+        CountingKeyMaterialResolver(Map<String,String> keysets) {
+            this(keysets,200);
+        }
+
+        CountingKeyMaterialResolver(Map<String,String> keysets, long latencyMillis) {
+            this.keysets = new ConcurrentHashMap<>(keysets);
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public Collection<String> resolveIdentifiers() {
+            return keysets.keySet();
+        }
+
+        @Override
+        public String resolveKeyset(String identifier) {
+            fetches.incrementAndGet();
+            try {
+                //NOTE: simulates remote KMS latency to let concurrent misses pile up
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+            var keyset = keysets.get(identifier);
+            if (keyset == null) {
+                throw new KeyNotFoundException("could not find key set for identifier '"+identifier+"'");
+            }
+            return keyset;
+        }
+
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kryptonite.kms.gcp;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+public class GcpKeyEncryptionTest {
+
+    //NOTE: fake credentials which parse fine but are never used since no KMS calls are made
+    static final String CREDENTIALS_CONFIG_A =
+        "{\"type\":\"authorized_user\",\"client_id\":\"client-a\",\"client_secret\":\"secret-a\",\"refresh_token\":\"token-a\"}";
+    static final String CREDENTIALS_CONFIG_B =
+        "{\"type\":\"authorized_user\",\"client_id\":\"client-b\",\"client_secret\":\"secret-b\",\"refresh_token\":\"token-b\"}";
+
+    static final String KEK_URI_A = "gcp-kms://projects/test/locations/global/keyRings/test/cryptoKeys/kek-a";
+    static final String KEK_URI_B = "gcp-kms://projects/test/locations/global/keyRings/test/cryptoKeys/kek-b";
+
+    @Test
+    void sameKekUriAndCredentialsShareAeadTest() {
+        var first = new GcpKeyEncryption(KEK_URI_A, CREDENTIALS_CONFIG_A).getKeyEncryptionKeyAead();
+        var second = new GcpKeyEncryption(KEK_URI_A, CREDENTIALS_CONFIG_A).getKeyEncryptionKeyAead();
+        assertSame(first, second);
+    }
+
+    @Test
+    void changedCredentialsRecreateAeadTest() {
+        var withA = new GcpKeyEncryption(KEK_URI_A, CREDENTIALS_CONFIG_A).getKeyEncryptionKeyAead();
+        var withB = new GcpKeyEncryption(KEK_URI_A, CREDENTIALS_CONFIG_B).getKeyEncryptionKeyAead();
+        var withBAgain = new GcpKeyEncryption(KEK_URI_A, CREDENTIALS_CONFIG_B).getKeyEncryptionKeyAead();
+        assertAll(
+            () -> assertNotSame(withA, withB),
+            () -> assertSame(withB, withBAgain)
+        );
+    }
+
+    @Test
+    void differentKekUrisUseSeparateAeadsTest() {
+        var forA = new GcpKeyEncryption(KEK_URI_A, CREDENTIALS_CONFIG_A).getKeyEncryptionKeyAead();
+        var forB = new GcpKeyEncryption(KEK_URI_B, CREDENTIALS_CONFIG_A).getKeyEncryptionKeyAead();
+        assertNotSame(forA, forB);
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kryptonite.serdes;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.github.hpgrahsl.kryptonite.Kryptonite;
+import com.github.hpgrahsl.kryptonite.KryptoniteException;
+import com.github.hpgrahsl.kryptonite.PayloadMetaData;
+import com.github.hpgrahsl.kryptonite.TestFixtures;
+import com.github.hpgrahsl.kryptonite.config.ConfigReader;
+import com.github.hpgrahsl.kryptonite.crypto.tink.TinkAesGcm;
+import com.github.hpgrahsl.kryptonite.crypto.tink.TinkAesGcmSiv;
+import com.github.hpgrahsl.kryptonite.keys.TinkKeyVault;
+
+public class EncryptedFieldCodecTest {
+
+  private static final Kryptonite KRYPTONITE = new Kryptonite(
+      new TinkKeyVault(ConfigReader.tinkKeyConfigFromJsonString(TestFixtures.CIPHER_DATA_KEYS_CONFIG)));
+
+  @ParameterizedTest
+  @MethodSource("com.github.hpgrahsl.kryptonite.serdes.EncryptedFieldCodecTest#generateValidAlgorithmsAndKeyIdentifiers")
+  @DisplayName("apply decrypt(decode(encode(encrypt(plaintext)))) = plaintext for k1 and k2 payloads")
+  void testEncodeDecodeRoundtrip(String algorithm, String keyId) {
+    var plaintext = "some plaintext to encrypt".getBytes(StandardCharsets.UTF_8);
+    var k1 = EncryptedFieldCodec.encode(KRYPTONITE.cipherField(plaintext,
+        PayloadMetaData.from(Kryptonite.KRYPTONITE_VERSION_K1, algorithm, keyId)));
+    var k2 = EncryptedFieldCodec.encode(KRYPTONITE.cipherField(plaintext,
+        PayloadMetaData.from(Kryptonite.KRYPTONITE_VERSION_K2, algorithm, keyId)));
+    assertAll(
+        () -> assertNotEquals(EncryptedFieldCodec.VERSION_K2, k1[0], "error: k1 payload must never start with k2 version marker"),
+        () -> assertEquals(EncryptedFieldCodec.VERSION_K2, k2[0]),
+        () -> assertTrue(k2.length < k1.length, "error: k2 payload expected to be smaller than k1 payload"),
+        () -> assertEquals(Kryptonite.KRYPTONITE_VERSION_K1, EncryptedFieldCodec.decode(k1).getMetaData().getVersion()),
+        () -> assertEquals(Kryptonite.KRYPTONITE_VERSION_K2, EncryptedFieldCodec.decode(k2).getMetaData().getVersion()),
+        () -> assertEquals(keyId, EncryptedFieldCodec.decode(k2).getMetaData().getKeyId()),
+        () -> assertArrayEquals(plaintext, KRYPTONITE.decipherField(EncryptedFieldCodec.decode(k1))),
+        () -> assertArrayEquals(plaintext, KRYPTONITE.decipherField(EncryptedFieldCodec.decode(k2)))
+    );
+  }
+
+  @Test
+  @DisplayName("decoding of malformed k2 payloads fails")
+  void testDecodeMalformedK2Payloads() {
+    assertAll(
+        () -> assertThrows(KryptoniteException.class, () -> EncryptedFieldCodec.decode(new byte[] {0x02, 0x02, 0x00})),
+        () -> assertThrows(KryptoniteException.class, () -> EncryptedFieldCodec.decode(new byte[] {0x02, 0x7F, 0x00, 0x00})),
+        () -> assertThrows(KryptoniteException.class, () -> EncryptedFieldCodec.decode(new byte[] {0x02, 0x02, 0x00, 0x10, 0x41}))
+    );
+  }
+
+  static List<Arguments> generateValidAlgorithmsAndKeyIdentifiers() {
+    return List.of(
+        Arguments.of(TinkAesGcm.CIPHER_ALGORITHM, "keyA"),
+        Arguments.of(TinkAesGcm.CIPHER_ALGORITHM, "keyB"),
+        Arguments.of(TinkAesGcmSiv.CIPHER_ALGORITHM, "key9"),
+        Arguments.of(TinkAesGcmSiv.CIPHER_ALGORITHM, "key8")
+    );
+  }
+
+}
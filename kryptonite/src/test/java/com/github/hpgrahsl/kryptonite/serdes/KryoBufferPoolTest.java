@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kryptonite.serdes;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class KryoBufferPoolTest {
+
+  @Test
+  @DisplayName("reuse pooled output buffers and fall back to fresh ones on re-entrant use")
+  void testOutputReuse() {
+    var first = KryoBufferPool.acquireOutput();
+    var nested = KryoBufferPool.acquireOutput();
+    first.writeString("some data");
+    KryoBufferPool.releaseOutput(nested);
+    KryoBufferPool.releaseOutput(first);
+    var second = KryoBufferPool.acquireOutput();
+    KryoBufferPool.releaseOutput(second);
+    assertAll(
+        () -> assertNotSame(first, nested),
+        () -> assertSame(first, second),
+        () -> assertEquals(0, second.position())
+    );
+  }
+
+  @Test
+  @DisplayName("shrink pooled output buffers which grew beyond the retained size")
+  void testOutputShrinkOnOversize() {
+    var output = KryoBufferPool.acquireOutput();
+    output.writeBytes(new byte[KryoBufferPool.MAX_RETAINED_BUFFER_SIZE + 1]);
+    KryoBufferPool.releaseOutput(output);
+    var next = KryoBufferPool.acquireOutput();
+    KryoBufferPool.releaseOutput(next);
+    assertAll(
+        () -> assertNotSame(output, next),
+        () -> assertEquals(KryoBufferPool.INITIAL_BUFFER_SIZE, next.getBuffer().length)
+    );
+  }
+
+  @Test
+  @DisplayName("reuse pooled input buffers without retaining payloads")
+  void testInputReuse() {
+    var payload = new byte[] {1, 2, 3};
+    var first = KryoBufferPool.acquireInput(payload);
+    var firstBuffer = first.getBuffer();
+    KryoBufferPool.releaseInput(first);
+    var second = KryoBufferPool.acquireInput(new byte[] {4});
+    KryoBufferPool.releaseInput(second);
+    assertAll(
+        () -> assertSame(payload, firstBuffer),
+        () -> assertSame(first, second),
+        () -> assertEquals(0, second.getBuffer().length)
+    );
+  }
+
+}
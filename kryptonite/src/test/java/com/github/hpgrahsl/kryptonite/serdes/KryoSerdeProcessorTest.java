@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kryptonite.serdes;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import com.esotericsoftware.kryo.io.Output;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.hpgrahsl.kryptonite.KryptoniteException;
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.StructSchemaMode;
+
+public class KryoSerdeProcessorTest {
+
+  private static Schema structSchema(String name) {
+    return SchemaBuilder.struct().name(name).doc("some documentation for the sub-document schema")
+        .field("myString", Schema.STRING_SCHEMA)
+        .field("myInt", Schema.OPTIONAL_INT32_SCHEMA)
+        .field("myArray", SchemaBuilder.array(Schema.STRING_SCHEMA).build())
+        .field("mySubStruct", SchemaBuilder.struct().field("myBoolean", Schema.BOOLEAN_SCHEMA).build())
+        .build();
+  }
+
+  private static Struct struct(Schema schema) {
+    return new Struct(schema)
+        .put("myString", "some text")
+        .put("myInt", 42)
+        .put("myArray", List.of("a", "b", "c"))
+        .put("mySubStruct", new Struct(schema.field("mySubStruct").schema()).put("myBoolean", true));
+  }
+
+  @Test
+  @DisplayName("apply bytesToObject(objectToBytes(struct)) = struct for embedded and fingerprinted struct schemas")
+  void testStructRoundtripWithSchemaModes() {
+    var schema = structSchema("myStruct");
+    var original = struct(schema);
+    var embedded = new KryoSerdeProcessor(StructSchemaMode.EMBEDDED);
+    var fingerprint = new KryoSerdeProcessor(StructSchemaMode.FINGERPRINT);
+    var embeddedBytes = embedded.objectToBytes(original);
+    var fingerprintBytes = fingerprint.objectToBytes(original);
+    assertAll(
+        () -> assertTrue(fingerprintBytes.length < embeddedBytes.length,
+            "error: fingerprinted struct expected to be smaller than struct with embedded schema"),
+        () -> assertEquals(original, embedded.bytesToObject(embeddedBytes)),
+        () -> assertEquals(original, embedded.bytesToObject(fingerprintBytes)),
+        () -> assertEquals(original, fingerprint.bytesToObject(embeddedBytes)),
+        () -> assertEquals(original, fingerprint.bytesToObject(fingerprintBytes)),
+        () -> assertSame(((Struct)fingerprint.bytesToObject(fingerprintBytes)).schema(),
+            ((Struct)embedded.bytesToObject(embeddedBytes)).schema())
+    );
+  }
+
+  @Test
+  @DisplayName("fingerprints are stable across equal schema instances and resolvable after registration")
+  void testFingerprintsOfEqualSchemas() {
+    var schemaA = structSchema("myRegisteredStruct");
+    var schemaB = structSchema("myRegisteredStruct");
+    StructSchemaCache.register(schemaA);
+    assertAll(
+        () -> assertEquals(StructSchemaCache.computeFingerprint(schemaA), StructSchemaCache.computeFingerprint(schemaB)),
+        () -> assertEquals(schemaB, StructSchemaCache.resolve(StructSchemaCache.fingerprintOf(schemaB))),
+        () -> assertEquals(schemaA.field("mySubStruct").schema(),
+            StructSchemaCache.resolve(StructSchemaCache.computeFingerprint(schemaB.field("mySubStruct").schema())))
+    );
+  }
+
+  @Test
+  @DisplayName("registered schemas stay resolvable while cached schemas are bounded")
+  void testRegisteredSchemasSurviveCacheEviction() {
+    var registered = structSchema("myPinnedStruct");
+    StructSchemaCache.register(registered);
+    var first = SchemaBuilder.struct().name("myEvolvingStruct").version(0).field("f", Schema.STRING_SCHEMA).build();
+    var firstFingerprint = StructSchemaCache.fingerprintOf(first);
+    for (int v = 1; v <= StructSchemaCache.MAX_CACHED_SCHEMAS * 2; v++) {
+      StructSchemaCache.intern(SchemaBuilder.struct().name("myEvolvingStruct").version(v).field("f", Schema.STRING_SCHEMA).build());
+    }
+    assertAll(
+        () -> assertSame(registered, StructSchemaCache.resolve(StructSchemaCache.computeFingerprint(structSchema("myPinnedStruct")))),
+        () -> assertThrows(KryptoniteException.class, () -> StructSchemaCache.resolve(firstFingerprint))
+    );
+  }
+
+  @Test
+  @DisplayName("reading a struct with a fingerprinted schema which is unknown on the reading side fails")
+  void testUnknownFingerprintedStructSchema() {
+    var bytes = new KryoSerdeProcessor(StructSchemaMode.FINGERPRINT).objectToBytes(struct(structSchema("myWrittenStruct")));
+    var fingerprint = StructSchemaCache.computeFingerprint(structSchema("myWrittenStruct"));
+    //NOTE: patch the fingerprint as if the struct had been written by another process with an unknown schema
+    var patched = false;
+    for (int i = 0; i + Long.BYTES <= bytes.length && !patched; i++) {
+      var candidate = 0L;
+      var candidateLE = 0L;
+      for (int b = 0; b < Long.BYTES; b++) {
+        candidate = (candidate << 8) | (bytes[i + b] & 0xFF);
+        candidateLE |= (long) (bytes[i + b] & 0xFF) << (8 * b);
+      }
+      if (candidate == fingerprint || candidateLE == fingerprint) {
+        bytes[i] ^= 0x5A;
+        patched = true;
+      }
+    }
+    assertTrue(patched, "error: fingerprint expected to be written as is");
+    assertThrows(KryptoniteException.class, () -> new KryoSerdeProcessor(StructSchemaMode.FINGERPRINT).bytesToObject(bytes));
+  }
+
+  @Test
+  @DisplayName("reading a struct with an unknown schema fingerprint fails")
+  void testUnknownSchemaFingerprint() {
+    var kryo = KryoInstance.get();
+    var output = new Output(32);
+    kryo.writeClass(output, Struct.class);
+    kryo.writeClass(output, null);
+    output.writeLong(0x0123456789ABCDEFL);
+    var bytes = output.toBytes();
+    assertThrows(KryptoniteException.class, () -> new KryoSerdeProcessor().bytesToObject(bytes));
+  }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kryptonite.serdes;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.github.hpgrahsl.kryptonite.KryptoniteException;
+
+public class TaggedSerdeProcessorTest {
+
+  private static final TaggedSerdeProcessor TAGGED = new TaggedSerdeProcessor();
+  private static final KryoSerdeProcessor KRYO = new KryoSerdeProcessor();
+
+  @ParameterizedTest
+  @MethodSource("com.github.hpgrahsl.kryptonite.serdes.TaggedSerdeProcessorTest#generatePrimitiveValues")
+  @DisplayName("apply bytesToObject(objectToBytes(primitive)) = primitive with tagged fast path")
+  void testPrimitiveRoundtrip(Object value) {
+    var tagged = TAGGED.objectToBytes(value);
+    var kryo = KRYO.objectToBytes(value);
+    assertAll(
+        () -> assertTrue(TaggedSerdeProcessor.isTagged(tagged)),
+        () -> assertFalse(TaggedSerdeProcessor.isTagged(kryo)),
+        () -> assertEquals(value, TAGGED.bytesToObject(tagged)),
+        () -> assertEquals(value, KRYO.bytesToObject(tagged)),
+        () -> assertEquals(value, TAGGED.bytesToObject(kryo))
+    );
+  }
+
+  @Test
+  @DisplayName("apply streamToObject(objectToStream(bytes)) = bytes reading raw bytes directly from the stream")
+  void testBytesStreamRoundtrip() throws IOException {
+    var value = new byte[] {0x01, 0x02, 0x03, (byte) 0xF8, (byte) 0xFF};
+    var out = new ByteArrayOutputStream();
+    TAGGED.objectToStream(value, out);
+    var streamed = out.toByteArray();
+    var remaining = Arrays.copyOfRange(streamed, 1, streamed.length);
+    //NOTE: the fast path hands out the array read from the stream as is instead of copying it
+    var in = new ByteArrayInputStream(streamed) {
+      @Override
+      public byte[] readAllBytes() {
+        super.readAllBytes();
+        return remaining;
+      }
+    };
+    assertAll(
+        () -> assertEquals(TaggedSerdeProcessor.TAG_BYTES, streamed[0]),
+        () -> assertArrayEquals(value, (byte[]) TAGGED.streamToObject(new ByteArrayInputStream(streamed))),
+        () -> assertArrayEquals(value, (byte[]) KRYO.streamToObject(new ByteArrayInputStream(streamed))),
+        () -> assertSame(remaining, TaggedSerdeProcessor.decode(in)),
+        () -> assertThrows(KryptoniteException.class, () -> TaggedSerdeProcessor.decode(new ByteArrayInputStream(new byte[0])))
+    );
+  }
+
+  @Test
+  @DisplayName("apply bytesToObject(objectToBytes(complex)) = complex with kryo fallback")
+  void testComplexRoundtrip() {
+    var list = List.of("a", "b", "c");
+    var map = Map.of("k", 42L);
+    var bytes = new byte[] {0x01, 0x02, 0x03};
+    assertAll(
+        () -> assertFalse(TaggedSerdeProcessor.isTagged(TAGGED.objectToBytes(list))),
+        () -> assertEquals(list, TAGGED.bytesToObject(TAGGED.objectToBytes(list))),
+        () -> assertEquals(map, TAGGED.bytesToObject(TAGGED.objectToBytes(map))),
+        () -> assertArrayEquals(bytes, (byte[]) TAGGED.bytesToObject(TAGGED.objectToBytes(bytes)))
+    );
+  }
+
+  @Test
+  @DisplayName("kryo registration ids stay below the range of tags")
+  void testKryoRegistrationIdsDontCollideWithTags() {
+    assertTrue(KryoInstance.get().getNextRegistrationId() - 1 <= TaggedSerdeProcessor.MAX_SAFE_KRYO_REGISTRATION_ID);
+  }
+
+  static List<Object> generatePrimitiveValues() {
+    return List.of(
+        "some text", "", (byte) -7, (short) 1234, 42, Integer.MIN_VALUE, 1234567890123L,
+        3.14f, Double.MAX_VALUE, true, false, new BigDecimal("-1234.5678"), new Date(1700000000000L)
+    );
+  }
+
+}
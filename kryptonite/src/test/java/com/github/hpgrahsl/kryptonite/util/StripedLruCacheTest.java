@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.kryptonite.util;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class StripedLruCacheTest {
+
+  @Test
+  @DisplayName("count hits and misses on lookups")
+  void countHitsAndMisses() {
+    var cache = new StripedLruCache<String, Integer>(4);
+    cache.put("a", 1);
+    assertAll(
+        () -> assertEquals(1, cache.get("a")),
+        () -> assertNull(cache.get("b")),
+        () -> assertEquals(1, cache.getHits()),
+        () -> assertEquals(1, cache.getMisses())
+    );
+  }
+
+  @Test
+  @DisplayName("evict least recently used entries beyond the max size")
+  void evictLeastRecentlyUsed() {
+    var cache = new StripedLruCache<Integer, Integer>(4);
+    for (int i = 0; i < 10; i++) {
+      cache.put(i, i);
+    }
+    assertAll(
+        () -> assertEquals(4, cache.size()),
+        () -> assertEquals(6, cache.getEvictions()),
+        () -> assertEquals(9, cache.get(9)),
+        () -> assertNull(cache.get(0))
+    );
+  }
+
+  @Test
+  @DisplayName("expire entries after write")
+  void expireAfterWrite() throws InterruptedException {
+    var cache = new StripedLruCache<String, Integer>(4, 10);
+    cache.put("a", 1);
+    Thread.sleep(50);
+    assertAll(
+        () -> assertNull(cache.get("a")),
+        () -> assertEquals(0, cache.size()),
+        () -> assertEquals(1, cache.getEvictions())
+    );
+  }
+
+}
@@ -21,6 +21,7 @@ import com.github.hpgrahsl.kryptonite.Kryptonite;
 import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings;
 import com.github.hpgrahsl.kryptonite.serdes.KryoSerdeProcessor;
 import com.github.hpgrahsl.kryptonite.serdes.SerdeProcessor;
+import com.github.hpgrahsl.kryptonite.serdes.TaggedSerdeProcessor;
 import static com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.*;
 import static com.github.hpgrahsl.ksqldb.functions.kryptonite.CustomUdfConfig.*;
 
@@ -30,11 +31,16 @@ public abstract class AbstractCipherFieldUdf {
 
     private Kryptonite kryptonite;
     private SerdeProcessor serdeProcessor = new KryoSerdeProcessor();
+    private String cipherTextVersion = CIPHER_TEXT_VERSION_DEFAULT;
 
     public Kryptonite getKryptonite() {
         return kryptonite;
     }
 
+    public String getCipherTextVersion() {
+        return cipherTextVersion;
+    }
+
     public SerdeProcessor getSerdeProcessor() {
         return serdeProcessor;
     }
@@ -53,6 +59,9 @@ public abstract class AbstractCipherFieldUdf {
         
         var kmsConfigConfig = (String)configMap.get(getPrefixedConfigParam(functionName, CONFIG_PARAM_KMS_CONFIG));
         var kmsConfig = kmsConfigConfig != null ? kmsConfigConfig : KMS_CONFIG_DEFAULT;
+
+        var kmsRefreshIntervalMsConfig = (String)configMap.get(getPrefixedConfigParam(functionName, CONFIG_PARAM_KMS_REFRESH_INTERVAL_MS));
+        var kmsRefreshIntervalMs = kmsRefreshIntervalMsConfig != null ? kmsRefreshIntervalMsConfig : KMS_REFRESH_INTERVAL_MS_DEFAULT;
         
         var kekTypeConfig = (String)configMap.get(getPrefixedConfigParam(functionName, CONFIG_PARAM_KEK_TYPE));
         var kekType = kekTypeConfig != null ? kekTypeConfig : KEK_TYPE_DEFAULT;
@@ -63,15 +72,32 @@ public abstract class AbstractCipherFieldUdf {
         var kekUriConfig = (String)configMap.get(getPrefixedConfigParam(functionName, CONFIG_PARAM_KEK_URI));
         var kekUri = kekUriConfig != null ? kekUriConfig : "";
 
+        var cipherTextVersionConfig = (String)configMap.get(getPrefixedConfigParam(functionName, CONFIG_PARAM_CIPHER_TEXT_VERSION));
+        cipherTextVersion = cipherTextVersionConfig != null ? cipherTextVersionConfig : CIPHER_TEXT_VERSION_DEFAULT;
+
+        var serdeTypeConfig = (String)configMap.get(getPrefixedConfigParam(functionName, CONFIG_PARAM_SERDE_TYPE));
+        var serdeType = SerdeType.valueOf(serdeTypeConfig != null ? serdeTypeConfig : SERDE_TYPE_DEFAULT);
+        serdeProcessor = serdeType == SerdeType.TAGGED ? new TaggedSerdeProcessor() : new KryoSerdeProcessor();
+
+        var metricsEnabledConfig = (String)configMap.get(getPrefixedConfigParam(functionName, CONFIG_PARAM_METRICS_ENABLED));
+        var metricsEnabled = metricsEnabledConfig != null ? metricsEnabledConfig : String.valueOf(METRICS_ENABLED_DEFAULT);
+
+        //NOTE: defaults to the function name to tell apart the MBeans of different UDFs
+        var metricsNameConfig = (String)configMap.get(getPrefixedConfigParam(functionName, CONFIG_PARAM_METRICS_NAME));
+        var metricsName = metricsNameConfig != null ? metricsNameConfig : functionName;
+
         var normalizedStringsMap = Map.ofEntries(
                 Map.entry(KryptoniteSettings.CIPHER_DATA_KEYS,(String)configMap.get(getPrefixedConfigParam(functionName, CONFIG_PARAM_CIPHER_DATA_KEYS))),
                 Map.entry(KryptoniteSettings.CIPHER_DATA_KEY_IDENTIFIER,cipherDataKeyIdentifier),
                 Map.entry(KryptoniteSettings.KEY_SOURCE,keySource),
                 Map.entry(KryptoniteSettings.KMS_TYPE,kmsType),
                 Map.entry(KryptoniteSettings.KMS_CONFIG,kmsConfig),
+                Map.entry(KryptoniteSettings.KMS_REFRESH_INTERVAL_MS,kmsRefreshIntervalMs),
                 Map.entry(KryptoniteSettings.KEK_TYPE,kekType),
                 Map.entry(KryptoniteSettings.KEK_CONFIG,kekConfig),
-                Map.entry(KryptoniteSettings.KEK_URI,kekUri)
+                Map.entry(KryptoniteSettings.KEK_URI,kekUri),
+                Map.entry(KryptoniteSettings.METRICS_ENABLED,metricsEnabled),
+                Map.entry(KryptoniteSettings.METRICS_NAME,metricsName)
         );
         kryptonite = Kryptonite.createFromConfig(normalizedStringsMap);
     }
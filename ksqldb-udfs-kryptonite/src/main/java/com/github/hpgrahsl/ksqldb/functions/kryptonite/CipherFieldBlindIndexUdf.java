@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2021. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.ksqldb.functions.kryptonite;
+
+import java.util.Base64;
+import java.util.Map;
+
+import org.apache.kafka.common.Configurable;
+import org.apache.kafka.common.config.ConfigException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings;
+
+import io.confluent.ksql.function.udf.Udf;
+import io.confluent.ksql.function.udf.UdfDescription;
+import io.confluent.ksql.function.udf.UdfParameter;
+
+@UdfDescription(
+    name = "k4kblindindex",
+    description = "🔎 compute blind indexes of field data to look up and join encrypted data ... hopefully without fighting 🐲 🐉",
+    version = "0.1.2",
+    author = "H.P. Grahsl (@hpgrahsl)",
+    category = "cryptography"
+)
+public class CipherFieldBlindIndexUdf extends AbstractCipherFieldUdf implements Configurable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CipherFieldBlindIndexUdf.class);
+
+  private String defaultBlindIndexKeyIdentifier;
+  private int blindIndexLength = KryptoniteSettings.BLIND_INDEX_LENGTH_DEFAULT;
+
+  @Udf(description = "🔎 compute the blind index of primitive or complex field data using the configured default key identifier")
+  public <T> String blindIndexField(
+          @UdfParameter(value = "data", description = "the data to compute the blind index for") final T data
+  ) {
+    return blindIndexField(data,defaultBlindIndexKeyIdentifier);
+  }
+
+  @Udf(description = "🔎 compute the blind index of primitive or complex field data using the specified key identifier")
+  public <T> String blindIndexField(
+          @UdfParameter(value = "data", description = "the data to compute the blind index for")
+          final T data,
+          @UdfParameter(value = "keyIdentifier", description = "the key identifier of the PRF keyset to use for the blind index")
+          final String keyIdentifier
+  ) {
+    if (data == null) {
+      return null;
+    }
+    try {
+      LOGGER.debug("computing blind index for: {} (using key identifier {})",data,keyIdentifier);
+      var index = getKryptonite().blindIndexValue(data,keyIdentifier,blindIndexLength);
+      var encodedIndex = Base64.getEncoder().encodeToString(index);
+      LOGGER.debug("BASE64 encoded blind index: {}",encodedIndex);
+      return encodedIndex;
+    } catch (Exception exc) {
+      exc.printStackTrace();
+    }
+    return null;
+  }
+
+  @Override
+  public void configure(Map<String, ?> configMap) {
+    var udfDescription = this.getClass().getDeclaredAnnotation(UdfDescription.class);
+    this.configure(configMap, udfDescription);
+    defaultBlindIndexKeyIdentifier = (String)configMap.get(CustomUdfConfig.getPrefixedConfigParam(udfDescription.name(),CustomUdfConfig.CONFIG_PARAM_BLIND_INDEX_KEY_IDENTIFIER));
+    if (defaultBlindIndexKeyIdentifier == null) {
+        throw new ConfigException(
+          "error: mandatory configuration param '"+ CustomUdfConfig.CONFIG_PARAM_BLIND_INDEX_KEY_IDENTIFIER
+            + "' is missing for function [" + udfDescription.name() + "]"
+        );
+    }
+    var blindIndexLengthConfig = (String)configMap.get(CustomUdfConfig.getPrefixedConfigParam(udfDescription.name(),CustomUdfConfig.CONFIG_PARAM_BLIND_INDEX_LENGTH));
+    blindIndexLength = blindIndexLengthConfig != null ? parseBlindIndexLength(blindIndexLengthConfig, udfDescription.name()) : KryptoniteSettings.BLIND_INDEX_LENGTH_DEFAULT;
+  }
+
+  //NOTE: validated upfront like in the other modules since blind indexes of differing
+  //lengths never match and invalid lengths would otherwise only fail for every single call
+  private static int parseBlindIndexLength(String blindIndexLengthConfig, String functionName) {
+    try {
+      var length = Integer.parseInt(blindIndexLengthConfig.trim());
+      if (length >= KryptoniteSettings.BLIND_INDEX_LENGTH_MIN && length <= KryptoniteSettings.BLIND_INDEX_LENGTH_MAX) {
+        return length;
+      }
+    } catch (NumberFormatException exc) {
+      //NOTE: reported as invalid configuration param below
+    }
+    throw new ConfigException(
+      "error: configuration param '" + CustomUdfConfig.CONFIG_PARAM_BLIND_INDEX_LENGTH + "' for function [" + functionName
+        + "] must be an integer between " + KryptoniteSettings.BLIND_INDEX_LENGTH_MIN + " and "
+        + KryptoniteSettings.BLIND_INDEX_LENGTH_MAX + " but was '" + blindIndexLengthConfig + "'"
+    );
+  }
+
+}
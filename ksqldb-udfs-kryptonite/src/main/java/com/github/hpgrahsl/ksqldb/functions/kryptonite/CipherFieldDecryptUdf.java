@@ -16,13 +16,11 @@
 
 package com.github.hpgrahsl.ksqldb.functions.kryptonite;
 
-import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Base64;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.apache.kafka.common.Configurable;
 import org.apache.kafka.connect.data.Schema;
@@ -30,9 +28,8 @@ import org.apache.kafka.connect.data.Struct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.esotericsoftware.kryo.io.Input;
 import com.github.hpgrahsl.kryptonite.EncryptedField;
-import com.github.hpgrahsl.kryptonite.serdes.KryoInstance;
+import com.github.hpgrahsl.kryptonite.serdes.EncryptedFieldCodec;
 
 import io.confluent.ksql.function.udf.Udf;
 import io.confluent.ksql.function.udf.UdfDescription;
@@ -74,9 +71,12 @@ public class CipherFieldDecryptUdf extends AbstractCipherFieldUdf implements Con
           final E typeCapture
   ) {
     try {
-      return data.stream()
-              .map(e -> (E) decryptData(e))
-              .collect(Collectors.toList());
+      var decrypted = decryptDataBatch(data.toArray(new String[0]));
+      var result = new ArrayList<E>(decrypted.length);
+      for (var e : decrypted) {
+        result.add((E) e);
+      }
+      return result;
     } catch(Exception exc) {
       exc.printStackTrace();
     }
@@ -92,9 +92,13 @@ public class CipherFieldDecryptUdf extends AbstractCipherFieldUdf implements Con
           final V typeCapture
   ) {
     try {
-      return data.entrySet().stream()
-              .map(e -> new AbstractMap.SimpleEntry<>(e.getKey(),(V) decryptData(e.getValue())))
-              .collect(LinkedHashMap::new,(lhm, e) -> lhm.put(e.getKey(),e.getValue()), HashMap::putAll);
+      var decrypted = decryptDataBatch(data.values().toArray(new String[0]));
+      var result = new LinkedHashMap<K,V>();
+      var i = 0;
+      for (var key : data.keySet()) {
+        result.put(key, (V) decrypted[i++]);
+      }
+      return result;
     } catch(Exception exc) {
       exc.printStackTrace();
     }
@@ -115,11 +119,9 @@ public class CipherFieldDecryptUdf extends AbstractCipherFieldUdf implements Con
   private Object decryptData(String data) {
     try {
       LOGGER.debug("BASE64 encoded ciphertext: {}",data);
-      var encryptedField = KryoInstance.get().readObject(new Input(Base64.getDecoder().decode(data)), EncryptedField.class);
+      var encryptedField = EncryptedFieldCodec.decode(Base64.getDecoder().decode(data));
       LOGGER.trace("encrypted data: {}",encryptedField);
-      var plaintext = getKryptonite().decipherField(encryptedField);
-      LOGGER.trace("plaintext byte sequence: {}",plaintext);
-      var restored = getSerdeProcessor().bytesToObject(plaintext);
+      var restored = getKryptonite().decipherField(encryptedField, getSerdeProcessor());
       LOGGER.debug("restored data: {}",restored);
       return restored;
     } catch (Exception exc) {
@@ -128,6 +130,29 @@ public class CipherFieldDecryptUdf extends AbstractCipherFieldUdf implements Con
     return null;
   }
 
+  //NOTE: decrypts all elements as one batch and only falls back to per element
+  //processing if the batch fails so that just the failing elements end up as null
+  private Object[] decryptDataBatch(String[] data) {
+    var restored = new Object[data.length];
+    try {
+      LOGGER.debug("decrypting {} elements",data.length);
+      var encryptedFields = new EncryptedField[data.length];
+      for (int i = 0; i < data.length; i++) {
+        encryptedFields[i] = EncryptedFieldCodec.decode(Base64.getDecoder().decode(data[i]));
+      }
+      var plaintexts = getKryptonite().decipherFields(encryptedFields);
+      for (int i = 0; i < data.length; i++) {
+        restored[i] = getSerdeProcessor().bytesToObject(plaintexts[i]);
+      }
+    } catch (Exception exc) {
+      LOGGER.debug("batch decryption failed, falling back to per element decryption",exc);
+      for (int i = 0; i < data.length; i++) {
+        restored[i] = decryptData(data[i]);
+      }
+    }
+    return restored;
+  }
+
   @Override
   public void configure(Map<String, ?> configMap) {
     this.configure(configMap, this.getClass().getDeclaredAnnotation(UdfDescription.class));
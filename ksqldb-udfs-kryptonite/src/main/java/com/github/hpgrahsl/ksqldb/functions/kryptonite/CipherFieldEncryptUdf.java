@@ -16,16 +16,12 @@
 
 package com.github.hpgrahsl.ksqldb.functions.kryptonite;
 
-import java.io.ByteArrayOutputStream;
-import java.util.AbstractMap;
 import java.util.Arrays;
 import java.util.Base64;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.apache.kafka.common.Configurable;
 import org.apache.kafka.common.config.ConfigException;
@@ -35,11 +31,10 @@ import org.apache.kafka.connect.data.Struct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.esotericsoftware.kryo.io.Output;
 import com.github.hpgrahsl.kryptonite.FieldMetaData;
 import com.github.hpgrahsl.kryptonite.PayloadMetaData;
 import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings;
-import com.github.hpgrahsl.kryptonite.serdes.KryoInstance;
+import com.github.hpgrahsl.kryptonite.serdes.EncryptedFieldCodec;
 
 import io.confluent.ksql.function.KsqlFunctionException;
 import io.confluent.ksql.function.udf.Udf;
@@ -123,25 +118,18 @@ public class CipherFieldEncryptUdf extends AbstractCipherFieldUdf implements Con
   }
 
   private List<String> encryptListInElementMode(Object data, String keyIdentifier, String cipherAlgorithm) {
-    return ((List<?>)data).stream().map(
-            e -> encryptData(e,new FieldMetaData(
-                    cipherAlgorithm,
-                    Optional.ofNullable(e).map(o -> o.getClass().getName()).orElse(""),
-                    keyIdentifier))
-    ).collect(Collectors.toList());
+    return Arrays.asList(encryptDataBatch(((List<?>)data).toArray(), keyIdentifier, cipherAlgorithm));
   }
 
   private Map<?,String> encryptMapInElementMode(Object data, String keyIdentifier, String cipherAlgorithm) {
-    return ((Map<?,?>)data).entrySet().stream().map(
-            e -> new AbstractMap.SimpleEntry<>(
-                    e.getKey(),
-                    encryptData(e.getValue(),new FieldMetaData(
-                            cipherAlgorithm,
-                            Optional.ofNullable(e.getValue()).map(o -> o.getClass().getName()).orElse(""),
-                            keyIdentifier)
-                    )
-            )
-    ).collect(LinkedHashMap::new,(lhm,e) -> lhm.put(e.getKey(),e.getValue()), HashMap::putAll);
+    var map = (Map<?,?>)data;
+    var encrypted = encryptDataBatch(map.values().toArray(), keyIdentifier, cipherAlgorithm);
+    var result = new LinkedHashMap<Object,String>();
+    var i = 0;
+    for (var key : map.keySet()) {
+      result.put(key, encrypted[i++]);
+    }
+    return result;
   }
 
   private Struct encryptStructInElementMode(Object data, String keyIdentifier, String cipherAlgorithm) {
@@ -185,13 +173,9 @@ public class CipherFieldEncryptUdf extends AbstractCipherFieldUdf implements Con
   private String encryptData(Object data, FieldMetaData fieldMetaData) {
     try {
       LOGGER.debug("encrypting: {} (having meta-data {})",data,fieldMetaData);
-      var valueBytes = getSerdeProcessor().objectToBytes(data);
-      LOGGER.trace("plaintext byte sequence: {}", Arrays.toString(valueBytes));
-      var encryptedField = getKryptonite().cipherField(valueBytes, PayloadMetaData.from(fieldMetaData));
+      var encryptedField = getKryptonite().cipherField(data, getSerdeProcessor(), PayloadMetaData.from(getCipherTextVersion(), fieldMetaData));
       LOGGER.trace("encrypted data: {}", encryptedField);
-      var output = new Output(new ByteArrayOutputStream());
-      KryoInstance.get().writeObject(output, encryptedField);
-      var encodedField = Base64.getEncoder().encodeToString(output.toBytes());
+      var encodedField = Base64.getEncoder().encodeToString(EncryptedFieldCodec.encode(encryptedField));
       LOGGER.debug("BASE64 encoded ciphertext: {}",encodedField);
       return encodedField;
     } catch (Exception exc) {
@@ -200,6 +184,33 @@ public class CipherFieldEncryptUdf extends AbstractCipherFieldUdf implements Con
     return null;
   }
 
+  //NOTE: encrypts all elements as one batch and only falls back to per element
+  //processing if the batch fails so that just the failing elements end up as null
+  private String[] encryptDataBatch(Object[] data, String keyIdentifier, String cipherAlgorithm) {
+    var encodedFields = new String[data.length];
+    try {
+      LOGGER.debug("encrypting {} elements (using key identifier {} and cipher algorithm {})",data.length,keyIdentifier,cipherAlgorithm);
+      var valueBytes = new byte[data.length][];
+      for (int i = 0; i < data.length; i++) {
+        valueBytes[i] = getSerdeProcessor().objectToBytes(data[i]);
+      }
+      var encryptedFields = getKryptonite().cipherFields(valueBytes,
+          PayloadMetaData.from(getCipherTextVersion(), cipherAlgorithm, keyIdentifier));
+      for (int i = 0; i < data.length; i++) {
+        encodedFields[i] = Base64.getEncoder().encodeToString(EncryptedFieldCodec.encode(encryptedFields[i]));
+      }
+    } catch (Exception exc) {
+      LOGGER.debug("batch encryption failed, falling back to per element encryption",exc);
+      for (int i = 0; i < data.length; i++) {
+        encodedFields[i] = encryptData(data[i],new FieldMetaData(
+                cipherAlgorithm,
+                Optional.ofNullable(data[i]).map(o -> o.getClass().getName()).orElse(""),
+                keyIdentifier));
+      }
+    }
+    return encodedFields;
+  }
+
   @Override
   public void configure(Map<String, ?> configMap) {
     var udfDescription = this.getClass().getDeclaredAnnotation(UdfDescription.class);
@@ -27,10 +27,17 @@ public class CustomUdfConfig {
     public static final String CONFIG_PARAM_KEY_SOURCE = "key.source";
     public static final String CONFIG_PARAM_KMS_TYPE = "kms.type";
     public static final String CONFIG_PARAM_KMS_CONFIG = "kms.config";
+    public static final String CONFIG_PARAM_KMS_REFRESH_INTERVAL_MS = "kms.refresh.interval.ms";
     public static final String CONFIG_PARAM_KEK_TYPE = "kek.type";
     public static final String CONFIG_PARAM_KEK_CONFIG = "kek.config";
     public static final String CONFIG_PARAM_KEK_URI = "kek.uri";
     public static final String CONFIG_PARAM_CIPHER_ALGORITHM = "cipher.algorithm";
+    public static final String CONFIG_PARAM_CIPHER_TEXT_VERSION = "cipher.text.version";
+    public static final String CONFIG_PARAM_SERDE_TYPE = "serde.type";
+    public static final String CONFIG_PARAM_BLIND_INDEX_KEY_IDENTIFIER = "blind.index.key.identifier";
+    public static final String CONFIG_PARAM_BLIND_INDEX_LENGTH = "blind.index.length";
+    public static final String CONFIG_PARAM_METRICS_ENABLED = "metrics.enabled";
+    public static final String CONFIG_PARAM_METRICS_NAME = "metrics.name";
 
     public static String getPrefixedConfigParam(String functionName, String configParam) {
         return KSQL_FUNCTION_CONFIG_PREFIX 
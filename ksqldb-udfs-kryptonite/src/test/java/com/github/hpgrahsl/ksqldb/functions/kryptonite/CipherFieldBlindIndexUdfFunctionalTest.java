@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2024. Hans-Peter Grahsl (grahslhp@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.hpgrahsl.ksqldb.functions.kryptonite;
+
+import com.github.hpgrahsl.kryptonite.config.KryptoniteSettings.SerdeType;
+import io.confluent.ksql.function.udf.UdfDescription;
+import org.apache.kafka.common.config.ConfigException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CipherFieldBlindIndexUdfFunctionalTest {
+
+    @ParameterizedTest
+    @EnumSource(SerdeType.class)
+    @DisplayName("apply UDF to compute blind indexes which are equal for all serde types and match those of the other modules")
+    void blindIndexUdfSerdeTypeIndependence(SerdeType serdeType) {
+        var cfbiUDF = new CipherFieldBlindIndexUdf();
+        var fnBlindIndex = cfbiUDF.getClass().getDeclaredAnnotation(UdfDescription.class).name();
+        cfbiUDF.configure(
+                Map.of(
+                        CustomUdfConfig.getPrefixedConfigParam(fnBlindIndex, CustomUdfConfig.CONFIG_PARAM_CIPHER_DATA_KEYS),TestFixtures.CIPHER_DATA_KEYS_CONFIG,
+                        CustomUdfConfig.getPrefixedConfigParam(fnBlindIndex, CustomUdfConfig.CONFIG_PARAM_BLIND_INDEX_KEY_IDENTIFIER),"keyH",
+                        CustomUdfConfig.getPrefixedConfigParam(fnBlindIndex, CustomUdfConfig.CONFIG_PARAM_SERDE_TYPE),serdeType.name()
+                )
+        );
+
+        assertAll(
+                () -> assertEquals(TestFixtures.BLIND_INDEX_KEYH_ALICE, cfbiUDF.blindIndexField("alice")),
+                () -> assertEquals(TestFixtures.BLIND_INDEX_KEYH_42, cfbiUDF.blindIndexField(42))
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"7", "65", "sixteen"})
+    @DisplayName("configure UDF with invalid blind index lengths fails upfront")
+    void blindIndexUdfInvalidLength(String blindIndexLength) {
+        var cfbiUDF = new CipherFieldBlindIndexUdf();
+        var fnBlindIndex = cfbiUDF.getClass().getDeclaredAnnotation(UdfDescription.class).name();
+        assertThrows(ConfigException.class, () -> cfbiUDF.configure(
+                Map.of(
+                        CustomUdfConfig.getPrefixedConfigParam(fnBlindIndex, CustomUdfConfig.CONFIG_PARAM_CIPHER_DATA_KEYS),TestFixtures.CIPHER_DATA_KEYS_CONFIG,
+                        CustomUdfConfig.getPrefixedConfigParam(fnBlindIndex, CustomUdfConfig.CONFIG_PARAM_BLIND_INDEX_KEY_IDENTIFIER),"keyH",
+                        CustomUdfConfig.getPrefixedConfigParam(fnBlindIndex, CustomUdfConfig.CONFIG_PARAM_BLIND_INDEX_LENGTH),blindIndexLength
+                )
+        ));
+    }
+
+}
@@ -88,9 +88,28 @@ public class TestFixtures {
             + "}"
             + "]"
             + "}"
+            + "},"
+            + "{\"identifier\":\"keyH\","
+            + "\"material\":{"
+            + "\"primaryKeyId\":1000000005,"
+            + "\"key\":["
+            + "{\"keyData\":"
+            + "{\"typeUrl\":\"type.googleapis.com/google.crypto.tink.HmacPrfKey\","
+            + "\"value\":\"EgIIAxog5d2xuJ99n3sDaK84qwZnGyISmEHpnsR0/0JDZVQ2dwM=\","
+            + "\"keyMaterialType\":\"SYMMETRIC\"},"
+            + "\"status\":\"ENABLED\","
+            + "\"keyId\":1000000005,"
+            + "\"outputPrefixType\":\"RAW\""
+            + "}"
+            + "]"
+            + "}"
             + "}"
             + "]";
 
+    //NOTE: blind indexes of 'alice' and 42 under keyH which all modules must compute alike
+    public static final String BLIND_INDEX_KEYH_ALICE = "tsRApBZ3u9z6InORJxNAEA==";
+    public static final String BLIND_INDEX_KEYH_42 = "HroOhS67imcrqtcAutpl/Q==";
+
     public static final String CIPHER_DATA_KEYS_CONFIG_ENCRYPTED = "["
             + "    {"
             + "        \"identifier\": \"keyX\","